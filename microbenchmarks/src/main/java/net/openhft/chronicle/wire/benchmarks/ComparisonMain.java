@@ -23,6 +23,7 @@ import net.minidev.json.JSONStyle;
 import net.minidev.json.parser.JSONParser;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.wire.JSONWire;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Scope;
@@ -64,6 +65,11 @@ public class ComparisonMain {
     JsonParser jp;
     JsonParser textJP;
     private byte[] buf;
+    // the same JSON read by Jackson and by JSONWire with and without the structural index
+    private final byte[] json;
+    private final JSONWire jsonWire = new JSONWire(Bytes.allocateElasticOnHeap());
+    private final JSONWire indexedJsonWire = new JSONWire(Bytes.allocateElasticOnHeap()).structuralIndex(true);
+    private final Data jsonData = new Data();
 
     public ComparisonMain() {
         DumperOptions options = new DumperOptions();
@@ -73,6 +79,9 @@ public class ComparisonMain {
         try {
             jp = jsonFactory.createParser(inputStream);
             textJP = jsonFactory.createParser(reader);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            data.writeTo(jsonFactory.createGenerator(baos));
+            json = baos.toByteArray();
         } catch (IOException e) {
             throw new AssertionError(e);
         }
@@ -166,6 +175,29 @@ public class ComparisonMain {
         return data2;
     }
 
+    @Benchmark
+    public ExternalizableData jacksonRead() throws IOException {
+        data2.readFrom(jsonFactory.createParser(json));
+        return data2;
+    }
+
+    @Benchmark
+    public Data jsonWireRead() {
+        return readJson(jsonWire);
+    }
+
+    @Benchmark
+    public Data jsonWireIndexedRead() {
+        return readJson(indexedJsonWire);
+    }
+
+    private Data readJson(JSONWire wire) {
+        // write the bytes again so the index is built for each read
+        wire.clear();
+        wire.bytes().write(json);
+        return wire.getValueIn().object(jsonData, Data.class);
+    }
+
 //    @Benchmark
     public ExternalizableData jacksonWithCBytes() throws IOException {
         bytes.clear();
@@ -0,0 +1,120 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.DoubleText;
+import net.openhft.chronicle.wire.TextWire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing and reading prices and risk numbers as text with Bytes, Double.toString/parseDouble and
+ * {@link DoubleText}, and TextWire with and without shortestDoubles.
+ */
+@State(Scope.Thread)
+public class DoubleTextMain {
+    @Param({"1.10243", "1234.5", "0.000123456", "-2.5E-8", "3.141592653589793"})
+    double value;
+
+    final Bytes<?> bytes = Bytes.allocateElasticDirect(64);
+    String text;
+    Bytes<?> textBytes;
+    TextWire textWire;
+    TextWire shortestWire;
+
+    public static void main(String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DoubleTextMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        text = Double.toString(value);
+        textBytes = Bytes.from(text);
+        textWire = new TextWire(Bytes.allocateElasticDirect(64));
+        shortestWire = new TextWire(Bytes.allocateElasticDirect(64)).shortestDoubles(true);
+    }
+
+    @Benchmark
+    public Bytes<?> appendBytes() {
+        bytes.clear();
+        return bytes.append(value);
+    }
+
+    @Benchmark
+    public Bytes<?> appendToString() {
+        bytes.clear();
+        return bytes.append(Double.toString(value));
+    }
+
+    @Benchmark
+    public Bytes<?> appendShortest() {
+        bytes.clear();
+        if (!DoubleText.appendShortest(bytes, value))
+            bytes.append(Double.toString(value));
+        return bytes;
+    }
+
+    @Benchmark
+    public double parseBytes() {
+        textBytes.readPosition(0);
+        return textBytes.parseDouble();
+    }
+
+    @Benchmark
+    public double parseString() {
+        return Double.parseDouble(textBytes.toString());
+    }
+
+    @Benchmark
+    public double parseDoubleText() {
+        return DoubleText.parseDouble(textBytes, 0, textBytes.readLimit());
+    }
+
+    @Benchmark
+    public double textWire() {
+        return roundTrip(textWire);
+    }
+
+    @Benchmark
+    public double textWireShortest() {
+        return roundTrip(shortestWire);
+    }
+
+    private double roundTrip(TextWire wire) {
+        wire.clear();
+        wire.write("price").float64(value);
+        return wire.read("price").float64();
+    }
+}
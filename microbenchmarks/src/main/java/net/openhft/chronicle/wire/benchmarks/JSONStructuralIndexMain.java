@@ -0,0 +1,114 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.JSONWire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copying JSON to BinaryWire with JSONWire a character at a time, with JSONWire walking a structural index,
+ * and with the Jackson streaming parser used in {@link ComparisonMain} reading every token.
+ */
+@State(Scope.Thread)
+public class JSONStructuralIndexMain {
+    static final String ORDER = "{\"smallInt\":123,\"longInt\":1234567890,\"price\":1234.5,\"text\":\"Hello World\",\"side\":\"Sell\"}";
+    static final String BOOK = "{\"symbol\":\"EURUSD\",\"venue\":\"XLON\",\"bids\":[[1.10241,1000000],[1.10240,2000000],[1.10238,5000000]]," +
+            "\"asks\":[[1.10243,1000000],[1.10245,3000000],[1.10250,5000000]],\"notes\":\"Indicative, refreshed every 100 ms {level 2}\"}";
+
+    @Param({"order", "book"})
+    String document;
+
+    final JsonFactory jsonFactory = new JsonFactory();
+    byte[] json;
+    Bytes<?> bytes;
+    JSONWire jsonWire;
+    JSONWire indexedWire;
+    BinaryWire binaryWire;
+
+    public static void main(String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JSONStructuralIndexMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        String text = document.equals("book") ? BOOK : ORDER;
+        json = text.getBytes(StandardCharsets.UTF_8);
+        bytes = Bytes.allocateElasticDirect(json.length);
+        bytes.write(json);
+        jsonWire = new JSONWire(bytes);
+        indexedWire = new JSONWire(bytes).structuralIndex(true);
+        binaryWire = new BinaryWire(Bytes.allocateElasticDirect(512));
+    }
+
+    @Benchmark
+    public BinaryWire jsonWireCopy() {
+        return copy(jsonWire);
+    }
+
+    @Benchmark
+    public BinaryWire structuralIndexCopy() {
+        return copy(indexedWire);
+    }
+
+    private BinaryWire copy(JSONWire wire) {
+        bytes.readPosition(0);
+        binaryWire.clear();
+        wire.copyTo(binaryWire);
+        return binaryWire;
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        int tokens = 0;
+        try (JsonParser jp = jsonFactory.createParser(json)) {
+            for (JsonToken token; (token = jp.nextToken()) != null; tokens++) {
+                if (token == JsonToken.VALUE_STRING || token == JsonToken.FIELD_NAME)
+                    jp.getText();
+                else if (token == JsonToken.VALUE_NUMBER_INT)
+                    jp.getLongValue();
+                else if (token == JsonToken.VALUE_NUMBER_FLOAT)
+                    jp.getDoubleValue();
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.SwarDecoder;
+import net.openhft.chronicle.wire.TextWire;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding strings a byte at a time with {@link SwarDecoder} for symbols, venues and free text,
+ * and reading them from BinaryWire and TextWire.
+ */
+@State(Scope.Thread)
+public class SwarDecoderMain {
+    @Param({"EURUSD", "XLON", "Partially filled at venue, remainder cancelled by the client", "Zürich order 8€ fee"})
+    String text;
+
+    final Bytes<?> bytes = Bytes.allocateDirect(1024).unchecked(true);
+    final StringBuilder sb = new StringBuilder();
+    BinaryWire binaryWire;
+    TextWire textWire;
+    int length;
+
+    public static void main(String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SwarDecoderMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        bytes.clear();
+        bytes.write(text.getBytes(StandardCharsets.UTF_8));
+        length = (int) bytes.readRemaining();
+        binaryWire = new BinaryWire(Bytes.allocateElasticDirect(128));
+        textWire = new TextWire(Bytes.allocateElasticDirect(128));
+    }
+
+    @Benchmark
+    public StringBuilder parseUtf8() {
+        bytes.readPosition(0);
+        bytes.parseUtf8(sb, true, length);
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder swarUtf8() {
+        sb.setLength(0);
+        SwarDecoder.appendUtf8(bytes, 0, length, sb);
+        return sb;
+    }
+
+    @Benchmark
+    public String binaryWireText() {
+        binaryWire.clear();
+        binaryWire.write("text").text(text);
+        return binaryWire.read("text").text();
+    }
+
+    @Benchmark
+    public String textWireText() {
+        textWire.clear();
+        textWire.write("text").text(text);
+        return textWire.read("text").text();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fixed width integer encoding of BinaryWire with varints, as enabled by -Dwire.binary.varInts=true,
+ * for a batch of sequence numbers and a message of counts.
+ */
+@State(Scope.Thread)
+public class VarIntsMain {
+    final Bytes<?> bytes = Bytes.allocateDirect(16 << 10).unchecked(true);
+    final BinaryWire fixed = new BinaryWire(bytes);
+    final BinaryWire packed = new BinaryWire(bytes).packedArrays(true);
+    final BinaryWire varInts = new BinaryWire(bytes).varInts(true);
+
+    final long[] sequences = new long[1000];
+    final long[] sequences2 = new long[1000];
+
+    public VarIntsMain() {
+        long sequence = 0x4A3B_0000_0000L;
+        for (int i = 0; i < sequences.length; i++) {
+            sequence += 1 + (i % 3);
+            sequences[i] = sequence;
+        }
+    }
+
+    public static void main(String... args) throws RunnerException {
+        VarIntsMain main = new VarIntsMain();
+        for (BinaryWire wire : new BinaryWire[]{main.fixed, main.packed, main.varInts}) {
+            main.writeSequences(wire);
+            long sequenceBytes = bytes(wire);
+            System.out.println("sequences " + sequenceBytes + " bytes, fields " + main.writeFields(wire) + " bytes");
+        }
+
+        Options opt = new OptionsBuilder()
+                .include(VarIntsMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static long bytes(BinaryWire wire) {
+        return wire.bytes().readRemaining();
+    }
+
+    @Benchmark
+    public long[] sequencesFixed() {
+        return writeReadSequences(fixed);
+    }
+
+    @Benchmark
+    public long[] sequencesPacked() {
+        return writeReadSequences(packed);
+    }
+
+    @Benchmark
+    public long[] sequencesVarInts() {
+        return writeReadSequences(varInts);
+    }
+
+    @Benchmark
+    public long fieldsFixed() {
+        writeFields(fixed);
+        return readFields(fixed);
+    }
+
+    @Benchmark
+    public long fieldsVarInts() {
+        writeFields(varInts);
+        return readFields(varInts);
+    }
+
+    private long[] writeReadSequences(BinaryWire wire) {
+        writeSequences(wire);
+        wire.read("seq").array(sequences2);
+        return sequences2;
+    }
+
+    private void writeSequences(BinaryWire wire) {
+        bytes.clear();
+        wire.write("seq").array(sequences, sequences.length);
+    }
+
+    private long writeFields(BinaryWire wire) {
+        bytes.clear();
+        wire.write("sequence").int64(sequences[999])
+                .write("delta").int64(-250_000)
+                .write("count").int32(800_000)
+                .write("timestamp").int64(1_600_000_000_000_000_000L);
+        return bytes(wire);
+    }
+
+    private long readFields(BinaryWire wire) {
+        return wire.read("sequence").int64()
+                + wire.read("delta").int64()
+                + wire.read("count").int32()
+                + wire.read("timestamp").int64();
+    }
+}
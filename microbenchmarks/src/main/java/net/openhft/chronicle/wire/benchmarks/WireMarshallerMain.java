@@ -0,0 +1,111 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective WireMarshaller with the generated one enabled by -Dwire.generate.marshallers=true
+ */
+@State(Scope.Thread)
+public class WireMarshallerMain {
+    final Bytes<?> bytes = Bytes.allocateDirect(256).unchecked(true);
+    final Wire binary = WireType.BINARY_LIGHT.apply(bytes);
+    final Wire fieldless = WireType.FIELDLESS_BINARY.apply(bytes);
+
+    final WireMarshaller<Order> reflective = WireMarshaller.of(Order.class, false);
+    final WireMarshaller<Order> generated = WireMarshaller.of(Order.class, true);
+
+    final Order order = new Order();
+    final Order order2 = new Order();
+
+    public WireMarshallerMain() {
+        order.symbol = "EURUSD";
+        order.venue = "LMAX";
+        order.orderId = 1234567890L;
+        order.timestampNS = 1_600_000_000_000_000_000L;
+        order.quantity = 1_000_000;
+        order.price = 1.12345;
+        order.side = 'B';
+        order.active = true;
+    }
+
+    public static void main(String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(WireMarshallerMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Order binaryReflective() {
+        return writeRead(binary, reflective);
+    }
+
+    @Benchmark
+    public Order binaryGenerated() {
+        return writeRead(binary, generated);
+    }
+
+    @Benchmark
+    public Order fieldlessReflective() {
+        return writeRead(fieldless, reflective);
+    }
+
+    @Benchmark
+    public Order fieldlessGenerated() {
+        return writeRead(fieldless, generated);
+    }
+
+    private Order writeRead(Wire wire, WireMarshaller<Order> marshaller) {
+        bytes.clear();
+        marshaller.writeMarshallable(order, wire);
+        marshaller.readMarshallable(order2, wire, null, false);
+        return order2;
+    }
+
+    static class Order extends SelfDescribingMarshallable {
+        String symbol;
+        String venue;
+        long orderId;
+        long timestampNS;
+        int quantity;
+        double price;
+        short side;
+        boolean active;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *     Copyright (C) 2015-2020 chronicle.software
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Lesser General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Lesser General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.YamlToken;
+import net.openhft.chronicle.wire.YamlTokeniser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenises YAML without parsing it into objects, for a configuration file, a stream of method calls as
+ * recorded for tests, and flow style mappings with quoted strings and comments.
+ */
+@State(Scope.Thread)
+public class YamlTokeniserMain {
+    @Param({"config", "methods", "flow"})
+    String corpus;
+
+    Bytes<?> bytes;
+    YamlTokeniser tokeniser;
+
+    public static void main(String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(YamlTokeniserMain.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .mode(Mode.AverageTime)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementTime(TimeValue.seconds(5))
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    static String config() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append("# settings for the service number ").append(i).append(" in this cluster\n")
+                    .append("service").append(i).append(":\n")
+                    .append("    hostname: server-").append(i).append(".eu-west.internal.example.com\n")
+                    .append("    description: A plain text description of what this service does\n")
+                    .append("    port: ").append(8000 + i).append('\n')
+                    .append("    heartbeatTimeoutMs: 2500\n")
+                    .append("    queuePath: /var/data/queues/service").append(i).append("/in\n");
+        }
+        return sb.toString();
+    }
+
+    static String methods() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append("---\n")
+                    .append("newOrderSingle: {\n")
+                    .append("  clOrdID: ORD-").append(100000 + i).append(",\n")
+                    .append("  symbol: EURUSD,\n")
+                    .append("  side: BUY,\n")
+                    .append("  orderQty: 1000000.0,\n")
+                    .append("  price: 1.10243,\n")
+                    .append("  text: \"client order with a longer free text comment\"\n")
+                    .append("}\n")
+                    .append("...\n");
+        }
+        return sb.toString();
+    }
+
+    static String flow() {
+        StringBuilder sb = new StringBuilder("rows: [\n");
+        for (int i = 0; i < 20; i++) {
+            sb.append("  { id: ").append(i)
+                    .append(", name: \"a \\\"quoted\\\" name for row ").append(i)
+                    .append("\", note: 'it''s a singly quoted note', tags: [ alpha, beta, gamma ] }, # row ")
+                    .append(i).append('\n');
+        }
+        return sb.append("]\n").toString();
+    }
+
+    @Setup
+    public void setup() {
+        String text;
+        switch (corpus) {
+            case "config":
+                text = config();
+                break;
+            case "methods":
+                text = methods();
+                break;
+            default:
+                text = flow();
+                break;
+        }
+        bytes = Bytes.allocateElasticDirect(text.length());
+        bytes.append(text);
+        tokeniser = new YamlTokeniser(bytes);
+    }
+
+    @Benchmark
+    public int tokenise() {
+        bytes.readPosition(0);
+        tokeniser.reset();
+        int count = 0;
+        while (tokeniser.next(Integer.MIN_VALUE) != YamlToken.STREAM_END)
+            count++;
+        return count;
+    }
+}
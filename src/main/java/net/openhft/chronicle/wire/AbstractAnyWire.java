@@ -85,6 +85,11 @@ public abstract class AbstractAnyWire extends AbstractWire implements Wire {
         return wireAcquisition.acquireWire().readEvent(expectedClass);
     }
 
+    @Override
+    public int readEventIndex(@NotNull FieldNameLookup lookup) {
+        return wireAcquisition.acquireWire().readEventIndex(lookup);
+    }
+
     @Override
     public void writeStartEvent() {
         wireAcquisition.acquireWire().writeStartEvent();
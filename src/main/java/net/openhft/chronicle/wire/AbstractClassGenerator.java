@@ -25,6 +25,7 @@ import net.openhft.chronicle.wire.utils.JavaSourceCodeFormatter;
 import net.openhft.chronicle.wire.utils.SourceCodeFormatter;
 import net.openhft.compiler.CachedCompiler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.lang.model.SourceVersion;
 import java.io.File;
@@ -97,12 +98,33 @@ public abstract class AbstractClassGenerator<M extends AbstractClassGenerator.Me
                 if (DUMP_CODE)
                     Jvm.startup().on(AbstractClassGenerator.class, sourceCode.toString());
             }
+            if (Wires.CLASS_CACHE_DIR != null)
+                return Wires.loadFromJava(classLoader, fullName, sourceCode.toString());
+            Wires.writeGeneratedSource(fullName, sourceCode.toString());
             return CACHED_COMPILER.loadFromJava(classLoader, fullName, sourceCode.toString());
         } catch (Throwable e) {
             throw Jvm.rethrow(new ClassNotFoundException(e.getMessage() + '\n' + sourceCode, e));
         }
     }
 
+    /**
+     * Looks for a class compiled at build time with the same name, without generating one.
+     * Classes compiled at runtime are ignored as they have no class file resource.
+     *
+     * @return the class or <code>null</code> if not found.
+     */
+    @Nullable
+    public <T> Class<T> precompiledClass(ClassLoader classLoader) {
+        String fullName = metaData.packageName() + "." + className();
+        if (classLoader.getResource(fullName.replace('.', '/') + ".class") == null)
+            return null;
+        try {
+            return (Class<T>) classLoader.loadClass(fullName);
+        } catch (ClassNotFoundException cnfe) {
+            return null;
+        }
+    }
+
     protected String generateGenericType() {
         return null;
     }
@@ -35,7 +35,7 @@ import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
 /**
  * Base class for generated method readers.
  */
-public abstract class AbstractGeneratedMethodReader implements MethodReader {
+public abstract class AbstractGeneratedMethodReader implements BatchMethodReader {
     private static final Consumer<MessageHistory> NO_OP_MH_CONSUMER = Mocker.ignored(Consumer.class);
     private static final MessageHistoryThreadLocal TEMP_MESSAGE_HISTORY = new MessageHistoryThreadLocal();
     protected final WireParselet debugLoggingParselet;
@@ -236,6 +236,26 @@ public abstract class AbstractGeneratedMethodReader implements MethodReader {
         return ok;
     }
 
+    @Override
+    public int readMany(int max) {
+        throwExceptionIfClosed();
+
+        int count = 0;
+        while (count < max && !closed) {
+            try (DocumentContext context = in.readingDocument()) {
+                if (!context.isPresent())
+                    break;
+
+                if (context.isMetaData())
+                    readOneMeta(context);
+                else
+                    readOne0(context);
+            }
+            count++;
+        }
+        return count;
+    }
+
     public void throwExceptionIfClosed() {
         if (isClosed())
             throw new IllegalStateException("Closed");
@@ -43,6 +43,8 @@ import static net.openhft.chronicle.wire.Wires.*;
 
 public abstract class AbstractWire implements Wire {
     public static final boolean DEFAULT_USE_PADDING = Jvm.getBoolean("wire.usePadding", false);
+    // read fields in the order they appear, looking up each name, rather than searching for each field in turn.
+    static final boolean READ_INPUT_ORDER = Jvm.getBoolean("wire.read.inputOrder");
     private static final String INSIDE_HEADER_MESSAGE = "you cant put a header inside a header, check that " +
             "you have not nested the documents. If you are using Chronicle-Queue please " +
             "ensure that you have a unique instance of the Appender per thread, in " +
@@ -0,0 +1,457 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The base class of generated {@link WireView}s. The generated getters call the typed read method
+ * for the index of their field.
+ * <p>
+ * On first access after a bind, the message is scanned as far as the field needed, recording the offset of each value
+ * as a field name is found. A BinaryWire message with a shape HINT has the order of its fields cached in the
+ * {@link Layout} so later messages of the same shape skip the field names rather than looking them up.
+ */
+public abstract class AbstractWireView implements WireView {
+    private static final int UNKNOWN = -1;
+
+    protected final Layout layout;
+    private final long[] offsets;
+    private final StringBuilder[] texts;
+    private final StringBuilder name = new StringBuilder();
+    private Bytes<?> bytes;
+    private Wire wire;
+    private long start;
+    private long end;
+    // where the scan stopped, or end once all fields have been found
+    private long scanned;
+    private int fieldsScanned;
+    private boolean shapeChecked;
+    private long shape;
+    @Nullable
+    private int[] shapeOrder;
+    @Nullable
+    private int[] learning;
+
+    protected AbstractWireView(@NotNull Layout layout) {
+        this.layout = layout;
+        this.offsets = new long[layout.names.length];
+        this.texts = new StringBuilder[layout.names.length];
+    }
+
+    /**
+     * @return the getters of a view interface, sorted by field name.
+     */
+    @NotNull
+    static List<Method> getters(@NotNull Class<?> viewInterface) {
+        if (!viewInterface.isInterface())
+            throw new IllegalArgumentException(viewInterface + " is not an interface");
+        Map<String, Method> getters = new TreeMap<>();
+        for (Method method : viewInterface.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers()) || method.getDeclaringClass() == WireView.class)
+                continue;
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class)
+                throw new IllegalArgumentException("Only getters can be viewed, not " + method);
+            Method prev = getters.put(fieldName(method), method);
+            if (prev != null && prev.getReturnType() != method.getReturnType())
+                throw new IllegalArgumentException("Getters " + prev + " and " + method + " are for the same field");
+        }
+        return new ArrayList<>(getters.values());
+    }
+
+    /**
+     * @return the field name for a getter, either <code>name()</code>, <code>getName()</code> or <code>isName()</code>
+     */
+    @NotNull
+    static String fieldName(@NotNull Method getter) {
+        String name = getter.getName();
+        int prefix = name.startsWith("get") ? 3
+                : name.startsWith("is") && getter.getReturnType() == boolean.class ? 2
+                : 0;
+        if (prefix > 0 && name.length() > prefix && Character.isUpperCase(name.charAt(prefix)))
+            return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public WireView bind(@NotNull Bytes<?> bytes, long start, long end) {
+        if (start < bytes.start() || end < start || end > bytes.capacity())
+            throw new IllegalArgumentException("Invalid region " + start + " to " + end);
+        if (this.bytes != bytes) {
+            this.bytes = bytes;
+            this.wire = layout.wireType.apply(bytes);
+        }
+        this.start = start;
+        this.end = end;
+        Arrays.fill(offsets, UNKNOWN);
+        scanned = start;
+        fieldsScanned = 0;
+        shapeChecked = false;
+        shapeOrder = null;
+        learning = null;
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public WireView bind(@NotNull DocumentContext dc) {
+        Wire wire = dc.wire();
+        if (wire instanceof BinaryWire && ((BinaryWire) wire).dictionary()) {
+            // read with the wire of the document so dictionary ids are resolved and anchors recorded
+            this.bytes = wire.bytes();
+            this.wire = wire;
+        }
+        return WireView.super.bind(dc);
+    }
+
+    /**
+     * @return the offset of the value of a field, or -1 if the message doesn't have it.
+     */
+    protected long offset(int index) {
+        if (bytes == null)
+            throw new IllegalStateException("Not bound");
+        long offset = offsets[index];
+        if (offset != UNKNOWN || scanned >= end)
+            return offset;
+        long readPosition = bytes.readPosition();
+        long readLimit = bytes.readLimit();
+        try {
+            bytes.readLimit(end);
+            bytes.readPosition(scanned);
+            return layout.writtenOrder != null && wire instanceof RawWire
+                    ? scanRaw(index)
+                    : scanBinary(index);
+        } finally {
+            bytes.readLimit(readLimit);
+            bytes.readPosition(readPosition);
+        }
+    }
+
+    private long scanBinary(int index) {
+        BinaryWire bw = (BinaryWire) wire;
+        if (!shapeChecked) {
+            shapeChecked = true;
+            shape = bw.readShapeHint();
+            if (shape != 0) {
+                shapeOrder = layout.shapes.get(shape);
+                if (shapeOrder == null)
+                    learning = new int[16];
+            }
+        }
+        ValueIn valueIn = bw.getValueIn();
+        while (bytes.readRemaining() > 0) {
+            int i;
+            if (shapeOrder != null && fieldsScanned < shapeOrder.length) {
+                bw.skipFieldName();
+                i = shapeOrder[fieldsScanned];
+            } else {
+                i = bw.readFieldIndex(layout.lookup, name);
+                if (i == FieldNameLookup.NO_NAME)
+                    i = layout.writtenIndex(fieldsScanned);
+            }
+            if (learning != null) {
+                if (fieldsScanned >= learning.length)
+                    learning = Arrays.copyOf(learning, learning.length * 2);
+                learning[fieldsScanned] = i;
+            }
+            fieldsScanned++;
+            long offset = bytes.readPosition();
+            valueIn.skipValue();
+            if (i >= 0 && offsets[i] == UNKNOWN) {
+                offsets[i] = offset;
+                if (i == index) {
+                    scanned = bytes.readPosition();
+                    return offset;
+                }
+            }
+        }
+        scanned = end;
+        if (learning != null) {
+            layout.shapes.putIfAbsent(shape, Arrays.copyOf(learning, fieldsScanned));
+            learning = null;
+        }
+        return offsets[index];
+    }
+
+    private long scanRaw(int index) {
+        Class<?>[] types = layout.writtenTypes;
+        while (fieldsScanned < types.length && bytes.readRemaining() > 0) {
+            int i = layout.writtenIndex(fieldsScanned);
+            long offset = bytes.readPosition();
+            skipRaw(types[fieldsScanned++]);
+            if (i >= 0) {
+                offsets[i] = offset;
+                if (i == index) {
+                    scanned = bytes.readPosition();
+                    return offset;
+                }
+            }
+        }
+        scanned = end;
+        return offsets[index];
+    }
+
+    private void skipRaw(Class<?> type) {
+        switch (type.getName()) {
+            case "boolean":
+            case "byte":
+                bytes.readSkip(1);
+                break;
+            case "short":
+                bytes.readSkip(2);
+                break;
+            case "int":
+            case "float":
+                bytes.readSkip(4);
+                break;
+            case "long":
+            case "double":
+                bytes.readSkip(8);
+                break;
+            default:
+                // char and text are written with a stop bit length, -1 for null
+                long length = bytes.readStopBit();
+                if (length > 0)
+                    bytes.readSkip(length);
+                break;
+        }
+    }
+
+    /**
+     * @return the value at an offset, positioned to be read. The caller must call {@link #endRead(long, long)}
+     */
+    @NotNull
+    private ValueIn valueIn(long offset) {
+        bytes.readLimit(end);
+        bytes.readPosition(offset);
+        return wire.getValueIn();
+    }
+
+    private void endRead(long readPosition, long readLimit) {
+        bytes.readLimit(readLimit);
+        bytes.readPosition(readPosition);
+    }
+
+    protected boolean readBoolean(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return false;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).bool();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected byte readByte(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).int8();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected short readShort(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).int16();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected char readChar(int index) {
+        CharSequence cs = readText(index);
+        return cs == null || cs.length() == 0 ? '\u0000' : cs.charAt(0);
+    }
+
+    protected int readInt(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).int32();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected long readLong(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).int64();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected float readFloat(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).float32();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    protected double readDouble(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return 0;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).float64();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    /**
+     * @return the text of a field in a StringBuilder reused for this field, or null.
+     */
+    @Nullable
+    protected CharSequence readText(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return null;
+        StringBuilder sb = texts[index];
+        if (sb == null)
+            sb = texts[index] = new StringBuilder();
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).textTo(sb);
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    @Nullable
+    protected String readString(int index) {
+        long offset = offset(index);
+        if (offset < 0)
+            return null;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).text();
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    @Nullable
+    protected <T> T readObject(int index, Class<T> type) {
+        long offset = offset(index);
+        if (offset < 0)
+            return null;
+        long readPosition = bytes.readPosition(), readLimit = bytes.readLimit();
+        try {
+            return valueIn(offset).object(type);
+        } finally {
+            endRead(readPosition, readLimit);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + (bytes == null ? " unbound" : " bound to " + start + " to " + end);
+    }
+
+    /**
+     * What is shared by all views of an interface for a WireType.
+     */
+    public static final class Layout {
+        final String[] names;
+        final WireType wireType;
+        @Nullable
+        final FieldNameLookup lookup;
+        // the view index of each field in the order written, or null if the messages have names
+        @Nullable
+        final int[] writtenOrder;
+        @Nullable
+        final Class<?>[] writtenTypes;
+        // shape fingerprint -> the view index of each field in order
+        final Map<Long, int[]> shapes = new ConcurrentHashMap<>();
+
+        Layout(@NotNull Class<?> viewInterface, @NotNull WireType wireType, @Nullable Class<?> writtenAs) {
+            List<Method> getters = getters(viewInterface);
+            this.names = new String[getters.size()];
+            for (int i = 0; i < names.length; i++)
+                names[i] = fieldName(getters.get(i));
+            this.wireType = wireType;
+            this.lookup = FieldNameLookup.of(names);
+            if (lookup == null && wireType != WireType.RAW)
+                throw new IllegalArgumentException("The field names of " + viewInterface + " must be ASCII");
+            if (writtenAs == null) {
+                if (wireType == WireType.RAW || wireType == WireType.FIELDLESS_BINARY)
+                    throw new IllegalArgumentException(wireType + " messages don't have field names, the class written is required");
+                writtenOrder = null;
+                writtenTypes = null;
+                return;
+            }
+            WireMarshaller.FieldAccess[] fields = WireMarshaller.WIRE_MARSHALLER_CL.get(writtenAs).fields;
+            writtenOrder = new int[fields.length];
+            writtenTypes = new Class<?>[fields.length];
+            List<String> nameList = Arrays.asList(names);
+            for (int i = 0; i < fields.length; i++) {
+                Class<?> type = fields[i].field.getType();
+                if (wireType == WireType.RAW && !type.isPrimitive() && type != String.class)
+                    throw new IllegalArgumentException("Only primitive and String fields can be viewed in " + wireType + ", not " + fields[i].field);
+                writtenOrder[i] = nameList.indexOf(fields[i].field.getName());
+                writtenTypes[i] = type;
+            }
+        }
+
+        int writtenIndex(int position) {
+            return writtenOrder == null || position >= writtenOrder.length
+                    ? FieldNameLookup.NOT_FOUND
+                    : writtenOrder[position];
+        }
+
+        /**
+         * @return the names of the fields viewed, in index order
+         */
+        @NotNull
+        public List<String> names() {
+            return Collections.unmodifiableList(Arrays.asList(names));
+        }
+    }
+}
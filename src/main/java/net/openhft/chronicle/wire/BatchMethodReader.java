@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;
+
+/**
+ * A MethodReader which can read the messages available in one call, so a pauser or metrics can react per batch
+ * rather than per message.
+ */
+public interface BatchMethodReader extends MethodReader {
+
+    /**
+     * Read up to <code>max</code> messages, stopping early when no more are available.
+     *
+     * @return the number of messages read, including metadata messages, or 0 if none were available.
+     */
+    int readMany(int max) throws InvocationTargetRuntimeException;
+
+    /**
+     * Read all the messages currently available.
+     *
+     * @return the number of messages read.
+     */
+    default int drain() throws InvocationTargetRuntimeException {
+        return readMany(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Read all the messages currently available from any MethodReader, one at a time if it doesn't support batches.
+     *
+     * @return the number of messages read.
+     */
+    static int drain(MethodReader reader) throws InvocationTargetRuntimeException {
+        return readMany(reader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Read up to <code>max</code> messages from any MethodReader, one at a time if it doesn't support batches.
+     *
+     * @return the number of messages read.
+     */
+    static int readMany(MethodReader reader, int max) throws InvocationTargetRuntimeException {
+        if (reader instanceof BatchMethodReader)
+            return ((BatchMethodReader) reader).readMany(max);
+        int count = 0;
+        while (count < max && reader.readOne())
+            count++;
+        return count;
+    }
+}
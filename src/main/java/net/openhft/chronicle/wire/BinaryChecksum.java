@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.zip.Checksum;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.PADDING32;
+
+/**
+ * A CRC32C of the body of a document, appended by {@link BinaryWire#checksums(boolean)} and verified by
+ * {@link BinaryReadDocumentContext}.
+ * <p>
+ * The checksum is PADDING32 so any reader skips it, holding the CRC32C of the document before it and a magic number
+ * so the reader can find it from the end of the document. java.util.zip.CRC32C is used on Java 9+ where it is an
+ * intrinsic, otherwise a table driven implementation gives the same value.
+ */
+final class BinaryChecksum {
+    static final int MAGIC = 0x43435243; // CRCC
+    // PADDING32, its length, the CRC and the magic number
+    static final int TRAILER_SIZE = 1 + 4 + 4 + 4;
+    private static final Class<?> CRC32C = crc32cClass();
+
+    private final Checksum checksum = newCrc32c();
+    private final byte[] buffer = new byte[1024];
+
+    private static Class<?> crc32cClass() {
+        if (!Jvm.isJava9Plus())
+            return null;
+        try {
+            return Class.forName("java.util.zip.CRC32C");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    static Checksum newCrc32c() {
+        if (CRC32C != null) {
+            try {
+                return (Checksum) CRC32C.newInstance();
+            } catch (ReflectiveOperationException e) {
+                Jvm.debug().on(BinaryChecksum.class, e);
+            }
+        }
+        return new Crc32c();
+    }
+
+    /**
+     * @return the CRC32C of <code>length</code> bytes from <code>offset</code>
+     */
+    int crc(@NotNull BytesStore<?, ?> bytes, long offset, long length) {
+        checksum.reset();
+        while (length > 0) {
+            int len = (int) Math.min(length, buffer.length);
+            bytes.read(offset, buffer, 0, len);
+            checksum.update(buffer, 0, len);
+            offset += len;
+            length -= len;
+        }
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Append the checksum of the document written from <code>start</code>.
+     */
+    void write(@NotNull Bytes<?> bytes, long start) {
+        int crc = crc(bytes, start, bytes.writePosition() - start);
+        if (bytes.retainedHexDumpDescription())
+            bytes.writeHexDumpDescription("checksum");
+        bytes.writeUnsignedByte(PADDING32);
+        bytes.writeUnsignedInt(8);
+        bytes.writeInt(crc);
+        bytes.writeInt(MAGIC);
+    }
+
+    /**
+     * @return the position of the checksum at the end of the document being read, or -1 if there isn't one.
+     */
+    static long find(@NotNull Bytes<?> bytes) {
+        long start = bytes.readLimit() - TRAILER_SIZE;
+        if (start < bytes.readPosition()
+                || bytes.readInt(start + 9) != MAGIC
+                || bytes.readUnsignedByte(start) != PADDING32
+                || bytes.readUnsignedInt(start + 1) != 8)
+            return -1;
+        return start;
+    }
+
+    /**
+     * @return true if the checksum at <code>trailer</code> matches the document from the read position to the trailer.
+     */
+    boolean verify(@NotNull Bytes<?> bytes, long trailer) {
+        long start = bytes.readPosition();
+        return crc(bytes, start, trailer - start) == bytes.readInt(trailer + 5);
+    }
+
+    /**
+     * CRC32C (Castagnoli) for Java 8, one table lookup per byte.
+     */
+    static final class Crc32c implements Checksum {
+        private static final int[] TABLE = new int[256];
+
+        static {
+            for (int i = 0; i < 256; i++) {
+                int c = i;
+                for (int j = 0; j < 8; j++)
+                    c = (c >>> 1) ^ (0x82F63B78 & -(c & 1));
+                TABLE[i] = c;
+            }
+        }
+
+        private int crc = ~0;
+
+        @Override
+        public void update(int b) {
+            crc = (crc >>> 8) ^ TABLE[(crc ^ b) & 0xFF];
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            int c = crc;
+            for (int i = off, end = off + len; i < end; i++)
+                c = (c >>> 8) ^ TABLE[(c ^ b[i]) & 0xFF];
+            crc = c;
+        }
+
+        @Override
+        public long getValue() {
+            return ~crc & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public void reset() {
+            crc = ~0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static net.openhft.chronicle.wire.BinaryWireCode.PADDING32;
+
+/**
+ * An index of the top level fields of a document, appended by {@link BinaryWire#fieldIndex(boolean)} so a reader
+ * can jump to a field rather than skip every field before it.
+ * <p>
+ * The index is PADDING32 so any reader skips it, followed by an open addressed hash table of the field name's hash,
+ * or the field number, and the distance back from the index to the field. The table ends with its size and a magic
+ * number so the reader can find it from the end of the document.
+ */
+final class BinaryFieldIndex {
+    // smaller documents are as quick to scan.
+    static final int MIN_FIELDS = 8;
+    static final int MAGIC = 0x58444946; // FIDX
+    private static final int ENTRY_SIZE = 8;
+
+    private int[] keys = new int[16];
+    private long[] positions = new long[16];
+    private int[] table = {};
+    private int count;
+
+    /**
+     * The same as String.hashCode() for the characters of a field name.
+     */
+    static int hash(@NotNull CharSequence name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++)
+            h = 31 * h + name.charAt(i);
+        return h;
+    }
+
+    static int hash8bit(@NotNull BytesStore<?, ?> bytes, long offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++)
+            h = 31 * h + bytes.readUnsignedByte(offset + i);
+        return h;
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    void add(int key, long position) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            positions = Arrays.copyOf(positions, count * 2);
+        }
+        keys[count] = key;
+        positions[count] = position;
+        count++;
+    }
+
+    /**
+     * Write the fields added as a hash table.
+     */
+    void write(@NotNull Bytes<?> bytes) {
+        int size = Integer.highestOneBit(count * 2 - 1) << 1;
+        int mask = size - 1;
+        if (bytes.retainedHexDumpDescription())
+            bytes.writeHexDumpDescription("field index " + count);
+        if (table.length < size * 2)
+            table = new int[size * 2];
+        else
+            Arrays.fill(table, 0, size * 2, 0);
+        long start = bytes.writePosition();
+        for (int i = 0; i < count; i++) {
+            int s = slot(keys[i], mask);
+            // 0 is an empty slot as a field is never 0 bytes back.
+            while (table[s * 2 + 1] != 0)
+                s = (s + 1) & mask;
+            table[s * 2] = keys[i];
+            table[s * 2 + 1] = (int) (start - positions[i]);
+        }
+        bytes.writeUnsignedByte(PADDING32);
+        bytes.writeUnsignedInt((long) size * ENTRY_SIZE + 8);
+        for (int i = 0; i < size * 2; i++)
+            bytes.writeInt(table[i]);
+        bytes.writeInt(size);
+        bytes.writeInt(MAGIC);
+    }
+
+    /**
+     * Look up a field in the index at the end of the document being read, if there is one.
+     *
+     * @return the position of the first field with this hash or number, or -1 if not found or there is no index.
+     */
+    static long find(@NotNull Bytes<?> bytes, int hash, int number) {
+        long limit = bytes.readLimit();
+        // skip a checksum written after the index which hasn't been removed by the reader.
+        if (BinaryChecksum.find(bytes) >= 0)
+            limit -= BinaryChecksum.TRAILER_SIZE;
+        if (limit - bytes.readPosition() < 4 + 4 + 5 || bytes.readInt(limit - 4) != MAGIC)
+            return -1;
+        int size = bytes.readInt(limit - 8);
+        if (size <= 0 || Integer.bitCount(size) != 1)
+            return -1;
+        long start = limit - 8 - (long) size * ENTRY_SIZE - 5;
+        if (start < bytes.readPosition()
+                || bytes.readUnsignedByte(start) != PADDING32
+                || bytes.readUnsignedInt(start + 1) != (long) size * ENTRY_SIZE + 8)
+            return -1;
+        long position = find(bytes, start, size, hash);
+        if (position < 0 && number != hash)
+            position = find(bytes, start, size, number);
+        return position;
+    }
+
+    private static long find(@NotNull Bytes<?> bytes, long start, int size, int key) {
+        long table = start + 5;
+        int mask = size - 1;
+        for (int s = slot(key, mask), i = 0; i < size; s = (s + 1) & mask, i++) {
+            long entry = table + (long) s * ENTRY_SIZE;
+            int back = bytes.readInt(entry + 4);
+            if (back == 0)
+                return -1;
+            if (bytes.readInt(entry) == key)
+                return start - back;
+        }
+        return -1;
+    }
+}
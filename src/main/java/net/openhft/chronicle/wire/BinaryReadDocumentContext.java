@@ -38,6 +38,9 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
     protected long readLimit;
     protected boolean metaData;
     protected boolean rollback;
+    private long checksumsRead;
+    private long checksumFailures;
+    private boolean checksumFailed;
 
     public BinaryReadDocumentContext(@Nullable Wire wire) {
         this(wire, wire != null && wire.getValueIn() instanceof BinaryWire.DeltaValueIn);
@@ -78,6 +81,36 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         return rollback;
     }
 
+    /**
+     * @return the number of documents read whose checksum didn't match, see {@link BinaryWire#checksums(boolean)}
+     */
+    public long checksumFailures() {
+        return checksumFailures;
+    }
+
+    /**
+     * @return true if the checksum of the current document was verified and didn't match
+     */
+    public boolean checksumFailed() {
+        return checksumFailed;
+    }
+
+    /**
+     * Remove the checksum from the end of the document and verify one in every {@link BinaryWire#verifyChecksumEvery()}
+     */
+    private void checkChecksum(@NotNull BinaryWire binaryWire, @NotNull Bytes<?> bytes) {
+        long trailer = BinaryChecksum.find(bytes);
+        if (trailer < 0)
+            return;
+        if (checksumsRead++ % binaryWire.verifyChecksumEvery() == 0
+                && !binaryWire.checksum().verify(bytes, trailer)) {
+            checksumFailed = true;
+            checksumFailures++;
+            Jvm.warn().on(getClass(), "Checksum failed for document at " + start);
+        }
+        bytes.readLimit(trailer);
+    }
+
     static final StringBuilderPool SBP = new StringBuilderPool();
 
     private static void fullReadForDeltaWire(AbstractWire wire0, long start) {
@@ -87,6 +120,11 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
             // the middle of reading a value
             wire0.bytes().readPosition(start);
             wire0.bytes().readSkip(4);
+            if (readsAnchors(wire0)) {
+                // later documents can refer to the anchors in the part not read
+                ((BinaryWire) wire0).readAnchors(wire0.bytes().readLimit());
+                return;
+            }
             while (wire0.hasMore()) {
                 final long remaining = wire0.bytes().readRemaining();
                 final ValueIn read = wire0.read();
@@ -109,6 +147,10 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         }
     }
 
+    private static boolean readsAnchors(AbstractWire wire0) {
+        return wire0 instanceof BinaryWire && ((BinaryWire) wire0).dictionary();
+    }
+
     @Override
     public void close() {
         if (rollbackIfNeeded())
@@ -118,7 +160,7 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
         long readPosition0 = this.readPosition;
 
         AbstractWire wire0 = this.wire;
-        if (present && ensureFullRead && start >= 0 && wire0 != null && wire0.hasMore()) {
+        if (present && (ensureFullRead || readsAnchors(wire0)) && start >= 0 && wire0 != null && wire0.hasMore()) {
             fullReadForDeltaWire(wire0, start);
         }
 
@@ -198,6 +240,9 @@ public class BinaryReadDocumentContext implements ReadDocumentContext {
 
         bytes.readLimit(readPosition);
         present = true;
+        checksumFailed = false;
+        if (wire instanceof BinaryWire && ((BinaryWire) wire).checksums())
+            checkChecksum((BinaryWire) wire, bytes);
     }
 
     @Override
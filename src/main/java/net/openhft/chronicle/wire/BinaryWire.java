@@ -18,7 +18,6 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.*;
-import net.openhft.chronicle.bytes.internal.NativeBytesStore;
 import net.openhft.chronicle.bytes.ref.*;
 import net.openhft.chronicle.bytes.util.BinaryLengthLength;
 import net.openhft.chronicle.bytes.util.Bit8StringInterner;
@@ -27,6 +26,7 @@ import net.openhft.chronicle.bytes.util.UTF8StringInterner;
 import net.openhft.chronicle.core.ClassLocal;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.UnsafeMemory;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.pool.ClassLookup;
 import net.openhft.chronicle.core.pool.StringBuilderPool;
@@ -64,6 +64,25 @@ public class BinaryWire extends AbstractWire implements Wire {
 
     static final StringBuilderPool SBP = new StringBuilderPool();
     private static final boolean SUPPORT_DELTA = supportDelta();
+    // write a HINT with a fingerprint of the field names before each Marshallable so readers can skip parsing them.
+    private static final boolean SHAPE_HINTS = Jvm.getBoolean("wire.binary.shapeHints");
+    // write primitive arrays as a length and a copy of their elements rather than one value per element.
+    private static final boolean PACKED_ARRAYS = Jvm.getBoolean("wire.binary.packedArrays");
+    // write repeated field names, text and type prefixes as a reference to the first time they were written.
+    private static final boolean DICTIONARY = Jvm.getBoolean("wire.binary.dictionary");
+    // write integers as zig-zag varints when shorter, and long[] as varint differences.
+    private static final boolean VAR_INTS = Jvm.getBoolean("wire.binary.varInts");
+    // append an index of the top level fields to each document so readers can jump to a field.
+    private static final boolean FIELD_INDEX = Jvm.getBoolean("wire.binary.fieldIndex");
+    // append a CRC32C of each document, and verify it on reading.
+    private static final boolean CHECKSUMS = Jvm.getBoolean("wire.binary.checksums");
+    // verify the checksum of only one in every N documents read.
+    private static final int VERIFY_CHECKSUM_EVERY = Integer.getInteger("wire.binary.verifyChecksumEvery", 1);
+    private static final int CHAR_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(char[].class);
+    private static final int INT_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(int[].class);
+    private static final int LONG_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(long[].class);
+    private static final int FLOAT_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(float[].class);
+    private static final int DOUBLE_ARRAY_BASE = UnsafeMemory.UNSAFE.arrayBaseOffset(double[].class);
     private static final UTF8StringInterner UTF8 = new UTF8StringInterner(4096);
     private static final Bit8StringInterner BIT8 = new Bit8StringInterner(1024);
     private static final ClassValue<Boolean> USES_SELF_DESCRIBING = ClassLocal.withInitial(k -> {
@@ -88,6 +107,17 @@ public class BinaryWire extends AbstractWire implements Wire {
     private DefaultValueIn defaultValueIn;
     private String compression;
     private Boolean overrideSelfDescribing = null;
+    private boolean shapeHints = SHAPE_HINTS;
+    private boolean packedArrays = PACKED_ARRAYS;
+    private boolean dictionary;
+    private boolean varInts = VAR_INTS;
+    private boolean fieldIndex = FIELD_INDEX;
+    private BinaryFieldIndex fieldIndexBuilder;
+    private boolean checksums = CHECKSUMS;
+    private int verifyChecksumEvery = VERIFY_CHECKSUM_EVERY;
+    private BinaryChecksum checksum;
+    private BinaryWireDictionary dictionaryStrings = new BinaryWireDictionary();
+    private int dictionaryMark;
 
     public BinaryWire(@NotNull Bytes<?> bytes) {
         this(bytes, false, false, false, Integer.MAX_VALUE, "binary", SUPPORT_DELTA);
@@ -103,6 +133,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         valueIn = supportDelta ? new DeltaValueIn() : new BinaryValueIn();
         readContext = new BinaryReadDocumentContext(this, supportDelta);
         this.supportDelta = supportDelta;
+        this.dictionary = DICTIONARY && !supportDelta;
     }
 
     private static boolean supportDelta() {
@@ -147,6 +178,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         readContext.reset();
         valueIn.resetState();
         valueOut.resetState();
+        dictionaryStrings.clear();
         bytes.clear();
     }
 
@@ -197,6 +229,462 @@ public class BinaryWire extends AbstractWire implements Wire {
         return fieldLess;
     }
 
+    public boolean shapeHints() {
+        return shapeHints;
+    }
+
+    /**
+     * If true, a HINT followed by a fingerprint of the field names is written before the fields of each Marshallable.
+     * A reader with the same fingerprint for the class skips the field names and reads the values directly.
+     * Readers before this version don't understand the HINT code.
+     */
+    public BinaryWire shapeHints(boolean shapeHints) {
+        this.shapeHints = shapeHints;
+        return this;
+    }
+
+    public boolean packedArrays() {
+        return packedArrays;
+    }
+
+    /**
+     * If true, char[], int[], long[], float[] and double[] arrays are written as a length followed by a copy of the elements.
+     * Readers before this version don't understand the U16_ARRAY, I32_ARRAY, F32_ARRAY and F64_ARRAY codes.
+     */
+    public BinaryWire packedArrays(boolean packedArrays) {
+        this.packedArrays = packedArrays;
+        return this;
+    }
+
+    public boolean varInts() {
+        return varInts;
+    }
+
+    /**
+     * If true, integers which would take four or eight bytes are written as a VARINT when it is shorter,
+     * and long[] are written as a VARINT_ARRAY of the difference between each element and the one before.
+     * Readers before this version don't understand the VARINT and VARINT_ARRAY codes.
+     */
+    public BinaryWire varInts(boolean varInts) {
+        this.varInts = varInts;
+        return this;
+    }
+
+    public boolean fieldIndex() {
+        return fieldIndex;
+    }
+
+    /**
+     * If true, each document with at least {@value BinaryFieldIndex#MIN_FIELDS} top level fields is closed with
+     * an index of the position of each field, so {@link #read(WireKey)} can jump to a field out of order
+     * rather than skip every field before it. The index is padding to readers which don't use it.
+     * No index is written while {@link #dictionary()} is enabled.
+     */
+    public BinaryWire fieldIndex(boolean fieldIndex) {
+        this.fieldIndex = fieldIndex;
+        return this;
+    }
+
+    public boolean checksums() {
+        return checksums;
+    }
+
+    /**
+     * If true, each document is closed with a CRC32C of its contents, and documents read with a checksum are verified
+     * as set by {@link #verifyChecksumEvery(int)}. The checksum is padding to readers which don't use it.
+     */
+    public BinaryWire checksums(boolean checksums) {
+        this.checksums = checksums;
+        return this;
+    }
+
+    public int verifyChecksumEvery() {
+        return verifyChecksumEvery;
+    }
+
+    /**
+     * Verify the checksum of only one in every <code>verifyChecksumEvery</code> documents read, to bound the cost.
+     * The default of 1 verifies every document.
+     */
+    public BinaryWire verifyChecksumEvery(int verifyChecksumEvery) {
+        if (verifyChecksumEvery < 1)
+            throw new IllegalArgumentException("verifyChecksumEvery must be at least 1, was " + verifyChecksumEvery);
+        this.verifyChecksumEvery = verifyChecksumEvery;
+        return this;
+    }
+
+    /**
+     * @return the number of documents read whose checksum didn't match
+     */
+    public long checksumFailures() {
+        return readContext.checksumFailures();
+    }
+
+    @NotNull
+    BinaryChecksum checksum() {
+        if (checksum == null)
+            checksum = new BinaryChecksum();
+        return checksum;
+    }
+
+    /**
+     * Append a checksum of the document written since <code>start</code>, if {@link #checksums()} is enabled.
+     * Called by {@link BinaryWriteDocumentContext} after the field index, so the checksum covers it.
+     */
+    void writeChecksum(long start) {
+        if (checksums)
+            checksum().write(bytes, start);
+    }
+
+    /**
+     * Append an index of the top level fields written since <code>start</code>, if {@link #fieldIndex()} is enabled.
+     * Called by {@link BinaryWriteDocumentContext} before it writes the length of the document.
+     */
+    void writeFieldIndex(long start) {
+        if (!fieldIndex || dictionary)
+            return;
+        if (fieldIndexBuilder == null)
+            fieldIndexBuilder = new BinaryFieldIndex();
+        BinaryFieldIndex index = fieldIndexBuilder;
+        index.clear();
+        long readPosition = bytes.readPosition();
+        try {
+            bytes.readPosition(start);
+            while (bytes.readRemaining() > 0) {
+                long position = bytes.readPosition();
+                int peekCode = peekCode();
+                int length;
+                if (peekCode == PADDING || peekCode == PADDING32 || peekCode == HINT || peekCode == COMMENT) {
+                    // skipped without passing comments to the commentListener
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readSkip(peekCode == PADDING ? 0
+                            : peekCode == PADDING32 ? bytes.readUnsignedInt()
+                            : peekCode == HINT ? 8
+                            : bytes.readStopBit());
+                    continue;
+                }
+                if (peekCode >= FIELD_NAME0 && peekCode <= FIELD_NAME31) {
+                    length = peekCode - FIELD_NAME0;
+                    bytes.uncheckedReadSkipOne();
+                } else if (peekCode == FIELD_NAME_ANY || peekCode == EVENT_NAME) {
+                    bytes.uncheckedReadSkipOne();
+                    length = Maths.toUInt31(bytes.readStopBit());
+                } else if (peekCode == FIELD_NUMBER) {
+                    bytes.uncheckedReadSkipOne();
+                    index.add((int) bytes.readStopBit(), position);
+                    valueIn.consumeNext();
+                    continue;
+                } else {
+                    // not a document of fields
+                    return;
+                }
+                index.add(BinaryFieldIndex.hash8bit(bytes, bytes.readPosition(), length), position);
+                bytes.readSkip(length);
+                valueIn.consumeNext();
+            }
+        } finally {
+            bytes.readPosition(readPosition);
+        }
+        if (index.count() >= BinaryFieldIndex.MIN_FIELDS)
+            index.write(bytes);
+    }
+
+    /**
+     * Jump to a field using the index, if there is one. Fields jumped over are remembered, so they can be read
+     * later out of order, as if they had been scanned.
+     *
+     * @param curr state of the fields already passed
+     * @return true if the field was found, and the wire is positioned to read its value
+     */
+    private boolean readIndexedField(CharSequence keyName, int keyCode, @NotNull StringBuilder sb, @NotNull ValueInState curr) {
+        long fieldPosition = BinaryFieldIndex.find(bytes, BinaryFieldIndex.hash(keyName), keyCode);
+        long position = bytes.readPosition();
+        boolean forward = fieldPosition > position;
+        // a field before this position can only be read again if it was jumped over.
+        if (!forward && (fieldPosition < curr.skippedStart() || fieldPosition >= curr.skippedEnd()))
+            return false;
+        bytes.readPosition(fieldPosition);
+        readField(sb, keyName, keyCode);
+        if (sb.length() == 0 || !StringUtils.isEqual(sb, keyName)) {
+            bytes.readPosition(position);
+            return false;
+        }
+        if (forward) {
+            bytes.readPosition(position);
+            addSkippedAsUnexpected(curr, sb, keyName, keyCode);
+            curr.skipped(position, fieldPosition);
+            bytes.readPosition(fieldPosition);
+            readField(sb, keyName, keyCode);
+        } else {
+            // carry on from here after reading this field
+            curr.savedPosition(position + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Add the fields jumped over by the index as unexpected, so they are found as if they had been scanned.
+     */
+    private void addSkippedAsUnexpected(@NotNull ValueInState curr, @NotNull StringBuilder sb, CharSequence keyName, int keyCode) {
+        if (!curr.hasSkipped())
+            return;
+        long position = bytes.readPosition();
+        long limit = bytes.readLimit();
+        bytes.readLimit(curr.skippedEnd());
+        try {
+            bytes.readPosition(curr.skippedStart());
+            consumePadding();
+            while (bytes.readRemaining() > 0) {
+                curr.addUnexpected(bytes.readPosition());
+                readField(sb, keyName, keyCode);
+                valueIn.consumeNext();
+                consumePadding();
+            }
+        } finally {
+            bytes.readLimit(limit);
+            bytes.readPosition(position);
+        }
+        curr.skipped(0, 0);
+    }
+
+    public boolean dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * If true, the first time a field name, text or type prefix is written it is anchored with an id,
+     * and after that only the id is written. The dictionary lasts until {@link #clearDictionary()} or {@link #reset()}
+     * so it suits a wire per connection or per file, where every document is read in order.
+     * <p>
+     * Readers resolve field names and text from any writer, however type prefixes are only resolved when
+     * the reader has a dictionary as well. A reader with a dictionary also records the anchors in what it skips,
+     * e.g. values passed over by {@link ValueIn#skipValue()} or looking for a field, the unread part of a nested value
+     * and the rest of a document closed before it was read, as later documents can refer to them.
+     * Readers before this version don't understand these codes and DeltaWire uses the same codes for its own purposes.
+     * <p>
+     * Strings first written in a document which is rolled back with {@link DocumentContext#rollbackOnClose()}
+     * are forgotten when it is closed, so later documents anchor them again rather than refer to an id the reader
+     * didn't see.
+     */
+    public BinaryWire dictionary(boolean dictionary) {
+        if (dictionary && supportDelta)
+            throw new IllegalStateException("A dictionary can't be used with DeltaWire");
+        this.dictionary = dictionary;
+        return this;
+    }
+
+    /**
+     * Forget the strings written and read e.g. when starting a new connection or file.
+     */
+    public void clearDictionary() {
+        dictionaryStrings.clear();
+    }
+
+    /**
+     * Resolve dictionary ids with the strings read by another wire, e.g. for a copy of a document it read,
+     * which can be read on another thread. This wire doesn't add to them, and the other wire must have read the
+     * anchors before the copy is passed on, and not clear its dictionary until the copy has been read.
+     */
+    void readDictionaryOf(@NotNull BinaryWire wire) {
+        if (dictionaryStrings.source() != wire.dictionaryStrings)
+            dictionaryStrings = new BinaryWireDictionary(wire.dictionaryStrings);
+        dictionary = true;
+    }
+
+    /**
+     * Read the anchors in the values up to <code>end</code> without reading the values, leaving the read position
+     * at <code>end</code>. Content which isn't wire values, e.g. the bytes of a BytesMarshallable, leaves the
+     * dictionary as it was.
+     */
+    void readAnchors(long end) {
+        long limit = bytes.readLimit();
+        int mark = dictionaryStrings.startPending();
+        boolean read = false;
+        bytes.readLimit(end);
+        try {
+            read = readAnchors0();
+        } catch (RuntimeException e) {
+            // not wire values
+        } finally {
+            dictionaryStrings.endPending(mark, read);
+            bytes.readLimit(limit);
+            bytes.readPosition(end);
+        }
+    }
+
+    private boolean readAnchors0() {
+        while (true) {
+            consumePadding();
+            if (bytes.readRemaining() <= 0)
+                return true;
+            int code = peekCode();
+            // the rest is bytes
+            if (code == U8_ARRAY)
+                return true;
+            if (isFieldCode(code)) {
+                readField(SBP.acquireStringBuilder(), null, ANY_CODE_MATCH.code());
+                consumePadding();
+                if (bytes.readRemaining() <= 0)
+                    return false;
+            }
+            if (!skipValueReadingAnchors())
+                return false;
+        }
+    }
+
+    private static boolean isFieldCode(int code) {
+        return (FIELD_NAME0 <= code && code <= FIELD_NAME31)
+                || code == FIELD_ANCHOR || code == FIELD_NUMBER || code == FIELD_NAME_ANY || code == EVENT_NAME;
+    }
+
+    /**
+     * Skip the next value, reading the anchors in it.
+     *
+     * @return false if the length of the value isn't known, and only a type prefix before it was skipped.
+     */
+    private boolean skipValueReadingAnchors() {
+        consumePadding();
+        int code = peekCode();
+        switch (code) {
+            case TYPE_PREFIX:
+                bytes.uncheckedReadSkipOne();
+                readTypeName(SBP.acquireStringBuilder());
+                return skipValueReadingAnchors();
+
+            case ANCHOR:
+            case UPDATED_ALIAS:
+                valueIn.textTo(SBP.acquireStringBuilder());
+                return true;
+
+            case BYTES_LENGTH8:
+            case BYTES_LENGTH16:
+            case BYTES_LENGTH32: {
+                long length = valueIn.readLength();
+                readAnchors(bytes.readPosition() + length);
+                return true;
+            }
+
+            default: {
+                long length = valueIn.readLength();
+                if (length < 0)
+                    return false;
+                bytes.readSkip(length);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Move to the end of a nested value, reading the anchors in the part which wasn't read.
+     */
+    private void readTo(long end) {
+        if (dictionary && bytes.readPosition() < end)
+            readAnchors(end);
+        else
+            bytes.readPosition(end);
+    }
+
+    /**
+     * Called by {@link BinaryWriteDocumentContext} when it starts a document.
+     */
+    void startDictionaryDocument() {
+        dictionaryMark = dictionaryStrings.size();
+    }
+
+    /**
+     * Forget the strings anchored since the document started, as it was rolled back.
+     * Called by {@link BinaryWriteDocumentContext} when it closes a document.
+     */
+    void rollbackDictionary() {
+        dictionaryStrings.truncate(dictionaryMark);
+    }
+
+    /**
+     * @return the size of each element of a packed array code, or 0 if the code isn't a packed array
+     */
+    static int packedElementSize(int code) {
+        switch (code) {
+            case U16_ARRAY:
+                return 2;
+            case I32_ARRAY:
+            case F32_ARRAY:
+                return 4;
+            case I64_ARRAY:
+            case F64_ARRAY:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    private void copyPackedArray(@NotNull WireOut wire, int code) {
+        bytes.uncheckedReadSkipOne();
+        long length = bytes.readStopBit();
+        wire.getValueOut().sequence(this, (w, out) -> {
+            for (long i = 0; i < length; i++) {
+                switch (code) {
+                    case U16_ARRAY:
+                        out.uint16checked(bytes.readUnsignedShort());
+                        break;
+                    case I32_ARRAY:
+                        out.int32(bytes.readInt());
+                        break;
+                    case F32_ARRAY:
+                        out.float32(bytes.readFloat());
+                        break;
+                    default:
+                        out.float64(bytes.readDouble());
+                        break;
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a HINT with the fingerprint of the fields which follow, if {@link #shapeHints()} is enabled.
+     */
+    public void writeShapeHint(long fingerprint) {
+        if (shapeHints)
+            bytes.writeUnsignedByte(HINT)
+                    .writeLong(fingerprint);
+    }
+
+    /**
+     * @return the fingerprint if the next code is a shape HINT, or 0 if not.
+     */
+    public long readShapeHint() {
+        if (bytes.readRemaining() < 9 || peekCode() != HINT)
+            return 0;
+        bytes.uncheckedReadSkipOne();
+        return bytes.readLong();
+    }
+
+    /**
+     * Skip the next field name without decoding it, or skip the padding before a field-less value.
+     */
+    public void skipFieldName() {
+        int peekCode = peekCodeAfterPadding();
+        switch (peekCode >> 4) {
+            case BinaryWireHighCode.FIELD0:
+            case BinaryWireHighCode.FIELD1:
+                bytes.readSkip(1 + (peekCode & 0x1f));
+                return;
+            case BinaryWireHighCode.SPECIAL:
+                if (peekCode == FIELD_NAME_ANY) {
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readSkip(bytes.readStopBit());
+                    return;
+                }
+                if (peekCode == FIELD_NUMBER) {
+                    bytes.uncheckedReadSkipOne();
+                    bytes.readStopBit();
+                    return;
+                }
+                break;
+        }
+        readField(acquireStringBuilder(), null, ANY_CODE_MATCH.code());
+    }
+
     @NotNull
     @Override
     public DocumentContext writingDocument(boolean metaData) {
@@ -352,6 +840,18 @@ public class BinaryWire extends AbstractWire implements Wire {
                         wire.write(sb);
                         break outerSwitch;
                     }
+                    case U16_ARRAY:
+                    case I32_ARRAY:
+                        copyPackedArray(wire, peekCode);
+                        break outerSwitch;
+                    case VARINT_ARRAY: {
+                        long[] longs = (long[]) valueIn.packedArray(long.class, null);
+                        wire.getValueOut().sequence(longs, (array, out) -> {
+                            for (long l : array)
+                                out.int64(l);
+                        });
+                        break outerSwitch;
+                    }
                     case ANCHOR:
                     case UPDATED_ALIAS: {
                         @Nullable final Object o = valueIn.object();
@@ -363,6 +863,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                 break;
 
             case BinaryWireHighCode.FLOAT:
+                if (peekCode == F32_ARRAY || peekCode == F64_ARRAY) {
+                    copyPackedArray(wire, peekCode);
+                    break;
+                }
                 bytes.uncheckedReadSkipOne();
                 try {
                     Number d = readFloat0(peekCode);
@@ -456,6 +960,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         switch (peekCode) {
             case FIELD_NUMBER:
             case FIELD_NAME_ANY:
+            case FIELD_ANCHOR:
             case EVENT_NAME:
             case EVENT_OBJECT:
                 return BracketType.MAP;
@@ -497,11 +1002,18 @@ public class BinaryWire extends AbstractWire implements Wire {
             bytes.readPosition(curr.savedPosition() - 1);
             curr.savedPosition(0L);
         }
+        boolean checkIndex = true;
         while (bytes.readRemaining() > 0) {
             long position = bytes.readPosition();
             // at the current position look for the field.
             readField(sb, keyName, keyCode);
-            if (sb.length() == 0 || StringUtils.isEqual(sb, keyName))
+            if (sb.length() == 0) {
+                // only padding such as the field index was left, so there are no more fields
+                if (bytes.readRemaining() == 0)
+                    break;
+                return valueIn;
+            }
+            if (StringUtils.isEqual(sb, keyName))
                 return valueIn;
 
             // if no old field nor current field matches, set to default values.
@@ -509,6 +1021,11 @@ public class BinaryWire extends AbstractWire implements Wire {
             curr.addUnexpected(position);
             valueIn.consumeNext();
             consumePadding();
+            if (checkIndex) {
+                checkIndex = false;
+                if (readIndexedField(keyName, keyCode, sb, curr))
+                    return valueIn;
+            }
         }
 
         return read2(keyName, keyCode, defaultSource, defaultLookup, curr, sb, keyName);
@@ -522,6 +1039,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                                 @NotNull StringBuilder sb,
                                 CharSequence name) {
         long position2 = bytes.readLimit();
+        addSkippedAsUnexpected(curr, sb, keyName, keyCode);
 
         // if not a match go back and look at old fields.
         for (int i = 0; i < curr.unexpectedSize(); i++) {
@@ -575,6 +1093,68 @@ public class BinaryWire extends AbstractWire implements Wire {
         return readField(name, null, ANY_CODE_MATCH.code()) == null ? acquireDefaultValueIn() : valueIn;
     }
 
+    @Override
+    public boolean hintReadInputOrder() {
+        return READ_INPUT_ORDER;
+    }
+
+    @Override
+    public int readFieldIndex(@NotNull FieldNameLookup lookup, @NotNull StringBuilder name) {
+        int peekCode = peekCodeAfterPadding();
+        int length;
+        switch (peekCode >> 4) {
+            case BinaryWireHighCode.FIELD0:
+            case BinaryWireHighCode.FIELD1:
+                bytes.uncheckedReadSkipOne();
+                length = peekCode & 0x1f;
+                break;
+            case BinaryWireHighCode.SPECIAL:
+                if (peekCode == FIELD_NAME_ANY) {
+                    bytes.uncheckedReadSkipOne();
+                    length = Maths.toUInt31(bytes.readStopBit());
+                    break;
+                }
+                // fall through
+            default:
+                read(name);
+                return lookup.indexOf(name);
+        }
+        long offset = bytes.readPosition();
+        bytes.readSkip(length);
+        return lookup.indexOf(bytes, offset, length);
+    }
+
+    @Override
+    public int readEventIndex(@NotNull FieldNameLookup lookup) {
+        int peekCode = peekCodeAfterPadding();
+        long start = bytes.readPosition();
+        switch (peekCode >> 4) {
+            case BinaryWireHighCode.FIELD0:
+            case BinaryWireHighCode.FIELD1:
+                bytes.uncheckedReadSkipOne();
+                return eventIndex(lookup, start, peekCode & 0x1f);
+            case BinaryWireHighCode.SPECIAL:
+                if (peekCode == FIELD_NAME_ANY || peekCode == EVENT_NAME) {
+                    bytes.uncheckedReadSkipOne();
+                    return eventIndex(lookup, start, Maths.toUInt31(bytes.readStopBit()));
+                }
+                return FieldNameLookup.NOT_FOUND;
+            default:
+                return FieldNameLookup.NOT_FOUND;
+        }
+    }
+
+    private int eventIndex(@NotNull FieldNameLookup lookup, long start, int length) {
+        long offset = bytes.readPosition();
+        int index = lookup.indexOf(bytes, offset, length);
+        if (index < 0) {
+            bytes.readPosition(start);
+            return FieldNameLookup.NOT_FOUND;
+        }
+        bytes.readSkip(length);
+        return index;
+    }
+
     @NotNull
     @Override
     public ValueIn getValueIn() {
@@ -601,7 +1181,7 @@ public class BinaryWire extends AbstractWire implements Wire {
 
     private int peekCodeAfterPadding() {
         int peekCode = peekCode();
-        if (peekCode == PADDING || peekCode == PADDING32 || peekCode == COMMENT) {
+        if (peekCode == PADDING || peekCode == PADDING32 || peekCode == COMMENT || peekCode == HINT) {
             consumePadding();
             peekCode = peekCode();
         }
@@ -659,6 +1239,8 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.uncheckedReadSkipOne();
                 final StringBuilder sb = SBP.acquireStringBuilder();
                 readFieldAnchor(sb);
+                if (expectedClass == String.class)
+                    return (K) WireInternal.INTERNER.intern(sb);
                 return ObjectUtils.convertTo(expectedClass, sb);
             }
 
@@ -696,6 +1278,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                     break;
                 }
 
+                case HINT:
+                    bytes.readSkip(1 + 8);
+                    break;
+
                 default:
                     return;
             }
@@ -736,15 +1322,10 @@ public class BinaryWire extends AbstractWire implements Wire {
     @NotNull
     private StringBuilder readSmallField(int peekCode, @NotNull StringBuilder sb) {
         bytes.uncheckedReadSkipOne();
-        if (bytes.isDirectMemory() && bytes.bytesStore() instanceof NativeBytesStore) {
-            AppendableUtil.parse8bit_SB1(bytes, sb, peekCode & 0x1f);
-        } else {
-            try {
-                AppendableUtil.parse8bit(bytes, sb, peekCode & 0x1f);
-            } catch (IOException e) {
-                throw new AssertionError(e);
-            }
-        }
+        int length = peekCode & 0x1f;
+        sb.setLength(0);
+        SwarDecoder.append8bit(bytes, bytes.readPosition(), length, sb);
+        bytes.readSkip(length);
         return sb;
     }
 
@@ -784,9 +1365,21 @@ public class BinaryWire extends AbstractWire implements Wire {
             bytes.readUtf8(sb);
             in.inField[ref] = sb.toString();
             return sb;
+        }
+        // a dictionary field, followed by the name only the first time.
+        int id = Maths.toUInt31(bytes.readStopBit());
+        int code = peekCode();
+        if (code >= FIELD_NAME0 && code <= FIELD_NAME31) {
+            readSmallField(code, sb);
+        } else if (code == FIELD_NAME_ANY || code == EVENT_NAME) {
+            bytes.uncheckedReadSkipOne();
+            bytes.read8bit(sb);
         } else {
-            throw new UnsupportedOperationException();
+            sb.setLength(0);
+            return sb.append(dictionaryStrings.get(id));
         }
+        dictionaryStrings.put(id, sb.toString());
+        return sb;
     }
 
     @NotNull
@@ -812,10 +1405,33 @@ public class BinaryWire extends AbstractWire implements Wire {
     }
 
     @NotNull <T extends Appendable & CharSequence> T getStringBuilder(int code, @NotNull T sb) {
-        bytes.parseUtf8(sb, true, code & 0x1f);
+        if (sb instanceof StringBuilder) {
+            int length = code & 0x1f;
+            ((StringBuilder) sb).setLength(0);
+            SwarDecoder.appendUtf8(bytes, bytes.readPosition(), length, (StringBuilder) sb);
+            bytes.readSkip(length);
+        } else {
+            bytes.parseUtf8(sb, true, code & 0x1f);
+        }
         return sb;
     }
 
+    /**
+     * Intern <code>length</code> bytes of ASCII directly, without copying them to a StringBuilder first.
+     */
+    @NotNull
+    private String internAscii(int length) {
+        long limit = bytes.readLimit();
+        long end = bytes.readPosition() + length;
+        try {
+            bytes.readLimit(end);
+            return WireInternal.INTERNER.intern(bytes);
+        } finally {
+            bytes.readLimit(limit);
+            bytes.readPosition(end);
+        }
+    }
+
     private void copySpecial(@NotNull WireOut wire, int peekCode) {
         switch (peekCode) {
             case COMMENT: {
@@ -825,6 +1441,11 @@ public class BinaryWire extends AbstractWire implements Wire {
                 break;
             }
 
+            case HINT:
+                // only meaningful to binary readers.
+                bytes.readSkip(1 + 8);
+                break;
+
             case TIME:
                 wire.getValueOut().time(getValueIn().time());
                 break;
@@ -841,7 +1462,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             case TYPE_PREFIX: {
                 long readPosition = bytes.readPosition();
                 bytes.uncheckedReadSkipOne();
-                @Nullable StringBuilder sb = readUtf8();
+                @Nullable StringBuilder sb = readTypeName();
                 if (StringUtils.isEqual("gzip", sb) || StringUtils.isEqual("lzw", sb)) {
                     bytes.readPosition(readPosition);
                     wire.writeComment(sb);
@@ -1058,6 +1679,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             case INT64:
             case INT64_0x:
                 return bytes.readLong();
+            case VARINT:
+                return VarInts.unZigZag(VarInts.readVarInt(bytes));
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -1085,6 +1708,8 @@ public class BinaryWire extends AbstractWire implements Wire {
             case INT64:
             case INT64_0x:
                 return bytes.readLong();
+            case VARINT:
+                return VarInts.unZigZag(VarInts.readVarInt(bytes));
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -1126,6 +1751,9 @@ public class BinaryWire extends AbstractWire implements Wire {
     public ValueOut writeEventName(@NotNull CharSequence name) {
         if (bytes.retainedHexDumpDescription())
             bytes.writeHexDumpDescription(name + ": (event)");
+        if (dictionary && name.length() >= BinaryWireDictionary.MIN_LENGTH
+                && writeDictionaryRef(FIELD_ANCHOR, FIELD_ANCHOR, name, false))
+            return valueOut;
         writeCode(EVENT_NAME).write8bit(name);
         return valueOut;
     }
@@ -1225,6 +1853,9 @@ public class BinaryWire extends AbstractWire implements Wire {
         if (bytes.retainedHexDumpDescription())
             bytes.writeHexDumpDescription(name + ":");
         int len = name.length();
+        if (dictionary && len >= BinaryWireDictionary.MIN_LENGTH && !isDigit(name.charAt(0))
+                && writeDictionaryRef(FIELD_ANCHOR, FIELD_ANCHOR, name, false))
+            return;
         if (len < 0x20) {
             writeField0(name, len);
 
@@ -1256,6 +1887,25 @@ public class BinaryWire extends AbstractWire implements Wire {
         return bytes.writeByte((byte) code);
     }
 
+    /**
+     * Write a reference to a string written before, or anchor it so it can be referenced from now on.
+     *
+     * @param force anchor it even if the dictionary is full
+     * @return true if a reference was written, false if the string should be written in full
+     */
+    private boolean writeDictionaryRef(int anchorCode, int aliasCode, @NotNull CharSequence cs, boolean force) {
+        String s = cs instanceof String ? (String) cs : WireInternal.INTERNER.intern(cs);
+        int id = dictionaryStrings.idFor(s);
+        if (id >= 0) {
+            writeCode(aliasCode).writeStopBit(id);
+            return true;
+        }
+        id = dictionaryStrings.add(s, force);
+        if (id >= 0)
+            writeCode(anchorCode).writeStopBit(id);
+        return false;
+    }
+
     @Nullable <T extends Appendable & CharSequence> T readText(int code, @NotNull T sb) {
         if (code <= 127) {
             AppendableUtil.append(sb, code);
@@ -1282,6 +1932,18 @@ public class BinaryWire extends AbstractWire implements Wire {
                     case PADDING32:
                         bytes.readSkip(bytes.readUnsignedInt());
                         return readText(bytes.readUnsignedByte(), sb);
+                    case ANCHOR: {
+                        int id = Maths.toUInt31(bytes.readStopBit());
+                        AppendableUtil.setLength(sb, 0);
+                        T text = readText(bytes.readUnsignedByte(), sb);
+                        if (text != null)
+                            dictionaryStrings.put(id, text.toString());
+                        return text;
+                    }
+                    case UPDATED_ALIAS:
+                        AppendableUtil.setLength(sb, 0);
+                        AppendableUtil.append(sb, dictionaryStrings.get(Maths.toUInt31(bytes.readStopBit())));
+                        return sb;
                 }
                 throw unknownCode(code);
 
@@ -1386,6 +2048,32 @@ public class BinaryWire extends AbstractWire implements Wire {
         return bytes.readUtf8(sb) ? sb : null;
     }
 
+    /**
+     * Read the name after a TYPE_PREFIX, which is an anchor or an alias when using a dictionary.
+     */
+    @Nullable
+    StringBuilder readTypeName() {
+        return readTypeName(acquireStringBuilder());
+    }
+
+    @Nullable
+    private StringBuilder readTypeName(@NotNull StringBuilder sb) {
+        int code = peekCode();
+        if (dictionary && (code == ANCHOR || code == UPDATED_ALIAS)) {
+            bytes.uncheckedReadSkipOne();
+            int id = Maths.toUInt31(bytes.readStopBit());
+            if (code == UPDATED_ALIAS) {
+                sb.setLength(0);
+                return sb.append(dictionaryStrings.get(id));
+            }
+            if (!bytes.readUtf8(sb))
+                return null;
+            dictionaryStrings.put(id, sb.toString());
+            return sb;
+        }
+        return bytes.readUtf8(sb) ? sb : null;
+    }
+
     public boolean useSelfDescribingMessage(@NotNull CommonMarshallable object) {
         return overrideSelfDescribing == null ? object.usesSelfDescribingMessage() : overrideSelfDescribing;
     }
@@ -1433,6 +2121,9 @@ public class BinaryWire extends AbstractWire implements Wire {
             } else {
                 if (bytes.retainedHexDumpDescription())
                     bytes.writeHexDumpDescription(s);
+                if (dictionary && BinaryWireDictionary.worthAnchoring(s)
+                        && writeDictionaryRef(ANCHOR, UPDATED_ALIAS, s, false))
+                    return BinaryWire.this;
                 long utflen = AppendableUtil.findUtf8Length(s);
                 if (utflen < 0x20) {
                     bytes.writeUnsignedByte((int) (STRING_0 + utflen)).appendUtf8(s);
@@ -1454,6 +2145,9 @@ public class BinaryWire extends AbstractWire implements Wire {
             } else {
                 if (bytes.retainedHexDumpDescription())
                     bytes.writeHexDumpDescription(s);
+                if (dictionary && BinaryWireDictionary.worthAnchoring(s)
+                        && writeDictionaryRef(ANCHOR, UPDATED_ALIAS, s, false))
+                    return BinaryWire.this;
                 int len = s.length();
                 if (len < 0x20)
                     len = (int) AppendableUtil.findUtf8Length(s);
@@ -1742,6 +2436,118 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        /**
+         * The columns of a batch are always packed as the reader needs to support columns anyway.
+         */
+        @NotNull
+        @Override
+        public <T> WireOut columns(@NotNull Class<T> tClass, @NotNull List<? extends T> ts) {
+            boolean packed = packedArrays;
+            packedArrays = true;
+            try {
+                return ValueOut.super.columns(tClass, ts);
+            } finally {
+                packedArrays = packed;
+            }
+        }
+
+        @Override
+        public WireOut array(char[] array, int length) {
+            if (!packedArrays)
+                return ValueOut.super.array(array, length);
+            return writePackedArray(U16_ARRAY, array, CHAR_ARRAY_BASE, array.length, length, Character.BYTES);
+        }
+
+        @Override
+        public WireOut array(int[] array, int length) {
+            if (!packedArrays)
+                return ValueOut.super.array(array, length);
+            return writePackedArray(I32_ARRAY, array, INT_ARRAY_BASE, array.length, length, Integer.BYTES);
+        }
+
+        @Override
+        public WireOut array(long[] array, int length) {
+            if (varInts)
+                return writeVarIntArray(array, length);
+            if (!packedArrays)
+                return ValueOut.super.array(array, length);
+            return writePackedArray(I64_ARRAY, array, LONG_ARRAY_BASE, array.length, length, Long.BYTES);
+        }
+
+        @Override
+        public WireOut array(float[] array, int length) {
+            if (!packedArrays)
+                return ValueOut.super.array(array, length);
+            return writePackedArray(F32_ARRAY, array, FLOAT_ARRAY_BASE, array.length, length, Float.BYTES);
+        }
+
+        @Override
+        public WireOut array(double[] array, int length) {
+            if (!packedArrays)
+                return ValueOut.super.array(array, length);
+            return writePackedArray(F64_ARRAY, array, DOUBLE_ARRAY_BASE, array.length, length, Double.BYTES);
+        }
+
+        /**
+         * Writes an array of a type which can be packed, if {@link #packedArrays()} is enabled.
+         *
+         * @return true if written, false if the array should be written as a sequence
+         */
+        boolean packedArray(@NotNull Object array) {
+            if (varInts && array instanceof long[]) {
+                array((long[]) array, ((long[]) array).length);
+                return true;
+            }
+            if (!packedArrays)
+                return false;
+            switch (array.getClass().getName()) {
+                case "[C":
+                    array((char[]) array, ((char[]) array).length);
+                    return true;
+                case "[I":
+                    array((int[]) array, ((int[]) array).length);
+                    return true;
+                case "[J":
+                    array((long[]) array, ((long[]) array).length);
+                    return true;
+                case "[F":
+                    array((float[]) array, ((float[]) array).length);
+                    return true;
+                case "[D":
+                    array((double[]) array, ((double[]) array).length);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @NotNull
+        private WireOut writeVarIntArray(long[] array, int length) {
+            if (length < 0 || length > array.length)
+                throw new ArrayIndexOutOfBoundsException(length);
+            if (bytes.retainedHexDumpDescription())
+                bytes.writeHexDumpDescription(stringForCode(VARINT_ARRAY) + " " + length);
+            writeCode(VARINT_ARRAY).writeStopBit(length);
+            VarInts.writeDeltas(bytes, array, length);
+            return BinaryWire.this;
+        }
+
+        @NotNull
+        private WireOut writePackedArray(int code, Object array, int base, int arrayLength, int length, int size) {
+            if (length < 0 || length > arrayLength)
+                throw new ArrayIndexOutOfBoundsException(length);
+            if (bytes.retainedHexDumpDescription())
+                bytes.writeHexDumpDescription(stringForCode(code) + " " + length);
+            writeCode(code);
+            if (code == I64_ARRAY)
+                // the same layout as a LongArrayValues with every element used
+                bytes.writeLong(length).writeLong(length);
+            else
+                bytes.writeStopBit(length);
+            bytes.unsafeWriteObject(array, base, length * size);
+            return BinaryWire.this;
+        }
+
         @NotNull
         @Override
         public WireOut float32(float f) {
@@ -1817,8 +2623,11 @@ public class BinaryWire extends AbstractWire implements Wire {
         public ValueOut typePrefix(CharSequence typeName) {
             if (bytes.retainedHexDumpDescription())
                 bytes.writeHexDumpDescription(typeName);
-            if (typeName != null)
-                writeCode(TYPE_PREFIX).writeUtf8(typeName);
+            if (typeName != null) {
+                writeCode(TYPE_PREFIX);
+                if (!dictionary || !writeDictionaryRef(ANCHOR, UPDATED_ALIAS, typeName, true))
+                    bytes.writeUtf8(typeName);
+            }
             return this;
         }
 
@@ -2068,6 +2877,8 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
 
         void writeNumber(long l) {
+            if (varInts && writeVarInt(l))
+                return;
             switch (Long.numberOfLeadingZeros(l)) {
                 case 64:
                 case 63:
@@ -2146,6 +2957,8 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
 
         void writeNumber(int l) {
+            if (varInts && writeVarInt(l))
+                return;
             switch (Integer.numberOfLeadingZeros(l) + 32) {
                 case 64:
                 case 63:
@@ -2207,6 +3020,24 @@ public class BinaryWire extends AbstractWire implements Wire {
             }
         }
 
+        /**
+         * Writes a VARINT if it is shorter than the fixed width encoding.
+         */
+        private boolean writeVarInt(long l) {
+            // up to UINT16 is three bytes or less which a varint can't beat.
+            if (Short.MIN_VALUE <= l && l <= 0xFFFF)
+                return false;
+            int fixedLength = (Integer.MIN_VALUE <= l && l <= 0xFFFFFFFFL) || (long) (float) l == l ? 1 + 4 : 1 + 8;
+            long zigZag = VarInts.zigZag(l);
+            if (1 + VarInts.length(zigZag) >= fixedLength)
+                return false;
+            if (bytes.retainedHexDumpDescription())
+                bytes.writeHexDumpDescription(Long.toString(l));
+            writeCode(VARINT);
+            VarInts.writeVarInt(bytes, zigZag);
+            return true;
+        }
+
         void writeNumber(float l) {
             boolean canOnlyBeRepresentedAsFloatingPoint = ((long) l) != l;
             if (canOnlyBeRepresentedAsFloatingPoint) {
@@ -2437,6 +3268,126 @@ public class BinaryWire extends AbstractWire implements Wire {
             return stack.curr();
         }
 
+        @Override
+        public int array(char[] array) {
+            if (peekCodeAfterPadding() != U16_ARRAY)
+                return ValueIn.super.array(array);
+            return readPackedArray(array, CHAR_ARRAY_BASE, array.length, Character.BYTES);
+        }
+
+        @Override
+        public int array(int[] array) {
+            if (peekCodeAfterPadding() != I32_ARRAY)
+                return ValueIn.super.array(array);
+            return readPackedArray(array, INT_ARRAY_BASE, array.length, Integer.BYTES);
+        }
+
+        @Override
+        public int array(long[] array) {
+            int code = peekCodeAfterPadding();
+            if (code == VARINT_ARRAY)
+                return readVarIntArray(array);
+            if (code != I64_ARRAY)
+                return ValueIn.super.array(array);
+            return readPackedArray(array, LONG_ARRAY_BASE, array.length, Long.BYTES);
+        }
+
+        @Override
+        public int array(float[] array) {
+            if (peekCodeAfterPadding() != F32_ARRAY)
+                return ValueIn.super.array(array);
+            return readPackedArray(array, FLOAT_ARRAY_BASE, array.length, Float.BYTES);
+        }
+
+        @Override
+        public int array(double[] array) {
+            if (peekCodeAfterPadding() != F64_ARRAY)
+                return ValueIn.super.array(array);
+            return readPackedArray(array, DOUBLE_ARRAY_BASE, array.length, Double.BYTES);
+        }
+
+        /**
+         * Reads a packed array of the component type given, reusing <code>using</code> if it has the same length.
+         *
+         * @return the array, or <code>null</code> if the next value isn't a packed array of this type.
+         */
+        @Nullable
+        Object packedArray(@NotNull Class<?> componentType, @Nullable Object using) {
+            int code = peekCodeAfterPadding();
+            if (code == VARINT_ARRAY && componentType == long.class) {
+                long pos = bytes.readPosition();
+                bytes.uncheckedReadSkipOne();
+                int length = Maths.toUInt31(bytes.readStopBit());
+                bytes.readPosition(pos);
+                long[] array = using instanceof long[] && ((long[]) using).length == length ? (long[]) using : new long[length];
+                readVarIntArray(array);
+                return array;
+            }
+            int base;
+            switch (componentType.getName()) {
+                case "char":
+                    if (code != U16_ARRAY) return null;
+                    base = CHAR_ARRAY_BASE;
+                    break;
+                case "int":
+                    if (code != I32_ARRAY) return null;
+                    base = INT_ARRAY_BASE;
+                    break;
+                case "long":
+                    if (code != I64_ARRAY) return null;
+                    base = LONG_ARRAY_BASE;
+                    break;
+                case "float":
+                    if (code != F32_ARRAY) return null;
+                    base = FLOAT_ARRAY_BASE;
+                    break;
+                case "double":
+                    if (code != F64_ARRAY) return null;
+                    base = DOUBLE_ARRAY_BASE;
+                    break;
+                default:
+                    return null;
+            }
+            long pos = bytes.readPosition();
+            int length;
+            if (code == I64_ARRAY) {
+                length = Maths.toUInt31(bytes.readLong(pos + 1 + 8));
+            } else {
+                bytes.uncheckedReadSkipOne();
+                length = Maths.toUInt31(bytes.readStopBit());
+                bytes.readPosition(pos);
+            }
+            Object array = using != null && using.getClass().getComponentType() == componentType && java.lang.reflect.Array.getLength(using) == length
+                    ? using
+                    : java.lang.reflect.Array.newInstance(componentType, length);
+            readPackedArray(array, base, length, packedElementSize(code));
+            return array;
+        }
+
+        private int readVarIntArray(long[] array) {
+            bytes.uncheckedReadSkipOne();
+            long length = bytes.readStopBit();
+            int n = (int) Math.min(length, array.length);
+            VarInts.readDeltas(bytes, array, n);
+            bytes.readPosition(VarInts.skip(bytes, bytes.readPosition(), length - n));
+            return n;
+        }
+
+        private int readPackedArray(Object array, int base, int arrayLength, int size) {
+            int code = readCode();
+            long capacity, length;
+            if (code == I64_ARRAY) {
+                capacity = bytes.readLong();
+                length = bytes.readLong();
+            } else {
+                capacity = length = bytes.readStopBit();
+            }
+            int n = (int) Math.min(length, arrayLength);
+            bytes.unsafeReadObject(array, base, n * size);
+            bytes.readSkip((capacity - n) * size);
+            return n;
+        }
+
         @NotNull
         @Override
         public BracketType getBracketType() {
@@ -2466,11 +3417,21 @@ public class BinaryWire extends AbstractWire implements Wire {
                 case STRING_ANY:
                     s.accept(bytes.readUtf8());
                     break;
+                case ANCHOR:
+                    s.accept(anchoredText());
+                    break;
+                case UPDATED_ALIAS:
+                    s.accept(aliasedText());
+                    break;
                 default:
                     if (code >= STRING_0 && code <= STRING_31) {
-                        @NotNull StringBuilder sb = acquireStringBuilder();
-                        bytes.parseUtf8(sb, code & 0b11111);
-                        s.accept(WireInternal.INTERNER.intern(sb));
+                        int length = code & 0b11111;
+                        if (SwarDecoder.asciiLength(bytes, bytes.readPosition(), length) == length) {
+                            s.accept(internAscii(length));
+                        } else {
+                            @NotNull StringBuilder sb = acquireStringBuilder();
+                            s.accept(WireInternal.INTERNER.intern(getStringBuilder(code, sb)));
+                        }
 
                     } else {
                         cantRead(code);
@@ -2544,8 +3505,14 @@ public class BinaryWire extends AbstractWire implements Wire {
                     }
                 }
 
+                case ANCHOR:
+                    return anchoredText();
+
+                case UPDATED_ALIAS:
+                    return aliasedText();
+
                 case TYPE_PREFIX: {
-                    @Nullable StringBuilder sb = readUtf8();
+                    @Nullable StringBuilder sb = readTypeName();
                     if (sb != null) {
                         @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                         if (bytes != null)
@@ -2556,6 +3523,11 @@ public class BinaryWire extends AbstractWire implements Wire {
                 }
 
                 default: {
+                    if ((code & 0xE0) == 0xE0) {
+                        int length = code & 0x1f;
+                        if (SwarDecoder.asciiLength(bytes, bytes.readPosition(), length) == length)
+                            return internAscii(length);
+                    }
                     StringBuilder sb = acquireStringBuilder();
                     @Nullable StringBuilder text = ((code & 0xE0) == 0xE0)
                             ? getStringBuilder(code, sb)
@@ -2582,7 +3554,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return BinaryWire.this;
             }
             if (code == TYPE_PREFIX) {
-                @Nullable StringBuilder sb = readUtf8();
+                @Nullable StringBuilder sb = readTypeName();
                 assert sb != null;
 
                 long length2 = readLength();
@@ -2671,7 +3643,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                     return toBytes;
 
                 case TYPE_PREFIX: {
-                    @Nullable StringBuilder sb = readUtf8();
+                    @Nullable StringBuilder sb = readTypeName();
                     @Nullable byte[] bytes = Compression.uncompress(sb, this, ValueIn::bytes);
                     if (bytes != null)
                         return BytesStore.wrap(bytes);
@@ -2763,7 +3735,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             }
 
             if (code == TYPE_PREFIX) {
-                @Nullable StringBuilder sb = readUtf8();
+                @Nullable StringBuilder sb = readTypeName();
                 assert "byte[]".contentEquals(sb);
                 length = readLength();
                 code = readCode();
@@ -2806,8 +3778,7 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                 case TYPE_PREFIX:
                     bytes.uncheckedReadSkipOne();
-                    long len = bytes.readStopBit();
-                    bytes.readSkip(len);
+                    readTypeName(SBP.acquireStringBuilder());
                     return readLength();
                 case FALSE:
                 case TRUE:
@@ -2874,6 +3845,34 @@ public class BinaryWire extends AbstractWire implements Wire {
                     return 1 + 2 * 8 + (capacity * Long.BYTES);
                 }
 
+                case VARINT:
+                    return VarInts.skip(bytes, bytes.readPosition() + 1, 1) - bytes.readPosition();
+
+                case VARINT_ARRAY: {
+                    long pos0 = bytes.readPosition();
+                    try {
+                        bytes.uncheckedReadSkipOne();
+                        long length = bytes.readStopBit();
+                        return VarInts.skip(bytes, bytes.readPosition(), length) - pos0;
+                    } finally {
+                        bytes.readPosition(pos0);
+                    }
+                }
+
+                case U16_ARRAY:
+                case I32_ARRAY:
+                case F32_ARRAY:
+                case F64_ARRAY: {
+                    long pos0 = bytes.readPosition();
+                    try {
+                        bytes.uncheckedReadSkipOne();
+                        long length = bytes.readStopBit();
+                        return bytes.readPosition() - pos0 + length * packedElementSize(code);
+                    } finally {
+                        bytes.readPosition(pos0);
+                    }
+                }
+
                 case -1:
                     return 0;
 
@@ -2888,6 +3887,8 @@ public class BinaryWire extends AbstractWire implements Wire {
         @NotNull
         @Override
         public WireIn skipValue() {
+            if (dictionary && skipValueReadingAnchors())
+                return BinaryWire.this;
             final long length = readLength();
             if (length < 0)
                 object();
@@ -2897,6 +3898,15 @@ public class BinaryWire extends AbstractWire implements Wire {
             return BinaryWire.this;
         }
 
+        @Override
+        public void skipRestOfSequence(int remaining) {
+            // the read limit is the end of the sequence
+            if (dictionary)
+                readAnchors(bytes.readLimit());
+            else
+                bytes.readPosition(bytes.readLimit());
+        }
+
         @NotNull
         @Override
         public <T> WireIn bool(T t, @NotNull ObjBooleanConsumer<T> tFlag) {
@@ -3263,7 +4273,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 tReader.accept(t, this);
             } finally {
                 bytes.readLimit(limit);
-                bytes.readPosition(limit2);
+                readTo(limit2);
             }
             return true;
         }
@@ -3294,7 +4304,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 tReader.accept(this, list, buffer, bufferAdd);
             } finally {
                 bytes.readLimit(limit);
-                bytes.readPosition(limit2);
+                readTo(limit2);
             }
             return true;
         }
@@ -3312,7 +4322,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 tReader.accept(t, kls, this);
             } finally {
                 bytes.readLimit(limit);
-                bytes.readPosition(limit2);
+                readTo(limit2);
             }
             return BinaryWire.this;
         }
@@ -3347,7 +4357,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return tReader.applyAsInt(this, t);
             } finally {
                 bytes.readLimit(limit);
-                bytes.readPosition(limit2);
+                readTo(limit2);
             }
         }
 
@@ -3365,7 +4375,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                         return marshallableReader.apply(BinaryWire.this);
                     } finally {
                         bytes.readLimit(limit);
-                        bytes.readPosition(limit2);
+                        readTo(limit2);
                     }
                 } else {
                     return marshallableReader.apply(BinaryWire.this);
@@ -3411,7 +4421,7 @@ public class BinaryWire extends AbstractWire implements Wire {
 
         @Nullable
         protected <T> T typedMarshallable0() {
-            @Nullable StringBuilder sb = readUtf8();
+            @Nullable StringBuilder sb = readTypeName();
             if (sb == null)
                 return null;
             // its possible that the object that you are allocating may not have a
@@ -3433,12 +4443,27 @@ public class BinaryWire extends AbstractWire implements Wire {
 
         @NotNull
         protected <T> T updateAlias() {
-            throw new UnsupportedOperationException("Used by DeltaWire");
+            return (T) aliasedText();
         }
 
         @NotNull
         protected <T> T anchor() {
-            throw new UnsupportedOperationException("Used by DeltaWire");
+            return (T) anchoredText();
+        }
+
+        @NotNull
+        private String anchoredText() {
+            int id = Maths.toUInt31(bytes.readStopBit());
+            String text = text();
+            if (text == null)
+                throw new IllegalStateException("Expected text for dictionary id: " + id);
+            dictionaryStrings.put(id, text);
+            return text;
+        }
+
+        @NotNull
+        private String aliasedText() {
+            return dictionaryStrings.get(Maths.toUInt31(bytes.readStopBit()));
         }
 
         @Override
@@ -3468,7 +4493,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return null;
             }
             bytes.uncheckedReadSkipOne();
-            @Nullable StringBuilder sb = readUtf8();
+            @Nullable StringBuilder sb = readTypeName();
 
             try {
                 return classLookup().forName(sb);
@@ -3485,7 +4510,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                 return null;
             }
             bytes.uncheckedReadSkipOne();
-            @Nullable StringBuilder sb = readUtf8();
+            @Nullable StringBuilder sb = readTypeName();
 
             try {
                 return sb == null ? null : classLookup().forName(sb);
@@ -3505,7 +4530,7 @@ public class BinaryWire extends AbstractWire implements Wire {
             int code = readCode();
             switch (code) {
                 case TYPE_PREFIX:
-                    bytes.readUtf8(sb);
+                    readTypeName(sb);
 
                     break;
                 case NULL:
@@ -3591,7 +4616,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                     }
                 } finally {
                     bytes.readLimit(limit);
-                    bytes.readPosition(limit2);
+                    readTo(limit2);
                     popState();
                 }
             } else {
@@ -3632,7 +4657,7 @@ public class BinaryWire extends AbstractWire implements Wire {
 
                 } finally {
                     bytes.readLimit(limit);
-                    bytes.readPosition(limit2);
+                    readTo(limit2);
                     popState();
                 }
             } else {
@@ -3673,7 +4698,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                     return Demarshallable.newInstance(clazz, wireIn());
                 } finally {
                     bytes.readLimit(limit);
-                    bytes.readPosition(limit2);
+                    readTo(limit2);
                 }
             } else {
                 return Demarshallable.newInstance(clazz, wireIn());
@@ -3895,6 +4920,13 @@ public class BinaryWire extends AbstractWire implements Wire {
                                 }
                             }
                         }
+                        case U16_ARRAY:
+                            return packedArray(char.class, using);
+                        case I32_ARRAY:
+                            return packedArray(int.class, using);
+                        case VARINT_ARRAY:
+                            return packedArray(long.class, using);
+
                         case U8_ARRAY: {
                             bytes.uncheckedReadSkipOne();
                             long length = bytes.readRemaining();
@@ -3927,7 +4959,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                             return text();
                         case TYPE_PREFIX: {
                             readCode();
-                            @Nullable StringBuilder sb = readUtf8();
+                            @Nullable StringBuilder sb = readTypeName();
                             final Class clazz2 = classLookup().forName(sb);
                             return object(null, clazz2);
                         }
@@ -3959,6 +4991,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                     break;
 
                 case BinaryWireHighCode.FLOAT:
+                    if (code == F32_ARRAY)
+                        return packedArray(float.class, using);
+                    if (code == F64_ARRAY)
+                        return packedArray(double.class, using);
                     bytes.uncheckedReadSkipOne();
                     return readFloat0bject(code);
 
@@ -3991,7 +5027,7 @@ public class BinaryWire extends AbstractWire implements Wire {
         }
 
         private boolean isEvent(int code) {
-            return code == EVENT_NAME || (FIELD_NAME0 <= code && code <= FIELD_NAME31);
+            return code == EVENT_NAME || code == FIELD_ANCHOR || (FIELD_NAME0 <= code && code <= FIELD_NAME31);
         }
 
         void consumeNext() {
@@ -4000,6 +5036,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                 bytes.uncheckedReadSkipOne();
                 return;
             }
+            if (dictionary && (code == BYTES_LENGTH8 || code == BYTES_LENGTH16 || code == BYTES_LENGTH32)) {
+                skipValueReadingAnchors();
+                return;
+            }
             switch (code >> 4) {
                 case BinaryWireHighCode.CONTROL:
                     switch (code) {
@@ -4026,6 +5066,12 @@ public class BinaryWire extends AbstractWire implements Wire {
                             bytes.readSkip(1);
                             readFieldAnchor(acquireStringBuilder());
                             return;
+                        case U16_ARRAY:
+                        case I32_ARRAY:
+                        case I64_ARRAY:
+                        case VARINT_ARRAY:
+                            bytes.readSkip(readLength());
+                            return;
                         default:
                             Jvm.warn().on(getClass(), "reading control code as text");
                     }
@@ -4042,7 +5088,7 @@ public class BinaryWire extends AbstractWire implements Wire {
                             return;
                         case TYPE_PREFIX: {
                             readCode();
-                            readUtf8();
+                            readTypeName();
                             consumeNext();
                             return;
                         }
@@ -4050,6 +5096,10 @@ public class BinaryWire extends AbstractWire implements Wire {
                     break;
 
                 case BinaryWireHighCode.FLOAT:
+                    if (code == F32_ARRAY || code == F64_ARRAY) {
+                        bytes.readSkip(readLength());
+                        return;
+                    }
                     bytes.uncheckedReadSkipOne();
                     if (code < 128 && code >= 0) {
                         return;
@@ -4111,6 +5161,9 @@ public class BinaryWire extends AbstractWire implements Wire {
                         case INT64_0x:
                             bytes.readLong();
                             return;
+                        case VARINT:
+                            VarInts.readVarInt(bytes);
+                            return;
                     }
                     throw new UnsupportedOperationException(stringForCode(code));
             }
@@ -34,6 +34,8 @@ public enum BinaryWireCode {
     public static final int BYTES_LENGTH32 = 0x82;
     // sequence of length 0 - 255
 //        public static final int BYTES_LENGTH64 = 0x83;
+    // a stop bit length followed by the zig-zag varint difference of each long to the one before
+    public static final int VARINT_ARRAY = 0x84;
 
     public static final int BYTES_MARSHALLABLE = 0x86; // explicitly BytesMarshallable.
     public static final int FIELD_ANCHOR = 0x87;
@@ -42,8 +44,9 @@ public enum BinaryWireCode {
 
     // an array of unsigned bytes
     public static final int U8_ARRAY = 0x8A;
-    //        public static final int U16_ARRAY = 0x8B;
-//        public static final int I32_ARRAY = 0x8C;
+    // a stop bit length followed by packed elements
+    public static final int U16_ARRAY = 0x8B;
+    public static final int I32_ARRAY = 0x8C;
     public static final int I64_ARRAY = 0x8D;
     public static final int PADDING32 = 0x8E;
     public static final int PADDING = 0x8F;
@@ -56,7 +59,10 @@ public enum BinaryWireCode {
     public static final int FLOAT_SET_LOW_0 = 0x9A;
     public static final int FLOAT_SET_LOW_2 = 0x9B;
     public static final int FLOAT_SET_LOW_4 = 0x9C;
-    // 0x98 - 0x9F
+    // a stop bit length followed by packed elements
+    public static final int F32_ARRAY = 0x98;
+    public static final int F64_ARRAY = 0x99;
+    // 0x9D - 0x9F
 
     public static final int UUID = 0xA0;
     public static final int UINT8 = 0xA1;
@@ -68,7 +74,8 @@ public enum BinaryWireCode {
     public static final int INT64 = 0xA7;
     public static final int SET_LOW_INT8 = 0xA8;
     public static final int SET_LOW_INT16 = 0xA9;
-    //    public static final int FIXED_5 = 0xAA;
+    // a zig-zag LEB128 varint
+    public static final int VARINT = 0xAA;
 //    public static final int FIXED_4 = 0xAB;
 //    public static final int FIXED_3 = 0xAC;
 //    public static final int FIXED_2 = 0xAD;
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The strings a BinaryWire has anchored so far, for the lifetime of a connection or file.
+ * The writer assigns the ids, the reader records them as it reads the anchors.
+ */
+final class BinaryWireDictionary {
+    // ids up to this size are two bytes as a stop bit encoded number.
+    static final int MAX_SIZE = 1 << 14;
+    // ids kept for type prefixes, which are always anchored so they can be told apart from a type name.
+    static final int TYPE_PREFIX_IDS = 1 << 10;
+    // shorter strings are no larger written in full.
+    static final int MIN_LENGTH = 3;
+    // longer text is unlikely to repeat.
+    static final int MAX_TEXT_LENGTH = 128;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    // the dictionary of the wire which reads the anchors, when this one only resolves them.
+    @Nullable
+    private final BinaryWireDictionary source;
+    // volatile as a dictionary which resolves ids with this one can be on another thread, see source.
+    private volatile String[] strings = new String[64];
+    // the strings read from content which might not be wire values, added once it is known they are, or -1 if not.
+    private int pendingSize = -1;
+    private int[] pendingIds = {};
+    private String[] pendingStrings = {};
+
+    BinaryWireDictionary() {
+        this(null);
+    }
+
+    /**
+     * @param source the dictionary to resolve ids with, which this one doesn't add to, or null for its own.
+     */
+    BinaryWireDictionary(@Nullable BinaryWireDictionary source) {
+        this.source = source;
+    }
+
+    @Nullable
+    BinaryWireDictionary source() {
+        return source;
+    }
+
+    static boolean worthAnchoring(@NotNull CharSequence text) {
+        int length = text.length();
+        return MIN_LENGTH <= length && length <= MAX_TEXT_LENGTH;
+    }
+
+    /**
+     * @return the id of a string written before, or -1 if it hasn't been.
+     */
+    int idFor(@NotNull String s) {
+        Integer id = ids.get(s);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param force add a type prefix, which can use the ids kept for them
+     * @return the id for a string not written before, or -1 if the dictionary is full.
+     * @throws IllegalStateException if a type prefix is forced when there are no ids left.
+     */
+    int add(@NotNull String s, boolean force) {
+        int id = ids.size();
+        if (id >= MAX_SIZE - TYPE_PREFIX_IDS) {
+            if (!force)
+                return -1;
+            if (id >= MAX_SIZE)
+                throw new IllegalStateException("The dictionary is full, clearDictionary() before writing more type prefixes");
+        }
+        ids.put(s, id);
+        put(id, s);
+        return id;
+    }
+
+    /**
+     * @return the number of strings written, to {@link #truncate(int)} to later.
+     */
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Forget the strings written after the first <code>size</code>, e.g. in a document which was rolled back.
+     */
+    void truncate(int size) {
+        for (int id = ids.size() - 1; id >= size; id--)
+            ids.remove(strings[id]);
+    }
+
+    void put(int id, @NotNull String s) {
+        if (id < 0 || id >= MAX_SIZE)
+            throw new IllegalStateException("Dictionary id out of range: " + id);
+        if (source != null)
+            return;
+        if (pendingSize < 0) {
+            store(id, s);
+            return;
+        }
+        if (pendingSize == pendingIds.length) {
+            pendingIds = Arrays.copyOf(pendingIds, Math.max(8, pendingSize * 2));
+            pendingStrings = Arrays.copyOf(pendingStrings, pendingIds.length);
+        }
+        pendingIds[pendingSize] = id;
+        pendingStrings[pendingSize++] = s;
+    }
+
+    private void store(int id, @NotNull String s) {
+        String[] strings = this.strings;
+        if (id >= strings.length)
+            this.strings = strings = Arrays.copyOf(strings, Math.max(strings.length * 2, id + 1));
+        strings[id] = s;
+    }
+
+    @NotNull
+    String get(int id) {
+        if (source != null)
+            return source.get(id);
+        for (int i = pendingSize - 1; i >= 0; i--)
+            if (pendingIds[i] == id)
+                return pendingStrings[i];
+        String[] strings = this.strings;
+        String s = id < strings.length ? strings[id] : null;
+        if (s == null)
+            throw new IllegalStateException("Unknown dictionary id: " + id);
+        return s;
+    }
+
+    void clear() {
+        ids.clear();
+        Arrays.fill(strings, null);
+    }
+
+    /**
+     * Hold back the strings put from now on until {@link #endPending(int, boolean)}, though they can be got.
+     *
+     * @return the mark to end at, which is negative for the outermost call.
+     */
+    int startPending() {
+        if (pendingSize >= 0)
+            return pendingSize;
+        pendingSize = 0;
+        return -1;
+    }
+
+    /**
+     * @param mark from {@link #startPending()}
+     * @param keep keep the strings put since the mark, or drop them
+     */
+    void endPending(int mark, boolean keep) {
+        if (!keep) {
+            int to = Math.max(0, mark);
+            Arrays.fill(pendingStrings, to, pendingSize, null);
+            pendingSize = to;
+        }
+        if (mark < 0) {
+            for (int i = 0; i < pendingSize; i++)
+                store(pendingIds[i], pendingStrings[i]);
+            Arrays.fill(pendingStrings, 0, pendingSize, null);
+            pendingSize = -1;
+        }
+    }
+}
@@ -32,6 +32,7 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
     private int metaDataBit;
     private volatile boolean notComplete;
     private boolean chainedElement;
+    private boolean rollback;
 
     public BinaryWriteDocumentContext(Wire wire) {
         this.wire = wire;
@@ -52,6 +53,9 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
         bytes.writeInt(tmpHeader);
         notComplete = true;
         chainedElement = false;
+        rollback = false;
+        if (wire instanceof BinaryWire)
+            ((BinaryWire) wire).startDictionaryDocument();
     }
 
     @Override
@@ -64,6 +68,15 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
         tmpHeader = 0;
         notComplete = false;
         chainedElement = false;
+        rollback = false;
+    }
+
+    /**
+     * Subclasses which discard the document should call this, so anchors written in it are forgotten.
+     */
+    @Override
+    public void rollbackOnClose() {
+        rollback = true;
     }
 
     @Override
@@ -83,6 +96,13 @@ public class BinaryWriteDocumentContext implements WriteDocumentContext {
             return;
         if (checkResetOpened())
             return;
+        if (wire instanceof BinaryWire) {
+            BinaryWire binaryWire = (BinaryWire) wire;
+            if (rollback)
+                binaryWire.rollbackDictionary();
+            binaryWire.writeFieldIndex(position + 4);
+            binaryWire.writeChecksum(position + 4);
+        }
         @NotNull Bytes<?> bytes = wire().bytes();
         long position1 = bytes.writePosition();
 //        if (position1 < position)
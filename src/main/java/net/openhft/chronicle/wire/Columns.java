@@ -0,0 +1,356 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.util.ObjectUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.openhft.chronicle.core.UnsafeMemory.*;
+
+/**
+ * The columnar encoding of a batch of objects of the same class, see {@link ValueOut#columns(Class, List)}
+ * <p>
+ * A batch is a marshallable of <code>rows</code> followed by one column per field, in field order.
+ * <ul>
+ *     <li>byte, short, int, char, long, float and double fields are arrays of the values,
+ *     packed by BinaryWire</li>
+ *     <li>boolean fields are the lengths of each run of the same value, starting with false</li>
+ *     <li>String fields are a <code>dict</code> of the distinct values and the <code>ids</code> for each row,
+ *     -1 for null</li>
+ *     <li>enum fields are a <code>dict</code> of the names and <code>runs</code> of id and length</li>
+ *     <li>any other field is a sequence of the values</li>
+ * </ul>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+enum Columns {
+    ; // none
+
+    static final String ROWS = "rows";
+    static final String DICT = "dict";
+    static final String IDS = "ids";
+    static final String RUNS = "runs";
+
+    static <T> void write(@NotNull WireMarshaller<T> marshaller, @NotNull List<? extends T> ts, @NotNull WireOut out) {
+        int rows = ts.size();
+        out.write(ROWS).int32(rows);
+        for (WireMarshaller.FieldAccess field : marshaller.fields)
+            writeColumn(field, ts, rows, out.write(field.key));
+    }
+
+    static <T> void read(@NotNull WireMarshaller<T> marshaller, @NotNull Class<T> tClass, @NotNull List<T> ts, @NotNull WireIn in) {
+        int rows = in.read(ROWS).int32();
+        while (ts.size() > rows)
+            ts.remove(ts.size() - 1);
+        for (int i = 0; i < rows; i++) {
+            if (i == ts.size())
+                ts.add(ObjectUtils.newInstance(tClass));
+            else if (ts.get(i) == null)
+                ts.set(i, ObjectUtils.newInstance(tClass));
+        }
+        StringBuilder sb = WireMarshaller.SBP.acquireStringBuilder();
+        while (in.hasMore()) {
+            ValueIn vin = in.read(sb);
+            WireMarshaller.FieldAccess field = marshaller.fieldMap.get(sb);
+            if (field == null)
+                vin.skipValue();
+            else
+                readColumn(field, ts, rows, vin);
+        }
+    }
+
+    /**
+     * Reads one column as longs, skipping the others.
+     *
+     * @return the values, or null if there is no such column
+     * @throws IllegalArgumentException if the field isn't an integer or boolean
+     */
+    @Nullable
+    static long[] readLongs(@NotNull WireMarshaller<?> marshaller, @NotNull String column, @NotNull WireIn in) {
+        WireMarshaller.FieldAccess field = marshaller.fieldMap.get(column);
+        if (field == null)
+            return null;
+        Class<?> type = field.field.getType();
+        int rows = in.read(ROWS).int32();
+        ValueIn vin = findColumn(column, in);
+        if (vin == null)
+            return null;
+        long[] longs = new long[rows];
+        if (type == long.class) {
+            vin.array(longs);
+
+        } else if (type == int.class || type == short.class || type == byte.class) {
+            int[] ints = new int[rows];
+            vin.array(ints);
+            for (int i = 0; i < rows; i++)
+                longs[i] = ints[i];
+
+        } else if (type == char.class) {
+            char[] chars = new char[rows];
+            vin.array(chars);
+            for (int i = 0; i < rows; i++)
+                longs[i] = chars[i];
+
+        } else if (type == boolean.class) {
+            int[] runs = new int[rows + 1];
+            int count = vin.array(runs);
+            for (int r = 0, i = 0; r < count; r++)
+                for (int j = 0; j < runs[r] && i < rows; j++)
+                    longs[i++] = r & 1;
+
+        } else {
+            throw new IllegalArgumentException("Column " + column + " of " + type.getName() + " can't be read as a long");
+        }
+        return longs;
+    }
+
+    /**
+     * Reads one column as doubles, skipping the others.
+     *
+     * @return the values, or null if there is no such column
+     * @throws IllegalArgumentException if the field isn't a number
+     */
+    @Nullable
+    static double[] readDoubles(@NotNull WireMarshaller<?> marshaller, @NotNull String column, @NotNull WireIn in) {
+        WireMarshaller.FieldAccess field = marshaller.fieldMap.get(column);
+        if (field == null)
+            return null;
+        Class<?> type = field.field.getType();
+        if (type != double.class && type != float.class) {
+            long[] longs = readLongs(marshaller, column, in);
+            if (longs == null)
+                return null;
+            double[] doubles = new double[longs.length];
+            for (int i = 0; i < longs.length; i++)
+                doubles[i] = longs[i];
+            return doubles;
+        }
+        int rows = in.read(ROWS).int32();
+        ValueIn vin = findColumn(column, in);
+        if (vin == null)
+            return null;
+        double[] doubles = new double[rows];
+        if (type == double.class) {
+            vin.array(doubles);
+        } else {
+            float[] floats = new float[rows];
+            vin.array(floats);
+            for (int i = 0; i < rows; i++)
+                doubles[i] = floats[i];
+        }
+        return doubles;
+    }
+
+    @Nullable
+    private static ValueIn findColumn(@NotNull String column, @NotNull WireIn in) {
+        StringBuilder sb = WireMarshaller.SBP.acquireStringBuilder();
+        while (in.hasMore()) {
+            ValueIn vin = in.read(sb);
+            if (column.contentEquals(sb))
+                return vin;
+            vin.skipValue();
+        }
+        return null;
+    }
+
+    private static <T> void writeColumn(@NotNull WireMarshaller.FieldAccess field, @NotNull List<? extends T> ts, int rows, @NotNull ValueOut out) {
+        Class<?> type = field.field.getType();
+        long offset = field.offset;
+        if (type == long.class) {
+            long[] longs = new long[rows];
+            for (int i = 0; i < rows; i++)
+                longs[i] = unsafeGetLong(ts.get(i), offset);
+            out.array(longs, rows);
+
+        } else if (type == int.class || type == short.class || type == byte.class) {
+            int[] ints = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                Object t = ts.get(i);
+                ints[i] = type == int.class ? unsafeGetInt(t, offset)
+                        : type == short.class ? unsafeGetShort(t, offset)
+                        : unsafeGetByte(t, offset);
+            }
+            out.array(ints, rows);
+
+        } else if (type == char.class) {
+            char[] chars = new char[rows];
+            for (int i = 0; i < rows; i++)
+                chars[i] = unsafeGetChar(ts.get(i), offset);
+            out.array(chars, rows);
+
+        } else if (type == double.class) {
+            double[] doubles = new double[rows];
+            for (int i = 0; i < rows; i++)
+                doubles[i] = unsafeGetDouble(ts.get(i), offset);
+            out.array(doubles, rows);
+
+        } else if (type == float.class) {
+            float[] floats = new float[rows];
+            for (int i = 0; i < rows; i++)
+                floats[i] = unsafeGetFloat(ts.get(i), offset);
+            out.array(floats, rows);
+
+        } else if (type == boolean.class) {
+            int[] runs = new int[rows + 1];
+            int count = 0, run = 0;
+            boolean current = false;
+            for (int i = 0; i < rows; i++) {
+                boolean b = unsafeGetBoolean(ts.get(i), offset);
+                if (b != current) {
+                    runs[count++] = run;
+                    run = 0;
+                    current = b;
+                }
+                run++;
+            }
+            runs[count++] = run;
+            out.array(runs, count);
+
+        } else if (type == String.class) {
+            Map<String, Integer> dict = new LinkedHashMap<>();
+            int[] ids = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                String s = (String) unsafeGetObject(ts.get(i), offset);
+                ids[i] = s == null ? -1 : dict.computeIfAbsent(s, k -> dict.size());
+            }
+            out.marshallable(w -> {
+                w.write(DICT).sequence(dict.keySet(), (keys, v) -> keys.forEach(v::text));
+                w.write(IDS).array(ids, rows);
+            });
+
+        } else if (type.isEnum()) {
+            Map<Enum<?>, Integer> dict = new LinkedHashMap<>();
+            int[] runs = new int[rows * 2];
+            int count = 0;
+            for (int i = 0; i < rows; i++) {
+                Enum<?> e = (Enum<?>) unsafeGetObject(ts.get(i), offset);
+                int id = e == null ? -1 : dict.computeIfAbsent(e, k -> dict.size());
+                if (count > 0 && runs[count - 2] == id) {
+                    runs[count - 1]++;
+                } else {
+                    runs[count++] = id;
+                    runs[count++] = 1;
+                }
+            }
+            int length = count;
+            out.marshallable(w -> {
+                w.write(DICT).sequence(dict.keySet(), (keys, v) -> keys.forEach(e -> v.text(e.name())));
+                w.write(RUNS).array(runs, length);
+            });
+
+        } else {
+            out.sequence(ts, (list, v) -> {
+                for (int i = 0; i < rows; i++)
+                    v.object((Class) type, unsafeGetObject(list.get(i), offset));
+            });
+        }
+    }
+
+    private static <T> void readColumn(@NotNull WireMarshaller.FieldAccess field, @NotNull List<T> ts, int rows, @NotNull ValueIn in) {
+        Class<?> type = field.field.getType();
+        long offset = field.offset;
+        if (type == long.class) {
+            long[] longs = new long[rows];
+            in.array(longs);
+            for (int i = 0; i < rows; i++)
+                unsafePutLong(ts.get(i), offset, longs[i]);
+
+        } else if (type == int.class || type == short.class || type == byte.class) {
+            int[] ints = new int[rows];
+            in.array(ints);
+            for (int i = 0; i < rows; i++) {
+                Object t = ts.get(i);
+                if (type == int.class)
+                    unsafePutInt(t, offset, ints[i]);
+                else if (type == short.class)
+                    unsafePutShort(t, offset, (short) ints[i]);
+                else
+                    unsafePutByte(t, offset, (byte) ints[i]);
+            }
+
+        } else if (type == char.class) {
+            char[] chars = new char[rows];
+            in.array(chars);
+            for (int i = 0; i < rows; i++)
+                unsafePutChar(ts.get(i), offset, chars[i]);
+
+        } else if (type == double.class) {
+            double[] doubles = new double[rows];
+            in.array(doubles);
+            for (int i = 0; i < rows; i++)
+                unsafePutDouble(ts.get(i), offset, doubles[i]);
+
+        } else if (type == float.class) {
+            float[] floats = new float[rows];
+            in.array(floats);
+            for (int i = 0; i < rows; i++)
+                unsafePutFloat(ts.get(i), offset, floats[i]);
+
+        } else if (type == boolean.class) {
+            int[] runs = new int[rows + 1];
+            int count = in.array(runs);
+            for (int r = 0, i = 0; r < count; r++)
+                for (int j = 0; j < runs[r] && i < rows; j++)
+                    unsafePutBoolean(ts.get(i++), offset, (r & 1) != 0);
+
+        } else if (type == String.class) {
+            List<String> dict = new ArrayList<>();
+            int[] ids = new int[rows];
+            in.marshallable(w -> {
+                w.read(DICT).sequence(dict, (list, v) -> {
+                    while (v.hasNextSequenceItem())
+                        list.add(v.text());
+                });
+                w.read(IDS).array(ids);
+            });
+            for (int i = 0; i < rows; i++)
+                unsafePutObject(ts.get(i), offset, ids[i] < 0 ? null : dict.get(ids[i]));
+
+        } else if (type.isEnum()) {
+            List<Enum<?>> dict = new ArrayList<>();
+            int[] runs = new int[rows * 2];
+            int[] count = {0};
+            in.marshallable(w -> {
+                w.read(DICT).sequence(dict, (list, v) -> {
+                    while (v.hasNextSequenceItem())
+                        list.add(Enum.valueOf((Class) type, v.text()));
+                });
+                count[0] = w.read(RUNS).array(runs);
+            });
+            for (int r = 0, i = 0; r + 1 < count[0]; r += 2) {
+                Enum<?> e = runs[r] < 0 ? null : dict.get(runs[r]);
+                for (int j = 0; j < runs[r + 1] && i < rows; j++)
+                    unsafePutObject(ts.get(i++), offset, e);
+            }
+
+        } else {
+            in.sequence(ts, (list, v) -> {
+                for (int i = 0; i < rows && v.hasNextSequenceItem(); i++) {
+                    Object t = list.get(i);
+                    unsafePutObject(t, offset, v.object(unsafeGetObject(t, offset), type));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodId;
+import net.openhft.chronicle.bytes.MethodWriterBuilder;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.util.Annotations;
+import net.openhft.chronicle.wire.channel.ChronicleChannel;
+import net.openhft.chronicle.wire.channel.EventPoller;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MarshallableOut} which keeps only the latest call of a method for each value of its {@link ConflationKey}
+ * argument, e.g. the latest price for each instrument. Each key has a slot off heap holding its latest message,
+ * and {@link #flush()} writes only the keys updated since the last flush, so the bandwidth used is bounded
+ * by the number of keys, and a slow consumer doesn't hold up the writer.
+ * <p>
+ * Calls to methods without a key, and metadata, are written by the next flush, in the order they were made.
+ * The latest message for a key is written where the key was first updated since the last flush,
+ * so a call without a key, e.g. a reset, is still written after the updates made before it.
+ * <p>
+ * One thread can write to the method writers of this, while another flushes e.g. on a timer, or as the
+ * {@link EventPoller} of a channel.
+ */
+public class ConflatingMarshallableOut extends AbstractCloseable implements MarshallableOut, EventPoller {
+    private final MarshallableOut out;
+    private final WireType wireType;
+    private final Wire wire;
+    private final ConflatingDocumentContext context = new ConflatingDocumentContext();
+
+    // by method, in the order of the names
+    private final List<String> names = new ArrayList<>();
+    private final List<Long> methodIds = new ArrayList<>();
+    private final int[] keyArgs;
+    private final int[] argCounts;
+    @Nullable
+    private final FieldNameLookup lookup;
+
+    // latest message by key, open addressed on the hash of the key
+    private Slot[] slots = new Slot[16];
+    private int slotCount = 0;
+    // the messages to flush in order, the slot of a key, or null for the next message without a key
+    private final List<Slot> pending = new ArrayList<>();
+    // messages without a key as [metaData][length][message]
+    private final Bytes<?> passThrough = Bytes.allocateElasticOnHeap();
+    private final Bytes<?> flushBuffer = Bytes.allocateElasticOnHeap();
+    // the event name and key argument of the message being conflated
+    private final Bytes<?> key = Bytes.allocateElasticOnHeap();
+
+    private int keyArg;
+    private int argCount;
+    private long keyStart;
+    private long keyEnd;
+
+    /**
+     * @param out        to flush to
+     * @param wireType   of the out
+     * @param interfaces with methods which have a {@link ConflationKey}
+     */
+    public ConflatingMarshallableOut(@NotNull MarshallableOut out, @NotNull WireType wireType, @NotNull Class<?>... interfaces) {
+        this.out = out;
+        this.wireType = wireType;
+        this.wire = wireType.apply(Bytes.allocateElasticOnHeap());
+        // each message is copied on its own, so can't refer to an earlier one
+        if (wire instanceof BinaryWire)
+            ((BinaryWire) wire).dictionary(false);
+        passThrough.singleThreadedCheckDisabled(true);
+        flushBuffer.singleThreadedCheckDisabled(true);
+        key.singleThreadedCheckDisabled(true);
+        singleThreadedCheckDisabled(true);
+
+        List<Integer> keyArgList = new ArrayList<>();
+        List<Integer> argCountList = new ArrayList<>();
+        for (Class<?> anInterface : interfaces) {
+            for (Method m : anInterface.getMethods()) {
+                int key = keyArg(m);
+                if (key < 0 || names.contains(m.getName()))
+                    continue;
+                names.add(m.getName());
+                MethodId methodId = Annotations.getAnnotation(m, MethodId.class);
+                methodIds.add(methodId == null ? Long.MIN_VALUE : methodId.value());
+                keyArgList.add(key);
+                argCountList.add(m.getParameterCount());
+            }
+        }
+        if (names.isEmpty())
+            throw new IllegalArgumentException("No method has an argument with @" + ConflationKey.class.getSimpleName());
+        keyArgs = keyArgList.stream().mapToInt(Integer::intValue).toArray();
+        argCounts = argCountList.stream().mapToInt(Integer::intValue).toArray();
+        lookup = FieldNameLookup.of(names.toArray(new String[0]));
+    }
+
+    private static int keyArg(Method m) {
+        Annotation[][] annotations = m.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++)
+            for (Annotation a : annotations[i])
+                if (a instanceof ConflationKey)
+                    return i;
+        return -1;
+    }
+
+    private static long hash(Bytes<?> bytes, long offset, int length) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < length; i++)
+            h = (h ^ bytes.readUnsignedByte(offset + i)) * 0x100000001B3L;
+        return h ^ (h >>> 29);
+    }
+
+    private static void skipToKeyEnd(ConflatingMarshallableOut c, ValueIn v) {
+        for (int i = 0; i < c.keyArg; i++)
+            v.skipValue();
+        c.keyStart = v.wireIn().bytes().readPosition();
+        v.skipValue();
+        c.keyEnd = v.wireIn().bytes().readPosition();
+        v.skipRestOfSequence(c.argCount - c.keyArg - 1);
+    }
+
+    @NotNull
+    @Override
+    public <T> MethodWriterBuilder<T> methodWriterBuilder(boolean metaData, @NotNull Class<T> tClass) {
+        VanillaMethodWriterBuilder<T> builder = new VanillaMethodWriterBuilder<>(tClass,
+                wireType,
+                () -> new BinaryMethodWriterInvocationHandler(tClass, metaData, this));
+        builder.marshallableOut(this);
+        builder.metaData(metaData);
+        return builder;
+    }
+
+    @Override
+    public DocumentContext writingDocument(boolean metaData) {
+        throwExceptionIfClosed();
+
+        context.start(metaData);
+        return context;
+    }
+
+    @Override
+    public DocumentContext acquireWritingDocument(boolean metaData) {
+        if (context.isOpen() && context.chainedElement())
+            return context;
+        return writingDocument(metaData);
+    }
+
+    /**
+     * Message history isn't recorded as only the latest message for each key is kept.
+     */
+    @Override
+    public boolean recordHistory() {
+        return false;
+    }
+
+    /**
+     * @return the number of messages to be written by the next flush.
+     */
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    /**
+     * Writes the messages without a key, and the latest message for each key updated since the last flush,
+     * in the order they were first made since then.
+     *
+     * @return the number of messages written
+     */
+    public int flush() {
+        throwExceptionIfClosed();
+
+        synchronized (flushBuffer) {
+            flushBuffer.clear();
+            int count = takePending();
+            while (flushBuffer.readRemaining() > 0) {
+                boolean metaData = flushBuffer.readBoolean();
+                int length = flushBuffer.readInt();
+                try (DocumentContext dc = out.writingDocument(metaData)) {
+                    dc.wire().bytes().write(flushBuffer, flushBuffer.readPosition(), length);
+                }
+                flushBuffer.readSkip(length);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Flushes while the channel is otherwise idle.
+     */
+    @Override
+    public boolean onPoll(ChronicleChannel channel) {
+        return !isClosing() && flush() > 0;
+    }
+
+    private synchronized int takePending() {
+        int count = pending.size();
+        for (Slot slot : pending) {
+            if (slot == null) {
+                boolean metaData = passThrough.readBoolean();
+                int length = passThrough.readInt();
+                flushBuffer.writeBoolean(metaData);
+                flushBuffer.writeInt(length);
+                flushBuffer.write(passThrough, passThrough.readPosition(), length);
+                passThrough.readSkip(length);
+                continue;
+            }
+            flushBuffer.writeBoolean(false);
+            flushBuffer.writeInt((int) slot.bytes.readRemaining());
+            flushBuffer.write(slot.bytes);
+            slot.dirty = false;
+        }
+        pending.clear();
+        passThrough.clear();
+        return count;
+    }
+
+    private synchronized void conflate(boolean metaData) {
+        Bytes<?> bytes = wire.bytes();
+        long start = bytes.readPosition();
+        int length = (int) bytes.readRemaining();
+        if (metaData || !readKey()) {
+            passThrough.writeBoolean(metaData);
+            passThrough.writeInt(length);
+            passThrough.write(bytes, start, length);
+            pending.add(null);
+            return;
+        }
+        Slot slot = acquireSlot();
+        slot.bytes.clear();
+        slot.bytes.write(bytes, start, length);
+        if (!slot.dirty) {
+            slot.dirty = true;
+            pending.add(slot);
+        }
+    }
+
+    /**
+     * Copies the event name and the key argument of the message to the key, leaving out the other arguments,
+     * and any header of the arguments which depends on them.
+     *
+     * @return true if the message is for a method with a key.
+     */
+    private boolean readKey() {
+        Bytes<?> bytes = wire.bytes();
+        long start = bytes.readPosition();
+        int index;
+        if (wire.isBinary() && bytes.peekUnsignedByte() == BinaryWireCode.FIELD_NUMBER) {
+            index = methodIds.indexOf(wire.readEventNumber());
+        } else {
+            index = lookup == null ? FieldNameLookup.NOT_FOUND : wire.readEventIndex(lookup);
+            if (index == FieldNameLookup.NOT_FOUND)
+                index = names.indexOf(wire.readEvent(String.class));
+        }
+        if (index < 0)
+            return false;
+        long eventEnd = bytes.readPosition();
+        ValueIn valueIn = wire.getValueIn();
+        if (argCounts[index] == 1) {
+            keyStart = bytes.readPosition();
+            valueIn.skipValue();
+            keyEnd = bytes.readPosition();
+        } else {
+            keyArg = keyArgs[index];
+            argCount = argCounts[index];
+            keyEnd = -1;
+            valueIn.sequence(this, ConflatingMarshallableOut::skipToKeyEnd);
+            if (keyEnd < 0)
+                return false;
+        }
+        key.clear();
+        key.write(bytes, start, eventEnd - start);
+        key.write(bytes, keyStart, keyEnd - keyStart);
+        return true;
+    }
+
+    private Slot acquireSlot() {
+        int keyLength = (int) key.readRemaining();
+        long hash = hash(key, 0, keyLength);
+        int mask = slots.length - 1;
+        int i = (int) hash & mask;
+        for (Slot slot; (slot = slots[i]) != null; i = (i + 1) & mask)
+            if (slot.hash == hash && slot.matches(key, keyLength))
+                return slot;
+
+        if ((slotCount + 1) * 2 > slots.length) {
+            resize();
+            return acquireSlot();
+        }
+        slotCount++;
+        Slot slot = new Slot(hash, key.toByteArray());
+        slots[i] = slot;
+        return slot;
+    }
+
+    private void resize() {
+        Slot[] old = slots;
+        slots = new Slot[old.length * 2];
+        int mask = slots.length - 1;
+        for (Slot slot : old) {
+            if (slot == null)
+                continue;
+            int i = (int) slot.hash & mask;
+            while (slots[i] != null)
+                i = (i + 1) & mask;
+            slots[i] = slot;
+        }
+    }
+
+    @Override
+    protected synchronized void performClose() {
+        for (Slot slot : slots)
+            if (slot != null)
+                slot.bytes.releaseLast();
+        pending.clear();
+        wire.bytes().releaseLast();
+        passThrough.releaseLast();
+        flushBuffer.releaseLast();
+        key.releaseLast();
+    }
+
+    static final class Slot {
+        final long hash;
+        final byte[] key;
+        final Bytes<?> bytes = Bytes.allocateElasticDirect(64);
+        boolean dirty;
+
+        Slot(long hash, byte[] key) {
+            this.hash = hash;
+            this.key = key;
+            bytes.singleThreadedCheckDisabled(true);
+        }
+
+        boolean matches(Bytes<?> key, int keyLength) {
+            if (this.key.length != keyLength)
+                return false;
+            for (int i = 0; i < keyLength; i++)
+                if (this.key[i] != key.readByte(i))
+                    return false;
+            return true;
+        }
+    }
+
+    /**
+     * Writes a message to the wire of the conflater, which conflates it when closed.
+     */
+    final class ConflatingDocumentContext implements WriteDocumentContext {
+        private int count = 0;
+        private boolean metaData;
+        private boolean notComplete;
+        private boolean chainedElement;
+        private boolean rollback;
+
+        @Override
+        public void start(boolean metaData) {
+            count++;
+            if (count > 1) {
+                assert metaData == isMetaData();
+                return;
+            }
+            wire.clear();
+            this.metaData = metaData;
+            notComplete = true;
+            chainedElement = false;
+            rollback = false;
+        }
+
+        @Override
+        public void close() {
+            if (chainedElement)
+                return;
+            if (count == 0)
+                throw new IllegalStateException("count == 0");
+            count--;
+            if (count > 0)
+                return;
+            notComplete = false;
+            if (!rollback)
+                conflate(metaData);
+            wire.getValueOut().resetBetweenDocuments();
+        }
+
+        @Override
+        public void reset() {
+            count = 0;
+            notComplete = false;
+            chainedElement = false;
+            rollback = false;
+        }
+
+        @Override
+        public void rollbackOnClose() {
+            rollback = true;
+        }
+
+        @Override
+        public boolean chainedElement() {
+            return chainedElement;
+        }
+
+        @Override
+        public void chainedElement(boolean chainedElement) {
+            this.chainedElement = chainedElement;
+        }
+
+        @Override
+        public boolean isMetaData() {
+            return metaData;
+        }
+
+        @Override
+        public boolean isPresent() {
+            return false;
+        }
+
+        @Override
+        public Wire wire() {
+            return wire;
+        }
+
+        @Override
+        public boolean isNotComplete() {
+            return notComplete;
+        }
+
+        @Override
+        public long index() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int sourceId() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the snapshots written by a {@link DeltaSnapshotWriter}, applying each delta to the same retained instance.
+ * Deltas read before the first keyframe are skipped, as are deltas after {@link #reset()} e.g. when messages were lost.
+ */
+public class DeltaSnapshotReader<T extends Marshallable> {
+    private final WireMarshaller<T> marshaller;
+    private final T snapshot;
+    private final ReadMarshallable readDelta = this::readDelta;
+    private final StringBuilder name = new StringBuilder();
+    private boolean hasKeyframe;
+
+    /**
+     * @param snapshot the instance to read keyframes into and apply deltas to
+     */
+    public DeltaSnapshotReader(@NotNull T snapshot) {
+        this.marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(snapshot.getClass());
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Read the next keyframe or delta.
+     *
+     * @return the updated snapshot, or null if this was a delta which can't be applied without a keyframe
+     * @throws IllegalStateException if the next field is neither a keyframe nor a delta
+     */
+    @Nullable
+    public T read(@NotNull WireIn in) {
+        ValueIn valueIn = in.read(name);
+        if (StringUtils.isEqual(DeltaSnapshotWriter.KEYFRAME, name)) {
+            valueIn.marshallable(snapshot);
+            hasKeyframe = true;
+            return snapshot;
+        }
+        if (!StringUtils.isEqual(DeltaSnapshotWriter.DELTA, name))
+            throw new IllegalStateException("Expected a keyframe or delta, was " + name);
+        if (!hasKeyframe) {
+            valueIn.skipValue();
+            return null;
+        }
+        valueIn.marshallable(readDelta);
+        return snapshot;
+    }
+
+    public boolean hasKeyframe() {
+        return hasKeyframe;
+    }
+
+    /**
+     * Ignore deltas until the next keyframe.
+     */
+    public void reset() {
+        hasKeyframe = false;
+    }
+
+    @NotNull
+    public T snapshot() {
+        return snapshot;
+    }
+
+    private void readDelta(WireIn in) {
+        marshaller.readDelta(snapshot, in);
+    }
+}
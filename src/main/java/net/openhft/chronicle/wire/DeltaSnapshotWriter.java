@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes snapshots of a Marshallable to a stream as only the fields which changed since the previous snapshot,
+ * with a full keyframe every <code>keyframeInterval</code> snapshots so a reader can join or recover part way through.
+ * <p>
+ * Each snapshot is a single field, either <code>keyframe</code> with the whole object, or <code>delta</code>
+ * with a bitmap of the fields present and their values, see {@link WireMarshaller#writeDelta}.
+ * A writer is for one stream, read by a {@link DeltaSnapshotReader}, and is not thread safe.
+ */
+public class DeltaSnapshotWriter<T extends Marshallable> {
+    static final String KEYFRAME = "keyframe";
+    static final String DELTA = "delta";
+
+    private final WireMarshaller<T> marshaller;
+    private final int keyframeInterval;
+    private final WriteMarshallable writeDelta = this::writeDelta;
+    private T previous;
+    private T current;
+    private int sinceKeyframe;
+
+    public DeltaSnapshotWriter(@NotNull Class<T> tClass, int keyframeInterval) {
+        if (keyframeInterval < 1)
+            throw new IllegalArgumentException("keyframeInterval must be at least 1, was " + keyframeInterval);
+        this.marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Write a keyframe if one is due, otherwise the fields which changed since the last snapshot written.
+     */
+    public void write(@NotNull WireOut out, @NotNull T t) {
+        if (previous == null) {
+            out.write(KEYFRAME).marshallable(t);
+            previous = Wires.deepCopy(t);
+            sinceKeyframe = 1;
+            return;
+        }
+        if (sinceKeyframe >= keyframeInterval) {
+            out.write(KEYFRAME).marshallable(t);
+            sinceKeyframe = 1;
+        } else {
+            current = t;
+            out.write(DELTA).marshallable(writeDelta);
+            current = null;
+            sinceKeyframe++;
+        }
+        // a deep copy so changes to nested objects are seen next time.
+        Wires.copyTo(t, previous);
+    }
+
+    /**
+     * Write a keyframe next time e.g. when a reader joins.
+     */
+    public void keyframe() {
+        sinceKeyframe = keyframeInterval;
+    }
+
+    private void writeDelta(WireOut out) {
+        marshaller.writeDelta(current, out, previous, false);
+    }
+}
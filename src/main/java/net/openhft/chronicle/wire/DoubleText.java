@@ -0,0 +1,292 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+/**
+ * Converts between double and decimal text in Bytes without creating a String.
+ * <p>
+ * {@link #appendShortest(Bytes, double)} writes the fewest significant digits, up to 15, which read back as the same
+ * double. {@link #parseDouble(BytesStore, long, long)} uses the exact fast path when the digits and power of ten are
+ * both exact doubles, and the Eisel-Lemire algorithm otherwise. Either method reports when it can't give an exact
+ * result so the caller can use the slower path.
+ */
+public enum DoubleText {
+    ; // none
+
+    private static final int MIN_EXP10 = -342;
+    private static final int MAX_EXP10 = 308;
+    // the most significant 128 bits of each power of ten, rounded as the Eisel-Lemire algorithm requires
+    private static final long[] POW10_HI = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private static final long[] POW10_LO = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    // powers of ten which are exact doubles
+    private static final double[] DOUBLE_POW10 = new double[23];
+    private static final long[] LONG_POW10 = new long[19];
+    private static final int MAX_DIGITS = 15;
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXP10; q <= MAX_EXP10; q++) {
+            BigInteger c;
+            if (q >= 0) {
+                c = five.pow(q);
+                int bits = c.bitLength();
+                c = bits < 128 ? c.shiftLeft(128 - bits) : c.shiftRight(bits - 128);
+            } else {
+                BigInteger pow5 = five.pow(-q);
+                int z = pow5.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(pow5).add(BigInteger.ONE);
+                if (c.bitLength() > 128)
+                    c = c.shiftRight(c.bitLength() - 128);
+            }
+            POW10_HI[q - MIN_EXP10] = c.shiftRight(64).longValue();
+            POW10_LO[q - MIN_EXP10] = c.and(mask).longValue();
+        }
+        double d = 1;
+        for (int i = 0; i < DOUBLE_POW10.length; i++, d *= 10)
+            DOUBLE_POW10[i] = d;
+        long l = 1;
+        for (int i = 0; i < LONG_POW10.length; i++, l *= 10)
+            LONG_POW10[i] = l;
+    }
+
+    /**
+     * Append the shortest decimal which reads back as <code>d</code>, as plain digits from 0.001 up to 1e15
+     * and as digits and an exponent otherwise, e.g. <code>1234.5</code>, <code>0.1</code> or <code>1.5E-8</code>
+     *
+     * @return false, having appended nothing, if <code>d</code> is zero, not finite, or needs more than 15 digits.
+     */
+    public static boolean appendShortest(@NotNull Bytes<?> bytes, double d) {
+        if (d == 0 || Double.isNaN(d) || Double.isInfinite(d))
+            return false;
+        double ad = Math.abs(d);
+        int exp10 = (int) Math.floor(Math.log10(ad));
+        for (int digits = 1; digits <= MAX_DIGITS; digits++) {
+            // the candidate is m / 10^k, which is checked exactly as m and 10^k are exact doubles
+            int k = digits - 1 - exp10;
+            if (k < -22 || k > 22)
+                return false;
+            long m = Math.round(k >= 0 ? ad * DOUBLE_POW10[k] : ad / DOUBLE_POW10[-k]);
+            if (m <= 0 || m >= 1L << 53)
+                continue;
+            double back = k >= 0 ? m / DOUBLE_POW10[k] : m * DOUBLE_POW10[-k];
+            if (back == ad) {
+                while (m % 10 == 0) {
+                    m /= 10;
+                    k--;
+                }
+                if (d < 0)
+                    bytes.writeUnsignedByte('-');
+                append(bytes, m, k, ad);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void append(@NotNull Bytes<?> bytes, long m, int k, double ad) {
+        int n = 1;
+        while (n < LONG_POW10.length && m >= LONG_POW10[n])
+            n++;
+        if (ad >= 1e-3 && ad < 1e15) {
+            if (k <= 0) {
+                appendDigits(bytes, m, n, 0, n);
+                for (int i = 0; i < -k; i++)
+                    bytes.writeUnsignedByte('0');
+                bytes.writeUnsignedByte('.');
+                bytes.writeUnsignedByte('0');
+            } else if (k >= n) {
+                bytes.writeUnsignedByte('0');
+                bytes.writeUnsignedByte('.');
+                for (int i = 0; i < k - n; i++)
+                    bytes.writeUnsignedByte('0');
+                appendDigits(bytes, m, n, 0, n);
+            } else {
+                appendDigits(bytes, m, n, 0, n - k);
+                bytes.writeUnsignedByte('.');
+                appendDigits(bytes, m, n, n - k, n);
+            }
+        } else {
+            appendDigits(bytes, m, n, 0, 1);
+            bytes.writeUnsignedByte('.');
+            if (n == 1)
+                bytes.writeUnsignedByte('0');
+            else
+                appendDigits(bytes, m, n, 1, n);
+            bytes.writeUnsignedByte('E');
+            bytes.append(n - 1 - k);
+        }
+    }
+
+    private static void appendDigits(@NotNull Bytes<?> bytes, long m, int n, int from, int to) {
+        for (int i = from; i < to; i++)
+            bytes.writeUnsignedByte((int) ('0' + (m / LONG_POW10[n - 1 - i]) % 10));
+    }
+
+    /**
+     * Parse a decimal with an optional sign, fraction and exponent which is exactly the bytes from <code>start</code>
+     * to <code>end</code>, correctly rounded.
+     *
+     * @return the double, or NaN if the text isn't a decimal of up to 19 significant digits or the result is ambiguous,
+     * in which case another parser should be used.
+     */
+    public static double parseDouble(@NotNull BytesStore<?, ?> bs, long start, long end) {
+        long pos = start;
+        boolean negative = false;
+        if (pos < end) {
+            int ch = bs.readUnsignedByte(pos);
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                pos++;
+            }
+        }
+        // up to 19 digits, as an unsigned long
+        long mantissa = 0;
+        int digits = 0;
+        int exp10 = 0;
+        boolean any = false;
+        for (; pos < end; pos++) {
+            int d = bs.readUnsignedByte(pos) - '0';
+            if (d < 0 || d > 9)
+                break;
+            any = true;
+            if (mantissa == 0 && d == 0)
+                continue;
+            if (digits++ == 19)
+                return Double.NaN;
+            mantissa = mantissa * 10 + d;
+        }
+        if (pos < end && bs.readUnsignedByte(pos) == '.') {
+            for (pos++; pos < end; pos++) {
+                int d = bs.readUnsignedByte(pos) - '0';
+                if (d < 0 || d > 9)
+                    break;
+                any = true;
+                exp10--;
+                if (mantissa == 0 && d == 0)
+                    continue;
+                if (digits++ == 19)
+                    return Double.NaN;
+                mantissa = mantissa * 10 + d;
+            }
+        }
+        if (!any)
+            return Double.NaN;
+        if (pos < end && (bs.readUnsignedByte(pos) | 0x20) == 'e') {
+            pos++;
+            boolean negativeExp = false;
+            if (pos < end) {
+                int ch = bs.readUnsignedByte(pos);
+                if (ch == '-' || ch == '+') {
+                    negativeExp = ch == '-';
+                    pos++;
+                }
+            }
+            if (pos >= end)
+                return Double.NaN;
+            int exp = 0;
+            for (; pos < end; pos++) {
+                int d = bs.readUnsignedByte(pos) - '0';
+                if (d < 0 || d > 9)
+                    return Double.NaN;
+                if (exp < 100_000)
+                    exp = exp * 10 + d;
+            }
+            exp10 += negativeExp ? -exp : exp;
+        }
+        if (pos != end)
+            return Double.NaN;
+
+        double value;
+        if (mantissa == 0)
+            value = 0;
+        else if (mantissa > 0 && mantissa <= 1L << 53 && exp10 >= -22 && exp10 <= 22)
+            value = exp10 < 0 ? mantissa / DOUBLE_POW10[-exp10] : mantissa * DOUBLE_POW10[exp10];
+        else
+            value = eiselLemire(mantissa, exp10);
+        return negative ? -value : value;
+    }
+
+    /**
+     * @return the double nearest <code>mantissa * 10^exp10</code>, or NaN if it can't be determined this way.
+     */
+    static double eiselLemire(long mantissa, int exp10) {
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10)
+            return Double.NaN;
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        long man = mantissa << clz;
+        long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+
+        long powHi = POW10_HI[exp10 - MIN_EXP10];
+        long xHi = unsignedMultiplyHigh(man, powHi);
+        long xLo = man * powHi;
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + man, man) < 0) {
+            // the truncated product might be wrong, so include the lower 64 bits of the power
+            long powLo = POW10_LO[exp10 - MIN_EXP10];
+            long yHi = unsignedMultiplyHigh(man, powLo);
+            long yLo = man * powLo;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0)
+                mergedHi++;
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0)
+                return Double.NaN;
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long retMantissa = xHi >>> (msb + 9);
+        retExp2 -= 1 ^ msb;
+        // half way between two doubles
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1)
+            return Double.NaN;
+
+        retMantissa += retMantissa & 1;
+        retMantissa >>>= 1;
+        if ((retMantissa >>> 53) > 0) {
+            retMantissa >>>= 1;
+            retExp2++;
+        }
+        // subnormal, infinite or NaN
+        if (Long.compareUnsigned(retExp2 - 1, 0x7FF - 1) >= 0)
+            return Double.NaN;
+        return Double.longBitsToDouble(retExp2 << 52 | (retMantissa & 0xFFFFFFFFFFFFFL));
+    }
+
+    static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p11 = x1 * y1;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p00 = x0 * y0;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
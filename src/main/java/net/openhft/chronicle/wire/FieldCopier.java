@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesMarshallable;
+import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import net.openhft.chronicle.core.util.ReadResolvable;
+import net.openhft.chronicle.wire.WireMarshaller.FieldAccess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static net.openhft.chronicle.core.UnsafeMemory.*;
+
+/**
+ * Copies the fields of one Marshallable to another directly, with the same result as writing the source to a wire
+ * and reading it into the target, but without encoding or decoding.
+ * <p>
+ * A plan is built from the {@link WireMarshaller} fields of each pair of classes and cached.
+ * Fields are matched by name, nested Marshallables and collections already in the target are reused,
+ * and immutable values are shared. A pair of classes for which a direct copy might not give the same result,
+ * e.g. custom readMarshallable/writeMarshallable, a field which changes type, or source fields a target
+ * handling unexpected fields would be told about, has no plan,
+ * and values of types this doesn't know how to copy are copied via a wire.
+ */
+final class FieldCopier {
+    private static final ClassLocal<Map<Class<?>, FieldCopier>> PLANS = ClassLocal.withInitial(c -> new ConcurrentHashMap<>());
+    // a plan for pairs of classes which can't be copied directly
+    private static final FieldCopier NO_PLAN = new FieldCopier(new Op[0]);
+
+    private final Op[] ops;
+
+    private FieldCopier(Op[] ops) {
+        this.ops = ops;
+    }
+
+    /**
+     * @return the cached plan to copy from one class to another, or <code>null</code> if they can't be copied directly.
+     */
+    @Nullable
+    static FieldCopier of(Class<?> from, Class<?> to) {
+        FieldCopier copier = PLANS.get(from).computeIfAbsent(to, t -> create(from, t));
+        return copier == NO_PLAN ? null : copier;
+    }
+
+    /**
+     * Copy the fields of <code>from</code> to <code>to</code> if their classes can be copied directly.
+     *
+     * @return true if copied, false if the classes can't be copied directly.
+     */
+    static boolean copy(@NotNull Object from, @NotNull Object to) {
+        FieldCopier copier = of(from.getClass(), to.getClass());
+        if (copier == null)
+            return false;
+        copier.copyFields(from, to);
+        return true;
+    }
+
+    @NotNull
+    private static FieldCopier create(Class<?> from, Class<?> to) {
+        if (!defaultMarshalling(from) || !defaultMarshalling(to))
+            return NO_PLAN;
+        WireMarshaller<?> fromWM = WireMarshaller.WIRE_MARSHALLER_CL.get(from);
+        WireMarshaller<?> toWM = WireMarshaller.WIRE_MARSHALLER_CL.get(to);
+        Object defaults = toWM.defaultValue();
+        Op[] ops = new Op[toWM.fields.length];
+        for (int i = 0; i < ops.length; i++) {
+            FieldAccess toField = toWM.fields[i];
+            FieldAccess fromField = null;
+            for (FieldAccess field : fromWM.fields)
+                if (field.field.getName().equals(toField.field.getName()))
+                    fromField = field;
+            if (fromField == null) {
+                ops[i] = new DefaultOp(defaults, toField);
+                continue;
+            }
+            if (!sameEncoding(fromField, toField))
+                return NO_PLAN;
+            Op op = opFor(fromField.offset, toField);
+            if (op == null)
+                return NO_PLAN;
+            ops[i] = op;
+        }
+        // a target told about unexpected fields has to be read from a wire to be told about these.
+        if (WireMarshaller.overridesUnexpectedFields(to) && hasFieldsMissingFrom(fromWM, toWM))
+            return NO_PLAN;
+        return new FieldCopier(ops);
+    }
+
+    private static boolean hasFieldsMissingFrom(WireMarshaller<?> fromWM, WireMarshaller<?> toWM) {
+        Set<String> names = new HashSet<>();
+        for (FieldAccess field : toWM.fields)
+            names.add(field.field.getName());
+        for (FieldAccess field : fromWM.fields)
+            if (!names.contains(field.field.getName()))
+                return true;
+        return false;
+    }
+
+    /**
+     * Only classes which are read and written field by field by their {@link WireMarshaller} can be copied directly.
+     */
+    private static boolean defaultMarshalling(Class<?> c) {
+        if (!Marshallable.class.isAssignableFrom(c)
+                || ReadResolvable.class.isAssignableFrom(c)
+                || Throwable.class.isAssignableFrom(c)
+                || c.isEnum()
+                || c.isInterface())
+            return false;
+        try {
+            Class<?> read = c.getMethod("readMarshallable", WireIn.class).getDeclaringClass();
+            Class<?> write = c.getMethod("writeMarshallable", WireOut.class).getDeclaringClass();
+            if (read != Marshallable.class || write != Marshallable.class)
+                return false;
+            Marshallable m = (Marshallable) ObjectUtils.newInstance(c);
+            return m.usesSelfDescribingMessage() || !(m instanceof BytesMarshallable);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean sameEncoding(FieldAccess from, FieldAccess to) {
+        return from.getClass() == to.getClass()
+                && from.field.getType() == to.field.getType()
+                && Objects.equals(from.field.getAnnotation(LongConversion.class), to.field.getAnnotation(LongConversion.class))
+                && Objects.equals(from.field.getAnnotation(IntConversion.class), to.field.getAnnotation(IntConversion.class))
+                && Objects.equals(from.field.getAnnotation(CharConversion.class), to.field.getAnnotation(CharConversion.class));
+    }
+
+    @Nullable
+    private static Op opFor(long fromOffset, FieldAccess to) {
+        long toOffset = to.offset;
+        Class<?> type = to.field.getType();
+        if (type.isPrimitive()) {
+            switch (type.getName()) {
+                case "boolean":
+                    return (f, t) -> unsafePutBoolean(t, toOffset, unsafeGetBoolean(f, fromOffset));
+                case "byte":
+                    return (f, t) -> unsafePutByte(t, toOffset, unsafeGetByte(f, fromOffset));
+                case "char":
+                case "short":
+                    return (f, t) -> unsafePutShort(t, toOffset, unsafeGetShort(f, fromOffset));
+                case "int":
+                    return (f, t) -> unsafePutInt(t, toOffset, unsafeGetInt(f, fromOffset));
+                case "float":
+                    return (f, t) -> unsafePutFloat(t, toOffset, unsafeGetFloat(f, fromOffset));
+                case "long":
+                    return (f, t) -> unsafePutLong(t, toOffset, unsafeGetLong(f, fromOffset));
+                case "double":
+                    return (f, t) -> unsafePutDouble(t, toOffset, unsafeGetDouble(f, fromOffset));
+                default:
+                    return null;
+            }
+        }
+        if (to instanceof WireMarshaller.IntValueAccess || to instanceof WireMarshaller.LongValueAccess)
+            return null;
+        if (to instanceof WireMarshaller.StringBuilderFieldAccess)
+            return (f, t) -> {
+                CharSequence value = unsafeGetObject(f, fromOffset);
+                StringBuilder sb = unsafeGetObject(t, toOffset);
+                if (value == null) {
+                    sb = null;
+                } else if (sb == null) {
+                    sb = new StringBuilder(value);
+                } else {
+                    sb.setLength(0);
+                    sb.append(value);
+                }
+                unsafePutObject(t, toOffset, sb);
+            };
+        if (to instanceof WireMarshaller.BytesFieldAccess)
+            return (f, t) -> {
+                Bytes<?> value = unsafeGetObject(f, fromOffset);
+                Bytes<?> bytes = unsafeGetObject(t, toOffset);
+                if (value == null) {
+                    bytes = null;
+                } else {
+                    if (bytes == null)
+                        bytes = Bytes.elasticByteBuffer();
+                    bytes.clear();
+                    bytes.write(value);
+                }
+                unsafePutObject(t, toOffset, bytes);
+            };
+        if (to instanceof WireMarshaller.CollectionFieldAccess)
+            return collectionOp(fromOffset, toOffset, ((WireMarshaller.CollectionFieldAccess) to).collectionSupplier);
+        if (to instanceof WireMarshaller.StringCollectionFieldAccess)
+            return collectionOp(fromOffset, toOffset, ((WireMarshaller.StringCollectionFieldAccess) to).collectionSupplier);
+        if (to instanceof WireMarshaller.MapFieldAccess) {
+            Supplier<Map> supplier = ((WireMarshaller.MapFieldAccess) to).collectionSupplier;
+            return (f, t) -> {
+                Map<?, ?> value = unsafeGetObject(f, fromOffset);
+                Map map = unsafeGetObject(t, toOffset);
+                if (value == null) {
+                    map = null;
+                } else {
+                    if (map == null)
+                        map = supplier.get();
+                    map.clear();
+                    for (Map.Entry<?, ?> entry : value.entrySet())
+                        map.put(copyValue(entry.getKey(), null), copyValue(entry.getValue(), null));
+                }
+                unsafePutObject(t, toOffset, map);
+            };
+        }
+        // EnumSet, arrays and any other object.
+        return (f, t) -> unsafePutObject(t, toOffset,
+                copyValue(unsafeGetObject(f, fromOffset), unsafeGetObject(t, toOffset)));
+    }
+
+    private static Op collectionOp(long fromOffset, long toOffset, Supplier<Collection> supplier) {
+        return (f, t) -> {
+            Collection<?> value = unsafeGetObject(f, fromOffset);
+            Collection coll = unsafeGetObject(t, toOffset);
+            if (value == null) {
+                coll = null;
+            } else {
+                if (coll == null)
+                    coll = supplier.get();
+                coll.clear();
+                for (Object o : value)
+                    coll.add(copyValue(o, null));
+            }
+            unsafePutObject(t, toOffset, coll);
+        };
+    }
+
+    /**
+     * Copies a value of any type, reusing <code>using</code> if it is mutable and of the same class.
+     */
+    @Nullable
+    static Object copyValue(@Nullable Object value, @Nullable Object using) {
+        if (value == null)
+            return null;
+        Class<?> c = value.getClass();
+        if (value instanceof Enum || ObjectUtils.isImmutable(c) == ObjectUtils.Immutability.YES)
+            return value;
+        if (value instanceof Marshallable) {
+            FieldCopier copier = of(c, c);
+            if (copier != null) {
+                Object target = using != null && using.getClass() == c ? using : ObjectUtils.newInstance(c);
+                copier.copyFields(value, target);
+                return target;
+            }
+        }
+        if (c.isArray()) {
+            Class<?> componentType = c.getComponentType();
+            int length = Array.getLength(value);
+            Object array = Array.newInstance(componentType, length);
+            if (componentType.isPrimitive()) {
+                System.arraycopy(value, 0, array, 0, length);
+            } else {
+                Object[] from = (Object[]) value;
+                Object[] to = (Object[]) array;
+                for (int i = 0; i < length; i++)
+                    to[i] = copyValue(from[i], null);
+            }
+            return array;
+        }
+        if (value instanceof EnumSet)
+            return ((EnumSet<?>) value).clone();
+        // a type with its own serialization.
+        Wire wire = Wires.acquireBinaryWire();
+        wire.getValueOut().object(value);
+        return wire.getValueIn().object(using, c);
+    }
+
+    void copyFields(Object from, Object to) {
+        for (Op op : ops)
+            op.copy(from, to);
+    }
+
+    @FunctionalInterface
+    interface Op {
+        void copy(Object from, Object to);
+    }
+
+    // a field which isn't in the source takes the default value, as when reading a wire.
+    private static final class DefaultOp implements Op {
+        @Nullable
+        private final Object defaults;
+        private final FieldAccess field;
+
+        DefaultOp(@Nullable Object defaults, FieldAccess field) {
+            this.defaults = defaults;
+            this.field = field;
+        }
+
+        @Override
+        public void copy(Object from, Object to) {
+            if (defaults == null)
+                return;
+            try {
+                field.copy(defaults, to);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.RandomDataInput;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A perfect hash table of a fixed set of ASCII field names, which can look up a name directly from the bytes
+ * it was written as, without decoding it into characters.
+ * <p>
+ * The hash seed and table size are chosen so no two names share a slot, so a lookup is a hash,
+ * a single slot read and a byte comparison to reject unknown names.
+ */
+public final class FieldNameLookup {
+    /**
+     * Returned when the name is not one of the names in the table.
+     */
+    public static final int NOT_FOUND = -1;
+    /**
+     * Returned when there was no field name, e.g. for field-less wires, which matches any field in order.
+     */
+    public static final int NO_NAME = -2;
+
+    private static final int MAX_SEEDS = 64;
+    private static final int MAX_SIZE = 1 << 16;
+
+    private final byte[][] names;
+    // slot -> index + 1, or 0 if empty
+    private final int[] table;
+    private final int mask;
+    private final int seed;
+
+    private FieldNameLookup(byte[][] names, int[] table, int seed) {
+        this.names = names;
+        this.table = table;
+        this.mask = table.length - 1;
+        this.seed = seed;
+    }
+
+    /**
+     * @param names to index, in order
+     * @return a lookup for these names, or <code>null</code> if any name isn't ASCII or they can't be hashed without collisions
+     */
+    @Nullable
+    public static FieldNameLookup of(@NotNull String... names) {
+        byte[][] bytes = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            byte[] b = new byte[name.length()];
+            for (int j = 0; j < b.length; j++) {
+                char ch = name.charAt(j);
+                if (ch >= 0x80)
+                    return null;
+                b[j] = (byte) ch;
+            }
+            bytes[i] = b;
+        }
+        for (int size = Math.max(4, Integer.highestOneBit(Math.max(1, names.length) * 2 - 1) << 1); size <= MAX_SIZE; size <<= 1) {
+            for (int seed = 0; seed < MAX_SEEDS; seed++) {
+                int[] table = fill(bytes, size, seed);
+                if (table != null)
+                    return new FieldNameLookup(bytes, table, seed);
+            }
+        }
+        // e.g. duplicate names
+        return null;
+    }
+
+    @Nullable
+    private static int[] fill(byte[][] names, int size, int seed) {
+        int[] table = new int[size];
+        for (int i = 0; i < names.length; i++) {
+            int h = hash(seed, names[i]) & (size - 1);
+            if (table[h] != 0)
+                return null;
+            table[h] = i + 1;
+        }
+        return table;
+    }
+
+    private static int hash(int seed, byte[] name) {
+        int h = 0x811C9DC5 ^ seed;
+        for (byte b : name)
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        return h ^ (h >>> 15);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Looks up a name from its 8-bit encoded bytes.
+     *
+     * @param bytes  to read from
+     * @param offset of the first byte of the name
+     * @param length of the name in bytes
+     * @return the index of the name, {@link #NOT_FOUND} or {@link #NO_NAME} if the length is zero.
+     */
+    public int indexOf(@NotNull RandomDataInput bytes, long offset, int length) {
+        if (length == 0)
+            return NO_NAME;
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = 0; i < length; i++)
+            h = (h ^ bytes.readUnsignedByte(offset + i)) * 0x01000193;
+        int index = table[(h ^ (h >>> 15)) & mask] - 1;
+        if (index < 0)
+            return NOT_FOUND;
+        byte[] name = names[index];
+        if (name.length != length)
+            return NOT_FOUND;
+        for (int i = 0; i < length; i++)
+            if (bytes.readByte(offset + i) != name[i])
+                return NOT_FOUND;
+        return index;
+    }
+
+    /**
+     * Looks up a name which has already been decoded.
+     *
+     * @return the index of the name, {@link #NOT_FOUND} or {@link #NO_NAME} if the name is empty.
+     */
+    public int indexOf(@NotNull CharSequence cs) {
+        int length = cs.length();
+        if (length == 0)
+            return NO_NAME;
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = 0; i < length; i++) {
+            char ch = cs.charAt(i);
+            if (ch >= 0x80)
+                return NOT_FOUND;
+            h = (h ^ ch) * 0x01000193;
+        }
+        int index = table[(h ^ (h >>> 15)) & mask] - 1;
+        if (index < 0)
+            return NOT_FOUND;
+        byte[] name = names[index];
+        if (name.length != length)
+            return NOT_FOUND;
+        for (int i = 0; i < length; i++)
+            if (cs.charAt(i) != name[i])
+                return NOT_FOUND;
+        return index;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The allowed values of a first argument from {@link MethodFilterOnFirstArgValues}, compiled so a message can be
+ * rejected without creating any objects. Integral values are held in an open addressed table of longs,
+ * and text in a {@link FieldNameLookup} so a String is only returned for values which are allowed.
+ */
+public final class FirstArgValues {
+    private static final long[] NO_LONGS = {};
+
+    private final long[] longs;
+    private final int longMask;
+    private final boolean zero;
+    @Nullable
+    private final FieldNameLookup textLookup;
+    private final String[] texts;
+    private final Set<Object> objects;
+
+    private FirstArgValues(Collection<?> values) {
+        Set<Long> longSet = new LinkedHashSet<>();
+        Set<String> textSet = new LinkedHashSet<>();
+        objects = new HashSet<>();
+        for (Object value : values) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                longSet.add(((Number) value).longValue());
+            else if (value instanceof Character)
+                longSet.add((long) (Character) value);
+            else if (value instanceof CharSequence)
+                textSet.add(value.toString());
+            else if (value != null)
+                objects.add(value);
+        }
+
+        zero = longSet.remove(0L);
+        if (longSet.isEmpty()) {
+            longs = NO_LONGS;
+            longMask = 0;
+        } else {
+            // at most half full
+            longs = new long[Integer.highestOneBit(longSet.size() * 2 - 1) << 1];
+            longMask = longs.length - 1;
+            for (long value : longSet) {
+                int i = slot(value);
+                while (longs[i] != 0)
+                    i = (i + 1) & longMask;
+                longs[i] = value;
+            }
+        }
+
+        texts = textSet.toArray(new String[0]);
+        textLookup = texts.length == 0 ? null : FieldNameLookup.of(texts);
+        objects.addAll(textSet);
+    }
+
+    /**
+     * @param values allowed, or <code>null</code> for all values
+     * @return the compiled values, or <code>null</code> if all values are allowed
+     */
+    @Nullable
+    public static FirstArgValues of(@Nullable Collection<?> values) {
+        return values == null ? null : new FirstArgValues(values);
+    }
+
+    /**
+     * @return the filter on the first argument for the vanilla reader, combining the values allowed with any {@link MethodFilterOnFirstArg}
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static MethodFilterOnFirstArg filterFor(@NotNull Object o) {
+        MethodFilterOnFirstArg next = o instanceof MethodFilterOnFirstArg ? (MethodFilterOnFirstArg) o : null;
+        if (!(o instanceof MethodFilterOnFirstArgValues))
+            return next;
+        MethodFilterOnFirstArgValues allowed = (MethodFilterOnFirstArgValues) o;
+        Map<String, Optional<FirstArgValues>> valuesByMethod = new HashMap<>();
+        return (methodName, firstArg) -> {
+            FirstArgValues values = valuesByMethod.computeIfAbsent(methodName, n -> Optional.ofNullable(of(allowed.allowedFirstArgs(n))))
+                    .orElse(null);
+            if (values != null && !values.contains(firstArg))
+                return true;
+            return next != null && next.ignoreMethodBasedOnFirstArg(methodName, firstArg);
+        };
+    }
+
+    private int slot(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & longMask;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0)
+            return zero;
+        if (longs.length == 0)
+            return false;
+        for (int i = slot(value); ; i = (i + 1) & longMask) {
+            long l = longs[i];
+            if (l == value)
+                return true;
+            if (l == 0)
+                return false;
+        }
+    }
+
+    public boolean contains(@Nullable CharSequence cs) {
+        return text(cs) != null;
+    }
+
+    public boolean contains(@Nullable Object o) {
+        if (o instanceof CharSequence)
+            return contains((CharSequence) o);
+        if (o instanceof Long || o instanceof Integer || o instanceof Short || o instanceof Byte)
+            return contains(((Number) o).longValue());
+        if (o instanceof Character)
+            return contains((long) (Character) o);
+        return o != null && objects.contains(o);
+    }
+
+    /**
+     * @param cs text read, which can be reused
+     * @return the allowed String equal to this text, or <code>null</code> if it isn't allowed
+     */
+    @Nullable
+    public String text(@Nullable CharSequence cs) {
+        if (cs == null || texts.length == 0)
+            return null;
+        if (textLookup == null) {
+            // e.g. text which isn't ASCII
+            String s = cs.toString();
+            return objects.contains(s) ? s : null;
+        }
+        int index = textLookup.indexOf(cs);
+        if (index >= 0)
+            return texts[index];
+        if (index == FieldNameLookup.NO_NAME && objects.contains(""))
+            return "";
+        return null;
+    }
+}
@@ -66,6 +66,7 @@ public class GenerateMethodReader {
                 MarshallableIn.class,
                 MarshallableOut.class,
                 MethodWriter.class,
+                MethodFilterOnFirstArgValues.class,
                 SourceContext.class
         );
     }
@@ -84,9 +85,14 @@ public class GenerateMethodReader {
     private final SourceCodeFormatter eventIdSwitchBlock = new JavaSourceCodeFormatter();
     private final SourceCodeFormatter eventIdSwitchBlockMeta = new JavaSourceCodeFormatter();
     private final SourceCodeFormatter numericConverters = new JavaSourceCodeFormatter();
+    private final SourceCodeFormatter firstArgValues = new JavaSourceCodeFormatter();
+    // the names of the events handled, in the order of the cases in each switch block
+    private final List<String> eventNames = new ArrayList<>();
+    private final List<String> eventNamesMeta = new ArrayList<>();
     private final String generatedClassName;
     private final Set<String> fieldNames = new LinkedHashSet<>();
     private boolean methodFilterPresent;
+    private boolean firstArgTextPresent;
     private boolean isSourceCodeGenerated;
     private boolean hasChainedCalls;
 
@@ -146,6 +152,8 @@ public class GenerateMethodReader {
         handledInterfaces.clear();
         handledMethodNames.clear();
         handledMethodSignatures.clear();
+        eventNamesMeta.clear();
+        eventNamesMeta.add(MethodReader.HISTORY);
 
         for (int i = 0; metaDataHandler != null && i < metaDataHandler.length; i++) {
             final Class<?> aClass = metaDataHandler[i].getClass();
@@ -153,24 +161,27 @@ public class GenerateMethodReader {
             for (Class<?> anInterface : ReflectionUtil.interfaces(aClass)) {
                 if (anInterface.getAnnotation(DontChain.class) != null)
                     continue;
-                handleInterface(anInterface, "metaInstance" + i, false, eventNameSwitchBlockMeta, eventIdSwitchBlockMeta);
+                handleInterface(anInterface, "metaInstance" + i, false, false, eventNameSwitchBlockMeta, eventIdSwitchBlockMeta, eventNamesMeta);
             }
         }
 
         handledInterfaces.clear();
         handledMethodNames.clear();
         handledMethodSignatures.clear();
+        eventNames.clear();
+        eventNames.add(MethodReader.HISTORY);
 
         for (int i = 0; i < instances.length; i++) {
             final Class<?> aClass = instances[i].getClass();
 
             boolean methodFilter = instances[i] instanceof MethodFilterOnFirstArg;
-            methodFilterPresent |= methodFilter;
+            boolean valuesFilter = instances[i] instanceof MethodFilterOnFirstArgValues;
+            methodFilterPresent |= methodFilter || valuesFilter;
 
             for (Class<?> anInterface : ReflectionUtil.interfaces(aClass)) {
                 if (IGNORED_INTERFACES.contains(anInterface))
                     continue;
-                handleInterface(anInterface, "instance" + i, methodFilter, eventNameSwitchBlock, eventIdSwitchBlock);
+                handleInterface(anInterface, "instance" + i, methodFilter, valuesFilter, eventNameSwitchBlock, eventIdSwitchBlock, eventNames);
             }
         }
 
@@ -210,11 +221,19 @@ public class GenerateMethodReader {
 
         sourceCode.append(fields);
 
+        boolean eventLookup = eventNameLookup(eventNames, "");
+        boolean eventLookupMeta = eventNameLookup(eventNamesMeta, "Meta");
+
         if (methodFilterPresent) {
             sourceCode.append("// flag for handling ignoreMethodBasedOnFirstArg\n");
             sourceCode.append("private boolean ignored;\n\n");
         }
 
+        if (firstArgTextPresent) {
+            sourceCode.append("// reused to read a first argument which is checked before creating a String\n");
+            sourceCode.append("private final StringBuilder firstArgText = new StringBuilder();\n\n");
+        }
+
         if (numericConverters.length() > 0) {
             sourceCode.append("// numeric converters\n");
             sourceCode.append(numericConverters);
@@ -245,7 +264,9 @@ public class GenerateMethodReader {
         for (int i = 0; i < instances.length - 1; i++)
             sourceCode.append(format("instance%d = instances[%d];\n", i, i));
 
-        sourceCode.append(format("instance%d = instances[%d];\n}\n\n", instances.length - 1, instances.length - 1));
+        sourceCode.append(format("instance%d = instances[%d];\n", instances.length - 1, instances.length - 1));
+        sourceCode.append(firstArgValues);
+        sourceCode.append("}\n\n");
 
         if (hasChainedCalls) {
             sourceCode.append("" +
@@ -261,11 +282,12 @@ public class GenerateMethodReader {
                 "protected boolean readOneCall(WireIn wireIn) {\n" +
                 "ValueIn valueIn = wireIn.getValueIn();\n" +
                 "String lastEventName = \"\";\n" +
+                "int eventIndex = FieldNameLookup.NOT_FOUND;\n" +
                 "if (wireIn.bytes().peekUnsignedByte() == BinaryWireCode.FIELD_NUMBER) {\n" +
                 "int methodId = (int) wireIn.readEventNumber();\n" +
                 "switch (methodId) {\n");
 
-        addMethodIdSwitch(MethodReader.HISTORY, MethodReader.MESSAGE_HISTORY_METHOD_ID, eventIdSwitchBlock);
+        addMethodIdSwitch(MethodReader.HISTORY, 0, MethodReader.MESSAGE_HISTORY_METHOD_ID, eventIdSwitchBlock);
         sourceCode.append(eventIdSwitchBlock);
 
         sourceCode.append("default:\n" +
@@ -274,16 +296,18 @@ public class GenerateMethodReader {
                 "break;\n" +
                 "}\n" +
                 "}\n" +
-                "else {\n" +
-                "lastEventName = wireIn.readEvent(String.class);\n" +
-                "}\n" +
+                "else {\n");
+        readEventName(eventLookup, "");
+        sourceCode.append("}\n" +
                 "try {\n" +
                 "if (Jvm.isDebug())\n" +
                 "debugLoggingParselet.accept(lastEventName, valueIn);\n" +
                 "if (lastEventName == null)\n" +
                 "throw new IllegalStateException(\"Failed to read method name or ID\");\n" +
-                "switch (lastEventName) {\n" +
-                "case MethodReader.HISTORY:\n" +
+                "if (eventIndex < 0)\n" +
+                "eventIndex = eventIndex(lastEventName);\n" +
+                "switch (eventIndex) {\n" +
+                "case 0: // MethodReader.HISTORY\n" +
                 "valueIn.marshallable(messageHistory);\n" +
                 "break;\n\n");
 
@@ -304,6 +328,7 @@ public class GenerateMethodReader {
                 "protected boolean readOneCallMeta(WireIn wireIn) {\n" +
                 "ValueIn valueIn = wireIn.getValueIn();\n" +
                 "String lastEventName = \"\";\n" +
+                "int eventIndex = FieldNameLookup.NOT_FOUND;\n" +
                 "if (wireIn.bytes().peekUnsignedByte() == BinaryWireCode.FIELD_NUMBER) {\n" +
                 "int methodId = (int) wireIn.readEventNumber();\n" +
                 "switch (methodId) {\n");
@@ -315,16 +340,18 @@ public class GenerateMethodReader {
                 "return true;\n" +
                 "}\n" +
                 "}\n" +
-                "else {\n" +
-                "lastEventName = wireIn.readEvent(String.class);\n" +
-                "}\n" +
+                "else {\n");
+        readEventName(eventLookupMeta, "Meta");
+        sourceCode.append("}\n" +
                 "try {\n" +
                 "if (Jvm.isDebug())\n" +
                 "debugLoggingParselet.accept(lastEventName, valueIn);\n" +
                 "if (lastEventName == null)\n" +
                 "throw new IllegalStateException(\"Failed to read method name or ID\");\n" +
-                "switch (lastEventName) {\n" +
-                "case MethodReader.HISTORY:\n" +
+                "if (eventIndex < 0)\n" +
+                "eventIndex = eventIndexMeta(lastEventName);\n" +
+                "switch (eventIndex) {\n" +
+                "case 0: // MethodReader.HISTORY\n" +
                 "valueIn.marshallable(messageHistory);\n" +
                 "break;\n\n");
 
@@ -354,10 +381,11 @@ public class GenerateMethodReader {
      * @param anInterface          Processed interface.
      * @param instanceFieldName    In generated code, methods are executed on field with this name.
      * @param methodFilter         <code>true</code> if passed interface is marked with {@link MethodFilterOnFirstArg}.
+     * @param valuesFilter         <code>true</code> if passed interface is marked with {@link MethodFilterOnFirstArgValues}.
      * @param eventNameSwitchBlock
      * @param eventIdSwitchBlock
      */
-    private void handleInterface(Class<?> anInterface, String instanceFieldName, boolean methodFilter, SourceCodeFormatter eventNameSwitchBlock, SourceCodeFormatter eventIdSwitchBlock) {
+    private void handleInterface(Class<?> anInterface, String instanceFieldName, boolean methodFilter, boolean valuesFilter, SourceCodeFormatter eventNameSwitchBlock, SourceCodeFormatter eventIdSwitchBlock, List<String> eventNames) {
         if (Jvm.dontChain(anInterface))
             return;
         if (!handledInterfaces.add(anInterface))
@@ -365,7 +393,7 @@ public class GenerateMethodReader {
 
         for (@NotNull Method m : anInterface.getMethods()) {
             Class<?> declaringClass = m.getDeclaringClass();
-            if (declaringClass == Object.class)
+            if (declaringClass == Object.class || declaringClass == MethodFilterOnFirstArgValues.class)
                 continue;
             final int modifiers = m.getModifiers();
             if (Modifier.isStatic(modifiers) || isSynthetic(modifiers))
@@ -390,7 +418,7 @@ public class GenerateMethodReader {
             }
             handledMethodNames.put(methodName, signature);
 
-            handleMethod(m, anInterface, instanceFieldName, methodFilter, eventNameSwitchBlock, eventIdSwitchBlock);
+            handleMethod(m, anInterface, instanceFieldName, methodFilter, valuesFilter, eventNameSwitchBlock, eventIdSwitchBlock, eventNames);
         }
     }
 
@@ -401,9 +429,10 @@ public class GenerateMethodReader {
      * @param anInterface        Interface which method is processed.
      * @param instanceFieldName  In generated code, method is executed on field with this name.
      * @param methodFilter       <code>true</code> if passed interface is marked with {@link MethodFilterOnFirstArg}.
+     * @param valuesFilter       <code>true</code> if passed interface is marked with {@link MethodFilterOnFirstArgValues}.
      * @param eventIdSwitchBlock
      */
-    private void handleMethod(Method m, Class<?> anInterface, String instanceFieldName, boolean methodFilter, SourceCodeFormatter eventNameSwitchBlock, SourceCodeFormatter eventIdSwitchBlock) {
+    private void handleMethod(Method m, Class<?> anInterface, String instanceFieldName, boolean methodFilter, boolean valuesFilter, SourceCodeFormatter eventNameSwitchBlock, SourceCodeFormatter eventIdSwitchBlock, List<String> eventNames) {
         Jvm.setAccessible(m);
 
         Type[] parameterTypes = getParameterTypes(m, anInterface);
@@ -448,16 +477,19 @@ public class GenerateMethodReader {
         if (parameterTypes.length > 0 || hasRealInterceptorReturns())
             fields.append("\n");
 
+        final int eventIndex = eventNames.size();
+        eventNames.add(m.getName());
+
         final MethodId methodIdAnnotation = Annotations.getAnnotation(m, MethodId.class);
 
         if (methodIdAnnotation != null) {
             int methodId = Maths.toInt32(methodIdAnnotation.value());
-            addMethodIdSwitch(m.getName(), methodId, eventIdSwitchBlock);
+            addMethodIdSwitch(m.getName(), eventIndex, methodId, eventIdSwitchBlock);
         }
 
         String chainedCallPrefix = chainReturnType != null ? "chainedCallReturnResult = " : "";
 
-        eventNameSwitchBlock.append(format("case \"%s\":\n", m.getName()));
+        eventNameSwitchBlock.append(format("case %d: // %s\n", eventIndex, m.getName()));
         if (parameterTypes.length == 0) {
             eventNameSwitchBlock.append("valueIn.skipValue();\n");
             eventNameSwitchBlock.append(methodCall(m, instanceFieldName, chainedCallPrefix, chainReturnType));
@@ -465,18 +497,23 @@ public class GenerateMethodReader {
             eventNameSwitchBlock.append(argumentRead(m, 0, false, parameterTypes));
             eventNameSwitchBlock.append(methodCall(m, instanceFieldName, chainedCallPrefix, chainReturnType));
         } else {
-            if (methodFilter) {
+            if (methodFilter || valuesFilter) {
                 eventNameSwitchBlock.append("ignored = false;\n");
                 eventNameSwitchBlock.append("valueIn.sequence(this, (f, v) -> {\n");
-                eventNameSwitchBlock.append(argumentRead(m, 0, true, parameterTypes));
-                eventNameSwitchBlock.append(format("if (((MethodFilterOnFirstArg) f.%s)." +
-                                "ignoreMethodBasedOnFirstArg(\"%s\", f.%sarg%d)) {\n",
-                        instanceFieldName, m.getName(), m.getName(), 0));
+                List<String> ignoreIf = new ArrayList<>();
+                if (valuesFilter) {
+                    String valuesName = firstArgValues(m, instanceFieldName, parameterTypes, eventNameSwitchBlock);
+                    ignoreIf.add(format("f.%s != null && !f.%s.contains(f.%sarg0)", valuesName, valuesName, m.getName()));
+                } else {
+                    eventNameSwitchBlock.append(argumentRead(m, 0, true, parameterTypes));
+                }
+                if (methodFilter)
+                    ignoreIf.add(format("((MethodFilterOnFirstArg) f.%s).ignoreMethodBasedOnFirstArg(\"%s\", f.%sarg0)",
+                            instanceFieldName, m.getName(), m.getName()));
+                eventNameSwitchBlock.append(format("if (%s) {\n", String.join(" || ", ignoreIf)));
                 eventNameSwitchBlock.append("f.ignored = true;\n");
-
-                for (int i = 1; i < parameterTypes.length; i++)
-                    eventNameSwitchBlock.append("v.skipValue();\n");
-
+                // don't read or create any of the other arguments
+                eventNameSwitchBlock.append(format("v.skipRestOfSequence(%d);\n", parameterTypes.length - 1));
                 eventNameSwitchBlock.append("}\n");
                 eventNameSwitchBlock.append("else {\n");
 
@@ -515,11 +552,81 @@ public class GenerateMethodReader {
         eventNameSwitchBlock.append("break;\n\n");
 
         if (chainReturnType != null)
-            handleInterface(chainReturnType, "chainedCallReturnResult", false, eventNameSwitchBlock, eventIdSwitchBlock);
+            handleInterface(chainReturnType, "chainedCallReturnResult", false, false, eventNameSwitchBlock, eventIdSwitchBlock, eventNames);
+    }
+
+    /**
+     * Generates a field with the values allowed for the first argument of a method, and the code to read it.
+     * Text allowed is looked up before a String is created, so only Strings for allowed values are used.
+     *
+     * @return the name of the field
+     */
+    private String firstArgValues(Method m, String instanceFieldName, Type[] parameterTypes, SourceCodeFormatter eventNameSwitchBlock) {
+        String valuesName = m.getName() + "values";
+        if (fieldNames.add(valuesName)) {
+            fields.append(format("private final FirstArgValues %s;\n", valuesName));
+            firstArgValues.append(format("%s = FirstArgValues.of(((MethodFilterOnFirstArgValues) %s).allowedFirstArgs(\"%s\"));\n",
+                    valuesName, instanceFieldName, m.getName()));
+        }
+        Class<?> firstArgType = erase(parameterTypes[0]);
+        if (firstArgType == String.class || firstArgType == CharSequence.class) {
+            firstArgTextPresent = true;
+            eventNameSwitchBlock.append(format("f.%sarg0 = f.%s == null ? v.text() : f.%s.text(v.textTo(f.firstArgText));\n",
+                    m.getName(), valuesName, valuesName));
+        } else {
+            eventNameSwitchBlock.append(argumentRead(m, 0, true, parameterTypes));
+        }
+        return valuesName;
+    }
+
+    /**
+     * Generates the names of the events handled, and a method to find the index of an event name. The names are
+     * looked up with a perfect hash, which can also be used to read the name directly from the bytes, unless they
+     * can't be hashed this way e.g. names which aren't ASCII.
+     *
+     * @param eventNames in the order of the cases in the switch block
+     * @param suffix     for the fields and method generated
+     * @return true if the names can be looked up from their bytes
+     */
+    private boolean eventNameLookup(List<String> eventNames, String suffix) {
+        String names = eventNames.stream()
+                .map(n -> '"' + n + '"')
+                .collect(Collectors.joining(", "));
+        sourceCode.append(format("// event names, in the order of their cases\n" +
+                "private static final String[] EVENT_NAMES%s = {%s};\n", suffix, names));
+        if (FieldNameLookup.of(eventNames.toArray(new String[0])) != null) {
+            sourceCode.append(format("private static final FieldNameLookup EVENT_LOOKUP%s = FieldNameLookup.of(EVENT_NAMES%s);\n\n", suffix, suffix));
+            sourceCode.append(format("private static int eventIndex%s(String name) {\n" +
+                    "return EVENT_LOOKUP%s.indexOf(name);\n" +
+                    "}\n\n", suffix, suffix));
+            return true;
+        }
+        sourceCode.append(format("\nprivate static int eventIndex%s(String name) {\n" +
+                "switch (name) {\n", suffix));
+        for (int i = 0; i < eventNames.size(); i++)
+            sourceCode.append(format("case \"%s\":\nreturn %d;\n", eventNames.get(i), i));
+        sourceCode.append("default:\n" +
+                "return FieldNameLookup.NOT_FOUND;\n" +
+                "}\n" +
+                "}\n\n");
+        return false;
+    }
+
+    /**
+     * Generates code to read an event name, looking it up from its bytes where possible.
+     */
+    private void readEventName(boolean eventLookup, String suffix) {
+        if (eventLookup) {
+            sourceCode.append(format("eventIndex = wireIn.readEventIndex(EVENT_LOOKUP%s);\n" +
+                    "lastEventName = eventIndex >= 0 ? EVENT_NAMES%s[eventIndex] : wireIn.readEvent(String.class);\n", suffix, suffix));
+        } else {
+            sourceCode.append("lastEventName = wireIn.readEvent(String.class);\n");
+        }
     }
 
-    private void addMethodIdSwitch(String methodName, int methodId, SourceCodeFormatter eventIdSwitchBlock) {
+    private void addMethodIdSwitch(String methodName, int eventIndex, int methodId, SourceCodeFormatter eventIdSwitchBlock) {
         eventIdSwitchBlock.append(format("case %d:\n", methodId));
+        eventIdSwitchBlock.append(format("eventIndex = %d;\n", eventIndex));
         eventIdSwitchBlock.append(format("lastEventName = \"%s\";\n", methodName));
         eventIdSwitchBlock.append("break;\n\n");
     }
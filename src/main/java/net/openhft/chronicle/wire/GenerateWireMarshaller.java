@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.HexDumpBytesDescription;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.UnsafeMemory;
+import net.openhft.chronicle.wire.WireMarshaller.FieldAccess;
+import net.openhft.chronicle.wire.utils.SourceCodeFormatter;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a {@link WireMarshaller} subclass for a specific DTO which reads and writes each field with
+ * straight-line code rather than looping over a {@link FieldAccess}[].
+ * <p>
+ * Primitive and String fields are accessed inline with constant field offsets.
+ * All other fields are delegated to their {@link FieldAccess} through a field of its concrete type,
+ * so each call site is monomorphic and can be inlined.
+ * <p>
+ * The generated class is placed in this package so it can use the package-private field accessors,
+ * and only refers to the DTO via field offsets so it doesn't depend on the DTO's class loader.
+ */
+public class GenerateWireMarshaller extends AbstractClassGenerator<GenerateWireMarshaller.GWMMetaData> {
+    private static final Map<Class<?>, String[]> INLINED = new HashMap<>();
+
+    static {
+        // FieldAccess class -> { unsafe type suffix, ValueOut method, ValueIn method, uses the previous value when not overwriting }
+        INLINED.put(WireMarshaller.BooleanFieldAccess.class, new String[]{"Boolean", "bool", "bool", ""});
+        INLINED.put(WireMarshaller.ByteFieldAccess.class, new String[]{"Byte", "int8", "int8", ""});
+        INLINED.put(WireMarshaller.ShortFieldAccess.class, new String[]{"Short", "int16", "int16", ""});
+        INLINED.put(WireMarshaller.IntegerFieldAccess.class, new String[]{"Int", "int32", "int32", "previous"});
+        INLINED.put(WireMarshaller.LongFieldAccess.class, new String[]{"Long", "int64", "int64", "previous"});
+        INLINED.put(WireMarshaller.FloatFieldAccess.class, new String[]{"Float", "float32", "float32", "previous"});
+        INLINED.put(WireMarshaller.DoubleFieldAccess.class, new String[]{"Double", "float64", "float64", "previous"});
+        INLINED.put(WireMarshaller.StringFieldAccess.class, new String[]{"Object", "text", "text", ""});
+    }
+
+    private final FieldAccess[] fields;
+
+    GenerateWireMarshaller(Class<?> tClass, FieldAccess[] fields) {
+        super(new GWMMetaData());
+        this.fields = fields;
+        String simpleName = tClass.getSimpleName();
+        List<String> fieldSignatures = new ArrayList<>();
+        for (FieldAccess field : fields)
+            fieldSignatures.add(field.field.getName() + ' ' + field.getClass().getSimpleName() + (field.commentAnnotation == null ? "" : " @Comment"));
+        metaData()
+                .packageName(WireMarshaller.class.getPackage().getName())
+                .baseClassName((simpleName.isEmpty() ? "Anonymous" : simpleName) + "Marshaller")
+                .dtoClassName(tClass.getName())
+                .fieldSignatures(fieldSignatures);
+    }
+
+    /**
+     * Instantiates a marshaller for the class given, using a class compiled at build time if there is one.
+     *
+     * @param compile if true, generate and compile the class when there isn't a precompiled one.
+     * @return the generated marshaller or <code>null</code> if it could not be found or generated.
+     */
+    @Nullable
+    static <T> WireMarshaller<T> generatedFor(Class<T> tClass, FieldAccess[] fields, boolean isLeaf, boolean compile) {
+        if (fields.length == 0)
+            return null;
+        try {
+            GenerateWireMarshaller gwm = new GenerateWireMarshaller(tClass, fields);
+            ClassLoader classLoader = WireMarshaller.class.getClassLoader();
+            Class<WireMarshaller<T>> aClass = compile
+                    ? gwm.acquireClass(classLoader)
+                    : gwm.precompiledClass(classLoader);
+            if (aClass == null)
+                return null;
+            return aClass.getConstructor(Class.class, FieldAccess[].class, boolean.class)
+                    .newInstance(tClass, fields, isLeaf);
+        } catch (Throwable t) {
+            Jvm.warn().on(WireMarshaller.class, "Failed to generate a marshaller for " + tClass.getName() + ", using the reflective marshaller", t);
+            return null;
+        }
+    }
+
+    private static boolean isInlined(FieldAccess field) {
+        return field.commentAnnotation == null && INLINED.containsKey(field.getClass());
+    }
+
+    @Override
+    protected Class<?> extendsClass() {
+        return WireMarshaller.class;
+    }
+
+    @Override
+    protected void generateFields(SourceCodeFormatter mainCode) {
+        withLineNumber(mainCode);
+        for (int i = 0; i < fields.length; i++) {
+            FieldAccess field = fields[i];
+            mainCode.append("// ").append(field.field.getName()).append('\n');
+            mainCode.append("private final ").append(nameForClass(WireKey.class)).append(" key").append(i).append(";\n");
+            if (isInlined(field))
+                mainCode.append("private final long offset").append(i).append(";\n");
+            mainCode.append("private final ").append(nameForClass(field.getClass())).append(" field").append(i).append(";\n");
+        }
+    }
+
+    @Override
+    protected void generateConstructors(SourceCodeFormatter mainCode) {
+        String fieldAccess = nameForClass(FieldAccess.class);
+        withLineNumber(mainCode)
+                .append("public ").append(className()).append("(Class tClass, ").append(fieldAccess).append("[] fields, boolean isLeaf) {\n")
+                .append("super(tClass, fields, isLeaf);\n");
+        for (int i = 0; i < fields.length; i++) {
+            FieldAccess field = fields[i];
+            mainCode.append("key").append(i).append(" = fields[").append(i).append("].key;\n");
+            if (isInlined(field))
+                mainCode.append("offset").append(i).append(" = fields[").append(i).append("].offset;\n");
+            mainCode.append("field").append(i).append(" = (").append(nameForClass(field.getClass())).append(") fields[").append(i).append("];\n");
+        }
+        mainCode.append("}\n\n");
+    }
+
+    @Override
+    protected void generateMethod(Method method, StringBuilder params, List<String> paramList, SourceCodeFormatter mainCode) {
+        // no abstract methods to implement.
+    }
+
+    @Override
+    protected void generateEnd(SourceCodeFormatter mainCode) {
+        generateWriteMarshallable(mainCode);
+        generateReadMarshallableDTOOrder(mainCode);
+    }
+
+    private void generateWriteMarshallable(SourceCodeFormatter mainCode) {
+        String unsafe = nameForClass(UnsafeMemory.class);
+        boolean delegates = false;
+        for (FieldAccess field : fields)
+            delegates |= !isInlined(field);
+
+        withLineNumber(mainCode)
+                .append("@Override\n" +
+                        "public void writeMarshallable(Object t, ").append(nameForClass(WireOut.class)).append(" out) {\n")
+                .append(nameForClass(HexDumpBytesDescription.class)).append(" bytes = out.bytesComment();\n" +
+                        "bytes.adjustHexDumpIndentation(+1);\n" +
+                        "writeShapeHint(out);\n");
+        if (delegates)
+            mainCode.append("try {\n");
+        for (int i = 0; i < fields.length; i++) {
+            FieldAccess field = fields[i];
+            if (isInlined(field)) {
+                String[] inlined = INLINED.get(field.getClass());
+                mainCode.append("out.write(key").append(i).append(").").append(inlined[1]).append("(")
+                        .append(unsafe).append(".").append(inlined[0].equals("Object") ? "<String>" : "")
+                        .append("unsafeGet").append(inlined[0]).append("(t, offset").append(i).append("));\n");
+            } else {
+                mainCode.append("field").append(i).append(".write(t, out);\n");
+            }
+        }
+        if (delegates)
+            mainCode.append("} catch (IllegalAccessException e) {\n" +
+                    "throw new AssertionError(e);\n" +
+                    "}\n");
+        mainCode.append("bytes.adjustHexDumpIndentation(-1);\n" +
+                "}\n\n");
+    }
+
+    private void generateReadMarshallableDTOOrder(SourceCodeFormatter mainCode) {
+        String unsafe = nameForClass(UnsafeMemory.class);
+        withLineNumber(mainCode)
+                .append("@Override\n" +
+                        "public void readMarshallableDTOOrder(Object t, ").append(nameForClass(WireIn.class)).append(" in, Object defaults, boolean overwrite) {\n")
+                .append("try {\n")
+                .append(nameForClass(ValueIn.class)).append(" vin;\n");
+        for (int i = 0; i < fields.length; i++) {
+            FieldAccess field = fields[i];
+            mainCode.append("vin = in.read(key").append(i).append(");\n");
+            if (!isInlined(field)) {
+                mainCode.append("field").append(i).append(".readValue(t, defaults, vin, overwrite);\n");
+                continue;
+            }
+            String[] inlined = INLINED.get(field.getClass());
+            String type = inlined[0];
+            String offset = "offset" + i;
+            String read = "vin." + inlined[2] + "()";
+            if (!inlined[3].isEmpty())
+                read = "overwrite ? " + read + " : vin." + inlined[2] + "(" + unsafe + ".unsafeGet" + type + "(t, " + offset + "))";
+            mainCode.append("if (vin.isPresent()) {\n" +
+                            "long pos = in.bytes().readPosition();\n" +
+                            "try {\n")
+                    .append(unsafe).append(".unsafePut").append(type).append("(t, ").append(offset).append(", ").append(read).append(");\n")
+                    .append("} catch (RuntimeException e) {\n" +
+                            "// retry with the reflective path which handles bad values.\n" +
+                            "in.bytes().readPosition(pos);\n")
+                    .append("field").append(i).append(".readValue(t, defaults, vin, overwrite);\n")
+                    .append("}\n" +
+                            "} else if (overwrite && defaults != null) {\n")
+                    .append(unsafe).append(".unsafePut").append(type).append("(t, ").append(offset).append(", ")
+                    .append(unsafe).append(".unsafeGet").append(type).append("(defaults, ").append(offset).append("));\n")
+                    .append("}\n");
+        }
+        mainCode.append("} catch (IllegalAccessException e) {\n" +
+                "throw new AssertionError(e);\n" +
+                "}\n" +
+                "}\n");
+    }
+
+    public static class GWMMetaData extends AbstractClassGenerator.MetaData<GWMMetaData> {
+        private String dtoClassName;
+        private List<String> fieldSignatures = Collections.emptyList();
+
+        public String dtoClassName() {
+            return dtoClassName;
+        }
+
+        public GWMMetaData dtoClassName(String dtoClassName) {
+            this.dtoClassName = dtoClassName;
+            return this;
+        }
+
+        public List<String> fieldSignatures() {
+            return fieldSignatures;
+        }
+
+        public GWMMetaData fieldSignatures(List<String> fieldSignatures) {
+            this.fieldSignatures = fieldSignatures;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.ObjectUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the source of the method writers, method readers and marshallers which would otherwise be generated
+ * and compiled at runtime, so they can be compiled with the rest of a project at build time.
+ * <p>
+ * {@link VanillaMethodWriterBuilder}, {@link VanillaMethodReaderBuilder} and {@link WireMarshaller}
+ * use a class with the expected name if it is on the class path before compiling one.
+ * <p>
+ * Usage: <code>GenerateWireSourcesMain {output-dir} [--wireType=BINARY_LIGHT]... [reader:|writer:|marshaller:]{class-name}...</code>
+ * <p>
+ * Without a prefix, an interface produces a method writer, a {@link Marshallable} a marshaller
+ * and any other class a method reader with that class as the handler.
+ * A typical build runs this with the exec-maven-plugin in the <code>process-classes</code> phase,
+ * adding the output directory as a source directory compiled in a later execution of the compiler plugin.
+ */
+public class GenerateWireSourcesMain {
+    private final List<WireType> wireTypes = new ArrayList<>();
+
+    public static void main(String... args) throws ClassNotFoundException {
+        if (args.length < 2) {
+            System.err.println("Usage: " + GenerateWireSourcesMain.class.getName()
+                    + " {output-dir} [--wireType=BINARY_LIGHT]... [reader:|writer:|marshaller:]{class-name}...");
+            System.exit(-1);
+        }
+        GenerateWireSourcesMain main = new GenerateWireSourcesMain();
+        List<String> classNames = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--wireType="))
+                main.wireTypes.add(WireType.valueOf(args[i].substring("--wireType=".length())));
+            else
+                classNames.add(args[i]);
+        }
+        main.generate(new File(args[0]), classNames);
+    }
+
+    void generate(File outputDir, List<String> classNames) throws ClassNotFoundException {
+        if (wireTypes.isEmpty())
+            wireTypes.add(WireType.BINARY_LIGHT);
+        File previous = Wires.generatedSourceDir;
+        Wires.generatedSourceDir = outputDir;
+        try {
+            for (String className : classNames)
+                generate(className);
+        } finally {
+            Wires.generatedSourceDir = previous;
+        }
+    }
+
+    private void generate(String name) throws ClassNotFoundException {
+        int colon = name.indexOf(':');
+        String kind = colon < 0 ? null : name.substring(0, colon);
+        Class<?> aClass = Class.forName(name.substring(colon + 1));
+        if (kind == null)
+            kind = aClass.isInterface() ? "writer"
+                    : Marshallable.class.isAssignableFrom(aClass) ? "marshaller"
+                    : "reader";
+
+        switch (kind) {
+            case "writer":
+                for (WireType wireType : wireTypes)
+                    wireType.apply(Bytes.allocateElasticOnHeap()).methodWriter(aClass);
+                break;
+            case "reader":
+                Object handler = ObjectUtils.newInstance(aClass);
+                for (WireType wireType : wireTypes)
+                    wireType.apply(Bytes.allocateElasticOnHeap()).methodReader(handler);
+                break;
+            case "marshaller":
+                WireMarshaller.of(aClass, true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown kind " + kind + " for " + name + ", expected reader, writer or marshaller");
+        }
+    }
+}
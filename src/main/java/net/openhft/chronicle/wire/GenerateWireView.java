@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.ClassLocal;
+import net.openhft.chronicle.wire.utils.SourceCodeFormatter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates a {@link WireView} for an interface of getters, which extends {@link AbstractWireView}.
+ * Each getter calls the typed read method of the base class for the index of its field.
+ */
+public class GenerateWireView extends AbstractClassGenerator<GenerateWireView.GWVMetaData> {
+    private static final ClassLocal<Class<?>> VIEW_CLASSES = ClassLocal.withInitial(GenerateWireView::viewClassFor);
+    // view interface -> wire type and class written -> layout
+    private static final ClassLocal<Map<String, AbstractWireView.Layout>> LAYOUTS = ClassLocal.withInitial(c -> new ConcurrentHashMap<>());
+
+    private final List<String> names = new ArrayList<>();
+
+    GenerateWireView(Class<?> viewInterface) {
+        super(new GWVMetaData());
+        List<String> getterSignatures = new ArrayList<>();
+        for (Method getter : AbstractWireView.getters(viewInterface)) {
+            names.add(AbstractWireView.fieldName(getter));
+            getterSignatures.add(getter.getReturnType().getName() + ' ' + getter.getName());
+        }
+        metaData()
+                .packageName(viewInterface.getPackage().getName())
+                .baseClassName(viewInterface.getSimpleName() + "View")
+                .getterSignatures(getterSignatures)
+                .interfaces().add(viewInterface);
+    }
+
+    @NotNull
+    static <V> V newView(@NotNull Class<V> viewInterface, @NotNull WireType wireType, @Nullable Class<?> writtenAs) {
+        if (wireType != WireType.BINARY
+                && wireType != WireType.BINARY_LIGHT
+                && wireType != WireType.FIELDLESS_BINARY
+                && wireType != WireType.RAW)
+            throw new IllegalArgumentException("Views of " + wireType + " are not supported");
+        String key = wireType + (writtenAs == null ? "" : " " + writtenAs.getName());
+        AbstractWireView.Layout layout = LAYOUTS.get(viewInterface)
+                .computeIfAbsent(key, k -> new AbstractWireView.Layout(viewInterface, wireType, writtenAs));
+        try {
+            return (V) VIEW_CLASSES.get(viewInterface)
+                    .getConstructor(AbstractWireView.Layout.class)
+                    .newInstance(layout);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Class<?> viewClassFor(Class<?> viewInterface) {
+        return new GenerateWireView(viewInterface)
+                .acquireClass(viewInterface.getClassLoader());
+    }
+
+    @Override
+    protected Class<?> extendsClass() {
+        return AbstractWireView.class;
+    }
+
+    @Override
+    protected void generateConstructors(SourceCodeFormatter mainCode) {
+        withLineNumber(mainCode)
+                .append("public ").append(className()).append("(").append(nameForClass(AbstractWireView.Layout.class)).append(" layout) {\n")
+                .append("super(layout);\n")
+                .append("}\n\n");
+    }
+
+    @Override
+    protected void generateMethod(Method method, StringBuilder params, List<String> paramList, SourceCodeFormatter mainCode) {
+        int index = names.indexOf(AbstractWireView.fieldName(method));
+        Class<?> type = method.getReturnType();
+        mainCode.append("return ");
+        switch (type.getName()) {
+            case "boolean":
+                mainCode.append("readBoolean(");
+                break;
+            case "byte":
+                mainCode.append("readByte(");
+                break;
+            case "short":
+                mainCode.append("readShort(");
+                break;
+            case "char":
+                mainCode.append("readChar(");
+                break;
+            case "int":
+                mainCode.append("readInt(");
+                break;
+            case "long":
+                mainCode.append("readLong(");
+                break;
+            case "float":
+                mainCode.append("readFloat(");
+                break;
+            case "double":
+                mainCode.append("readDouble(");
+                break;
+            case "java.lang.CharSequence":
+                mainCode.append("readText(");
+                break;
+            case "java.lang.String":
+                mainCode.append("readString(");
+                break;
+            default:
+                String typeName = nameForClass(type);
+                mainCode.append("readObject(").append(index).append(", ").append(typeName).append(".class);\n");
+                return;
+        }
+        mainCode.append(index).append(");\n");
+    }
+
+    public static class GWVMetaData extends AbstractClassGenerator.MetaData<GWVMetaData> {
+        private List<String> getterSignatures;
+
+        public List<String> getterSignatures() {
+            return getterSignatures;
+        }
+
+        public GWVMetaData getterSignatures(List<String> getterSignatures) {
+            this.getterSignatures = getterSignatures;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The positions of the structural characters of a JSON document, <code>{ } [ ] : ,</code> outside strings, and the
+ * opening and closing quote of each string, found in one pass over the bytes. Each opening bracket and quote
+ * also has the index of the one closing it, so a value can be skipped without reading it.
+ * <p>
+ * Eight bytes are tested at a time for any of these characters or a backslash, so runs of text and numbers are
+ * skipped a word at a time.
+ */
+final class JSONStructuralIndex {
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    // '[' and '{', ']' and '}' differ only in bit 5
+    private static final long BIT5 = 0x20 * ONES;
+
+    private BytesStore<?, ?> bs;
+    private long start;
+    private long end;
+    private int[] offsets = new int[64];
+    // the index of the closing bracket or quote for an opening one, otherwise -1
+    private int[] closes = new int[64];
+    private int count;
+    // where the last search found a token, as reads usually move forward a token or two at a time
+    private int hint;
+    // single quoted strings aren't indexed
+    private boolean singleQuoted;
+    // the state between words
+    private boolean inString;
+    private long skipTo;
+    private int openQuote;
+    private int[] openBrackets = new int[16];
+    private int depth;
+
+    /**
+     * @return the high bit of each byte of <code>word</code> which is <code>ch</code>
+     */
+    private static long bytesEqual(long word, int ch) {
+        long x = word ^ (ch * ONES);
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+
+    /**
+     * Index the JSON from <code>start</code> to <code>end</code>.
+     *
+     * @return this
+     */
+    @NotNull
+    JSONStructuralIndex build(@NotNull BytesStore<?, ?> bs, long start, long end) {
+        this.bs = bs;
+        this.start = start;
+        this.end = end;
+        count = 0;
+        hint = 0;
+        singleQuoted = false;
+        inString = false;
+        skipTo = start;
+        depth = 0;
+        long pos = start;
+        if (LITTLE_ENDIAN) {
+            for (; pos + 8 <= end; pos += 8) {
+                long word = bs.readLong(pos);
+                long brackets = word | BIT5;
+                long mask = bytesEqual(word, '"')
+                        | bytesEqual(word, '\'')
+                        | bytesEqual(word, '\\')
+                        | bytesEqual(brackets, '{')
+                        | bytesEqual(brackets, '}')
+                        | bytesEqual(word, ':')
+                        | bytesEqual(word, ',');
+                while (mask != 0) {
+                    int i = Long.numberOfTrailingZeros(mask) >>> 3;
+                    visit(pos + i, (int) (word >>> (i << 3)) & 0xFF);
+                    mask &= mask - 1;
+                }
+            }
+        }
+        for (; pos < end; pos++) {
+            int ch = bs.readUnsignedByte(pos);
+            switch (ch) {
+                case '"':
+                case '\'':
+                case '\\':
+                case '{':
+                case '}':
+                case '[':
+                case ']':
+                case ':':
+                case ',':
+                    visit(pos, ch);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return this;
+    }
+
+    private void visit(long pos, int ch) {
+        if (pos < skipTo)
+            return;
+        if (inString) {
+            if (ch == '\\') {
+                // skip the escaped character
+                skipTo = pos + 2;
+            } else if (ch == '"') {
+                closes[openQuote] = count;
+                add(pos);
+                inString = false;
+            }
+            return;
+        }
+        switch (ch) {
+            case '"':
+                openQuote = count;
+                add(pos);
+                inString = true;
+                break;
+            case '{':
+            case '[':
+                if (depth == openBrackets.length)
+                    openBrackets = Arrays.copyOf(openBrackets, depth * 2);
+                openBrackets[depth++] = count;
+                add(pos);
+                break;
+            case '}':
+            case ']':
+                if (depth > 0)
+                    closes[openBrackets[--depth]] = count;
+                add(pos);
+                break;
+            case '\'':
+                singleQuoted = true;
+                break;
+            case '\\':
+                break;
+            default:
+                add(pos);
+                break;
+        }
+    }
+
+    private void add(long pos) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            closes = Arrays.copyOf(closes, count * 2);
+        }
+        closes[count] = -1;
+        offsets[count++] = (int) (pos - start);
+    }
+
+    /**
+     * Forget the document indexed, e.g. as the bytes are about to be reused.
+     */
+    void reset() {
+        bs = null;
+        count = 0;
+    }
+
+    /**
+     * @return true if <code>position</code> is in the document indexed from <code>bs</code> up to <code>end</code>
+     */
+    boolean covers(@NotNull BytesStore<?, ?> bs, long position, long end) {
+        return this.bs == bs && this.end == end && start <= position && position < end;
+    }
+
+    /**
+     * @return true if there is a single quoted string, which isn't indexed.
+     */
+    boolean singleQuoted() {
+        return singleQuoted;
+    }
+
+    /**
+     * @return the index of the first structural character at or after <code>position</code>, or -1 if there isn't one.
+     */
+    int next(long position) {
+        int offset = (int) (position - start);
+        int i = hint;
+        if (i >= count || offsets[i] < offset || (i > 0 && offsets[i - 1] >= offset)) {
+            int lo = 0;
+            int hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (offsets[mid] < offset)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            i = lo;
+        }
+        if (i >= count)
+            return -1;
+        hint = i + 1;
+        return i;
+    }
+
+    /**
+     * @return the index of the structural character at <code>position</code>, or -1 if there isn't one.
+     */
+    int at(long position) {
+        int i = next(position);
+        return i >= 0 && position(i) == position ? i : -1;
+    }
+
+    /**
+     * @return the index of the bracket or quote closing the one at <code>index</code>, or -1 if it isn't an opening one
+     * or isn't closed.
+     */
+    int closing(int index) {
+        return closes[index];
+    }
+
+    int count() {
+        return count;
+    }
+
+    long position(int index) {
+        return start + offsets[index];
+    }
+
+    /**
+     * @return true if the last string is closed
+     */
+    boolean complete() {
+        return !inString;
+    }
+}
@@ -19,11 +19,13 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.StopCharTester;
 import net.openhft.chronicle.bytes.StopCharTesters;
 import net.openhft.chronicle.bytes.StopCharsTester;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.util.ClassNotFoundRuntimeException;
+import net.openhft.chronicle.core.util.ObjDoubleConsumer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -49,7 +51,12 @@ public class JSONWire extends TextWire {
     @SuppressWarnings("rawtypes")
     static final BytesStore COMMA = BytesStore.from(",");
     static final Supplier<StopCharsTester> STRICT_END_OF_TEXT_JSON_ESCAPING = TextStopCharsTesters.STRICT_END_OF_TEXT_JSON::escaping;
+    // read and copy JSON by walking an index of its structural characters.
+    private static final boolean STRUCTURAL_INDEX = Jvm.getBoolean("wire.json.structuralIndex");
     boolean useTypes;
+    private boolean structuralIndex = STRUCTURAL_INDEX;
+    private JSONStructuralIndex index;
+    private int token;
 
     @SuppressWarnings("rawtypes")
     public JSONWire() {
@@ -100,6 +107,36 @@ public class JSONWire extends TextWire {
         return useTypes;
     }
 
+    public boolean structuralIndex() {
+        return structuralIndex;
+    }
+
+    /**
+     * If true, the position of every bracket, colon, comma and string is found in one pass over the bytes, then
+     * {@link #copyTo(WireOut)}, and reading field names, text, numbers and marshallables, use those positions rather
+     * than parsing a character at a time e.g. a value which isn't wanted is skipped by jumping to its closing bracket.
+     * The index is rebuilt when more bytes are added or the wire is cleared. Only double quoted strings are supported,
+     * anything else is read as if this were false.
+     */
+    public JSONWire structuralIndex(boolean structuralIndex) {
+        this.structuralIndex = structuralIndex;
+        return this;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (index != null)
+            index.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (index != null)
+            index.reset();
+    }
+
     @Override
     public @NotNull TextWire useTextDocuments() {
         readContext = new JSONReadDocumentContext(this);
@@ -146,7 +183,7 @@ public class JSONWire extends TextWire {
                     consumePadding();
                 }
 
-                final double v = isNull ? Double.NaN : bytes.parseDouble();
+                final double v = isNull ? Double.NaN : parseDouble();
                 checkRewind();
                 return v;
             }
@@ -177,12 +214,242 @@ public class JSONWire extends TextWire {
 
         consumePadding();
         trimCurlyBrackets();
+        if (structuralIndex) {
+            copyIndexed(wire);
+            return;
+        }
         while (bytes.readRemaining() > 1) {
             copyOne(wire, true, true);
             consumePadding();
         }
     }
 
+    private void copyIndexed(@NotNull WireOut wire) {
+        if (index == null)
+            index = new JSONStructuralIndex();
+        index.build(bytes, bytes.readPosition(), bytes.readLimit());
+        if (!index.complete())
+            throw new IORuntimeException("Unterminated string in " + bytes.toDebugString(64));
+        token = 0;
+        while (bytes.readRemaining() > 1) {
+            copyIndexedOne(wire, true, true);
+            consumePadding();
+        }
+    }
+
+    /**
+     * @return the structural character at the read position, or -1 if it is not the next one indexed.
+     */
+    private int peekIndexed() {
+        if (token < index.count() && index.position(token) == bytes.readPosition())
+            return peekNextByte();
+        return -1;
+    }
+
+    private void expectIndexed(char expected) {
+        consumePadding();
+        if (peekIndexed() != expected)
+            throw new IORuntimeException("Expected a '" + expected + "' but got '" + bytes.toDebugString(16) + "'");
+        token++;
+        bytes.readSkip(1);
+    }
+
+    private void copyIndexedOne(@NotNull WireOut wire, boolean inMap, boolean topLevel) {
+        switch (peekIndexed()) {
+            case '"':
+                final StringBuilder sb = readIndexedString();
+                if (inMap) {
+                    if (topLevel)
+                        wire.writeEvent(String.class, sb);
+                    else
+                        wire.write(sb);
+                    expectIndexed(':');
+                    consumePadding();
+                    copyIndexedOne(wire, false, false);
+                } else {
+                    wire.getValueOut().text(sb);
+                }
+                return;
+
+            case '{':
+                token++;
+                bytes.readSkip(1);
+                consumePadding();
+                if (isTypePrefix())
+                    copyIndexedTypePrefix(wire);
+                else
+                    wire.getValueOut().marshallable(out -> copyIndexedEntries(wire, '}', true));
+                return;
+
+            case '[':
+                token++;
+                bytes.readSkip(1);
+                wire.getValueOut().sequence(out -> copyIndexedEntries(wire, ']', false));
+                return;
+
+            case -1:
+                break;
+
+            default:
+                throw new IORuntimeException("Unexpected '" + (char) peekNextByte() + "' at " + bytes.toDebugString(64));
+        }
+        // a scalar isn't indexed.
+        int ch = bytes.readUnsignedByte();
+        if ((ch >= '0' && ch <= '9') || ch == '+' || ch == '-' || ch == '.') {
+            copyNumber(wire);
+            return;
+        }
+        if (ch == 'n' && bytes.startsWith(ULL) && !Character.isLetterOrDigit(bytes.peekUnsignedByte(bytes.readPosition() + 3))) {
+            bytes.readSkip(3);
+            consumePadding();
+            wire.getValueOut().nu11();
+            return;
+        }
+        bytes.readSkip(-1);
+        throw new IORuntimeException("Unexpected chars '" + bytes.parse8bit(StopCharTesters.CONTROL_STOP) + "'");
+    }
+
+    private void copyIndexedEntries(@NotNull WireOut wire, char end, boolean inMap) {
+        consumePadding();
+        while (bytes.readRemaining() > 0) {
+            if (peekIndexed() == end) {
+                token++;
+                bytes.readSkip(1);
+                return;
+            }
+            copyIndexedOne(wire, inMap, false);
+            consumePadding();
+            if (peekIndexed() == ',') {
+                token++;
+                bytes.readSkip(1);
+                consumePadding();
+            } else if (peekIndexed() != end) {
+                throw new IORuntimeException("Expected a comma or '" + end + "' not a '" + (char) peekNextByte() + "'");
+            }
+        }
+    }
+
+    private void copyIndexedTypePrefix(@NotNull WireOut wire) {
+        final StringBuilder sb = readIndexedString();
+        // drop the '@
+        sb.deleteCharAt(0);
+        wire.getValueOut().typePrefix(sb);
+        expectIndexed(':');
+        consumePadding();
+        copyIndexedOne(wire, true, false);
+        expectIndexed('}');
+    }
+
+    /**
+     * Read the string between the quote at the read position and the next quote indexed.
+     */
+    @NotNull
+    private StringBuilder readIndexedString() {
+        long open = index.position(token);
+        long close = index.position(token + 1);
+        token += 2;
+        final StringBuilder sb = acquireStringBuilder();
+        SwarDecoder.append8bit(bytes, open + 1, (int) (close - open - 1), sb);
+        unescape(sb);
+        bytes.readPosition(close + 1);
+        return sb;
+    }
+
+    /**
+     * Index from <code>position</code> to the read limit unless this is already indexed.
+     *
+     * @return true if the index can be used
+     */
+    private boolean indexFrom(long position) {
+        if (index == null)
+            index = new JSONStructuralIndex();
+        if (!index.covers(bytes, position, bytes.readLimit()))
+            index.build(bytes, position, bytes.readLimit());
+        return !index.singleQuoted();
+    }
+
+    /**
+     * @return the end of the value at the read position found using the index, or -1 if it can't be.
+     */
+    long indexedEnd() {
+        final long position = bytes.readPosition();
+        final long limit = bytes.readLimit();
+        if (position >= limit || !indexFrom(position))
+            return -1;
+        final int ch = bytes.peekUnsignedByte(position);
+        switch (ch) {
+            case '"':
+            case '{':
+            case '[': {
+                int open = index.at(position);
+                if (open < 0)
+                    return -1;
+                int close = index.closing(open);
+                if (close < 0)
+                    return -1;
+                long end = index.position(close);
+                // '[' and '{' are two less than ']' and '}'
+                int expected = ch == '"' ? '"' : ch + 2;
+                return end < limit && bytes.peekUnsignedByte(end) == expected ? end + 1 : -1;
+            }
+            case ',':
+            case ':':
+            case '}':
+            case ']':
+            case '\'':
+            case '!':
+            case '$':
+            case '?':
+                return -1;
+            default: {
+                // a scalar ends at the next comma or closing bracket
+                int next = index.next(position);
+                long end = limit;
+                if (next >= 0 && index.position(next) < limit) {
+                    end = index.position(next);
+                    int stop = bytes.peekUnsignedByte(end);
+                    if (stop != ',' && stop != '}' && stop != ']')
+                        return -1;
+                }
+                while (end > position && bytes.peekUnsignedByte(end - 1) <= ' ')
+                    end--;
+                return end;
+            }
+        }
+    }
+
+    @Override
+    <ACS extends Appendable & CharSequence> void parseQuoted(@NotNull ACS a, char quote, @NotNull StopCharTester tester) {
+        // the opening quote has been read
+        if (structuralIndex && quote == '"' && (a instanceof StringBuilder || a instanceof Bytes)
+                && indexFrom(bytes.readPosition() - 1)) {
+            int open = index.at(bytes.readPosition() - 1);
+            int close = open < 0 ? -1 : index.closing(open);
+            if (close >= 0) {
+                long start = bytes.readPosition();
+                long end = index.position(close);
+                if (end < bytes.readLimit() && bytes.peekUnsignedByte(end) == '"') {
+                    // escapes are left for the caller to unescape, as the super method does
+                    if (a instanceof StringBuilder) {
+                        StringBuilder sb = (StringBuilder) a;
+                        sb.setLength(0);
+                        if (use8bit)
+                            SwarDecoder.append8bit(bytes, start, (int) (end - start), sb);
+                        else
+                            SwarDecoder.appendUtf8(bytes, start, (int) (end - start), sb);
+                    } else {
+                        Bytes<?> b = (Bytes<?>) a;
+                        b.clear();
+                        b.write(bytes, start, end - start);
+                    }
+                    bytes.readPosition(end + 1);
+                    return;
+                }
+            }
+        }
+        super.parseQuoted(a, quote, tester);
+    }
+
     private void trimCurlyBrackets() {
         if (peekNextByte() == '}') {
             bytes.readSkip(1);
@@ -671,6 +938,93 @@ public class JSONWire extends TextWire {
     }
 
     class JSONValueIn extends TextValueIn {
+        @Override
+        protected long readLengthMarshallable() {
+            if (structuralIndex) {
+                final long start = bytes.readPosition();
+                consumePadding();
+                final long end = indexedEnd();
+                bytes.readPosition(start);
+                if (end >= 0)
+                    return end - start;
+            }
+            return super.readLengthMarshallable();
+        }
+
+        @NotNull
+        @Override
+        public WireIn skipValue() {
+            if (structuralIndex) {
+                consumePadding();
+                final long end = indexedEnd();
+                if (end >= 0) {
+                    bytes.readPosition(end);
+                    consumePadding();
+                    if (peekCode() == ',')
+                        bytes.readSkip(1);
+                    return JSONWire.this;
+                }
+            }
+            return super.skipValue();
+        }
+
+        @Override
+        long getALong() {
+            if (structuralIndex) {
+                final long start = bytes.readPosition();
+                final long end = indexedEnd();
+                if (end > start) {
+                    boolean negative = bytes.peekUnsignedByte(start) == '-';
+                    long pos = negative ? start + 1 : start;
+                    // up to 18 digits can't overflow
+                    if (pos < end && end - pos <= 18) {
+                        long value = 0;
+                        for (; pos < end; pos++) {
+                            int d = bytes.peekUnsignedByte(pos) - '0';
+                            if (d < 0 || d > 9)
+                                break;
+                            value = value * 10 + d;
+                        }
+                        if (pos == end) {
+                            // consume the separator as bytes.parseLong() does
+                            bytes.readPosition(Math.min(end + 1, bytes.readLimit()));
+                            return negative ? -value : value;
+                        }
+                    }
+                }
+            }
+            return super.getALong();
+        }
+
+        /**
+         * @return the number at the read position, parsed between the positions in the index if it can be.
+         */
+        double parseDouble() {
+            if (structuralIndex) {
+                final long start = bytes.readPosition();
+                final long end = indexedEnd();
+                if (end > start) {
+                    final double d = DoubleText.parseDouble(bytes, start, end);
+                    if (d == d) {
+                        // consume the separator as bytes.parseDouble() does
+                        bytes.readPosition(Math.min(end + 1, bytes.readLimit()));
+                        return d;
+                    }
+                }
+            }
+            return bytes.parseDouble();
+        }
+
+        @NotNull
+        @Override
+        public <T> WireIn float64(@NotNull T t, @NotNull ObjDoubleConsumer<T> td) {
+            consumePadding();
+            if (peekCode() == '$')
+                return super.float64(t, td);
+            td.accept(t, parseDouble());
+            return JSONWire.this;
+        }
+
         /**
          * @return true if !!null "", if {@code true} reads the !!null "" up to the next STOP, if
          * {@code false} no  data is read  ( data is only peaked if {@code false} )
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * A declarative alternative to {@link MethodFilterOnFirstArg}, where a handler lists the values of the first
+ * argument it wants for each method. The values are compiled into a {@link FirstArgValues} when the reader is built,
+ * and any other message is skipped as soon as its first argument has been read, without reading the other arguments.
+ */
+@FunctionalInterface
+public interface MethodFilterOnFirstArgValues {
+    /**
+     * For multi-argument method calls, the values of the first argument to handle.
+     *
+     * @param methodName name of the method
+     * @return the first arguments to handle, as the type of the first argument, or <code>null</code> to handle all of them.
+     */
+    @Nullable
+    Collection<?> allowedFirstArgs(String methodName);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+/**
+ * Chooses the key of a message for a {@link PartitionedMethodReader}. Messages with the same key are handled in order
+ * by the same partition.
+ */
+@FunctionalInterface
+public interface PartitionKey {
+    /**
+     * Peek the key from the first argument of a message, e.g. <code>firstArg.int64()</code> or
+     * <code>firstArg.text()</code>, in the way {@link MethodFilterOnFirstArg} filters on it.
+     *
+     * @param methodName of the message
+     * @param firstArg   to read the first argument from, only called for methods with at least one argument.
+     * @return the key of the message
+     */
+    long key(String methodName, ValueIn firstArg);
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodId;
+import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.bytes.MethodReaderInterceptorReturns;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.util.Annotations;
+import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;
+import net.openhft.chronicle.threads.Pauser;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
+
+/**
+ * Reads messages on the calling thread only as far as the key of each message, and passes the message to one of a
+ * number of partitions, each with its own thread and method reader, so decoding and handling scale across cores while
+ * the messages for each key are still handled in order.
+ * <p>
+ * The messages are copied to each partition through a single producer, single consumer queue. The partition of a
+ * key is <code>floorMod(key, partitions)</code>, and messages with no arguments, or which aren't for a method of the
+ * handlers, are handled by partition 0. Metadata messages are ignored.
+ * <pre>
+ * PartitionedMethodReader reader = wire.methodReaderBuilder()
+ *         .buildPartitioned(16, (method, firstArg) -&gt; firstArg.int64(), i -&gt; new OrderBook(i));
+ * while (running)
+ *     reader.drain();
+ * </pre>
+ */
+public class PartitionedMethodReader implements BatchMethodReader {
+    static final int QUEUE_CAPACITY = Integer.getInteger("wire.partitionedReader.queueCapacity", 1024);
+
+    private final MarshallableIn in;
+    private final PartitionKey partitionKey;
+    // the number of arguments of each method handled by name and @MethodId
+    private final Map<String, Integer> argumentCounts = new HashMap<>();
+    private final SpscWireQueue[] queues;
+    private final Partition[] partitions;
+    private final Thread[] threads;
+    private boolean closeIn = false;
+    private volatile boolean closed;
+    private String peekName;
+    private long peekKey;
+
+    PartitionedMethodReader(@NotNull MarshallableIn in,
+                            @NotNull WireType wireType,
+                            int partitions,
+                            @NotNull PartitionKey partitionKey,
+                            @NotNull IntFunction<Object> handlers,
+                            @NotNull BiFunction<MarshallableIn, Object, MethodReader> readerBuilder) {
+        if (partitions < 1)
+            throw new IllegalArgumentException("partitions must be at least 1, was " + partitions);
+        this.in = in;
+        this.partitionKey = partitionKey;
+        this.queues = new SpscWireQueue[partitions];
+        this.partitions = new Partition[partitions];
+        this.threads = new Thread[partitions];
+        for (int i = 0; i < partitions; i++) {
+            Object handler = handlers.apply(i);
+            if (i == 0)
+                addArgumentCounts(handler.getClass());
+            queues[i] = new SpscWireQueue(wireType, QUEUE_CAPACITY);
+            this.partitions[i] = new Partition(i, queues[i]);
+            this.partitions[i].reader = readerBuilder.apply(this.partitions[i], handler);
+        }
+        for (int i = 0; i < partitions; i++) {
+            threads[i] = new Thread(this.partitions[i], "partition-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    private void addArgumentCounts(Class<?> handlerClass) {
+        for (Class<?> anInterface : ReflectionUtil.interfaces(handlerClass)) {
+            for (Method m : anInterface.getMethods()) {
+                if (Modifier.isStatic(m.getModifiers()) || m.getDeclaringClass() == Object.class)
+                    continue;
+                int count = m.getParameterCount();
+                argumentCounts.put(m.getName(), count);
+                MethodId methodId = Annotations.getAnnotation(m, MethodId.class);
+                if (methodId != null)
+                    argumentCounts.put(Long.toString(methodId.value()), count);
+            }
+        }
+    }
+
+    public int partitions() {
+        return partitions.length;
+    }
+
+    /**
+     * @return the number of messages passed to the partitions but not handled yet.
+     */
+    public long pending() {
+        long pending = 0;
+        for (SpscWireQueue queue : queues)
+            pending += queue.size();
+        return pending;
+    }
+
+    @Override
+    public boolean readOne() throws InvocationTargetRuntimeException {
+        throwExceptionIfClosed();
+
+        return readOne0();
+    }
+
+    @Override
+    public int readMany(int max) throws InvocationTargetRuntimeException {
+        throwExceptionIfClosed();
+
+        int count = 0;
+        while (count < max && !closed && readOne0())
+            count++;
+        return count;
+    }
+
+    private boolean readOne0() {
+        try (DocumentContext context = in.readingDocument()) {
+            if (!context.isPresent())
+                return false;
+            if (context.isMetaData())
+                return true;
+
+            WireIn wire = context.wire();
+            Bytes<?> bytes = wire.bytes();
+            long start = bytes.readPosition();
+            long length = bytes.readRemaining();
+            int partition = (int) Math.floorMod(peekKey(wire), (long) partitions.length);
+            bytes.readPosition(start);
+
+            SpscWireQueue queue = queues[partition];
+            Wire to;
+            while ((to = queue.acquireProducer()) == null) {
+                throwExceptionIfClosed();
+                Jvm.nanoPause();
+            }
+            try (DocumentContext dc = to.writingDocument()) {
+                dc.wire().bytes().write(bytes, start, length);
+            }
+            if (wire instanceof BinaryWire && ((BinaryWire) wire).dictionary()) {
+                // the anchors are read here, in order, so each partition can resolve the ids in its messages
+                ((BinaryWire) wire).readAnchors(start + length);
+                if (to instanceof BinaryWire)
+                    ((BinaryWire) to).readDictionaryOf((BinaryWire) wire);
+            } else {
+                bytes.readSkip(length);
+            }
+            queue.releaseProducer();
+        }
+        return true;
+    }
+
+    private long peekKey(WireIn wire) {
+        String name = wire.readEvent(String.class);
+        if (MethodReader.HISTORY.equals(name)) {
+            wire.getValueIn().skipValue();
+            wire.consumePadding();
+            name = wire.readEvent(String.class);
+        }
+        Integer count = name == null ? null : argumentCounts.get(name);
+        if (count == null || count == 0)
+            return 0;
+        if (count == 1)
+            return partitionKey.key(name, wire.getValueIn());
+
+        peekName = name;
+        peekKey = 0;
+        wire.getValueIn().sequence(this, (r, v) -> r.peekKey = r.partitionKey.key(r.peekName, v));
+        return peekKey;
+    }
+
+    public void throwExceptionIfClosed() {
+        if (isClosed())
+            throw new IllegalStateException("Closed");
+    }
+
+    @Override
+    public MethodReaderInterceptorReturns methodReaderInterceptorReturns() {
+        return null;
+    }
+
+    @Override
+    public MethodReader closeIn(boolean closeIn) {
+        throwExceptionIfClosed();
+        this.closeIn = closeIn;
+        return this;
+    }
+
+    /**
+     * Stops the partitions, once they have finished the message they are handling, without handling the messages
+     * still pending. Each partition releases its reader and queue when its thread stops, so a partition still
+     * handling a message after the wait here releases them once it has finished.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (Thread thread : threads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive())
+                Jvm.warn().on(PartitionedMethodReader.class, thread.getName() + " is still handling a message, it will release its queue when it stops");
+        }
+        if (closeIn)
+            closeQuietly(in);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Reads the messages of one partition on its own thread.
+     */
+    private final class Partition implements MarshallableIn, Runnable {
+        private final int id;
+        private final SpscWireQueue queue;
+        private MethodReader reader;
+        private Wire wire;
+
+        Partition(int id, SpscWireQueue queue) {
+            this.id = id;
+            this.queue = queue;
+        }
+
+        @NotNull
+        @Override
+        public DocumentContext readingDocument() {
+            return wire.readingDocument();
+        }
+
+        @Override
+        public void run() {
+            Pauser pauser = Pauser.balanced();
+            try {
+                while (!closed) {
+                    wire = queue.acquireConsumer();
+                    if (wire == null) {
+                        pauser.pause();
+                        continue;
+                    }
+                    pauser.reset();
+                    try {
+                        reader.readOne();
+                    } catch (Throwable t) {
+                        Jvm.warn().on(PartitionedMethodReader.class, "Failed to handle a message in partition " + id, t);
+                    } finally {
+                        queue.releaseConsumer();
+                    }
+                }
+            } finally {
+                // only this thread uses the reader and the consumer side of the queue
+                closeQuietly(reader);
+                queue.releaseAll();
+            }
+        }
+    }
+}
@@ -20,23 +20,129 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.BytesIn;
 import net.openhft.chronicle.bytes.BytesOut;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.bytes.FieldGroup;
+import net.openhft.chronicle.bytes.internal.BytesFieldInfo;
+import net.openhft.chronicle.core.ClassLocal;
 import net.openhft.chronicle.core.io.IORuntimeException;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+import static net.openhft.chronicle.core.UnsafeMemory.unsafeObjectFieldOffset;
 
+/**
+ * A Marshallable which is written in binary as a description of its primitive fields followed by a copy of their memory.
+ * <p>
+ * The primitive fields must be laid out as longs, ints, shorts then bytes without gaps, which is the layout
+ * HotSpot uses for the fields of one class. The layout is derived and checked the first time a class is used,
+ * and an IllegalArgumentException is thrown if the class isn't trivially copyable.
+ * A subclass can override {@link #$description()}, {@link #$start()} and {@link #$length()} to skip the check.
+ */
 public abstract class SelfDescribingTriviallyCopyable extends SelfDescribingMarshallable {
+    // { description, start, length }
+    private static final ClassLocal<int[]> LAYOUT = ClassLocal.withInitial(SelfDescribingTriviallyCopyable::deriveLayout);
+
     @FieldGroup("header")
     transient int description = $description();
 
-    protected abstract int $description();
+    /**
+     * @return the number of longs, ints, shorts and bytes copied, with a parity bit
+     */
+    protected int $description() {
+        return LAYOUT.get(getClass())[0];
+    }
+
+    /**
+     * @return the offset of the first field copied
+     */
+    protected int $start() {
+        return LAYOUT.get(getClass())[1];
+    }
+
+    /**
+     * @return the number of bytes copied
+     */
+    protected int $length() {
+        return LAYOUT.get(getClass())[2];
+    }
+
+    static int[] deriveLayout(Class<?> c) {
+        int description = BytesFieldInfo.lookup(c).description();
+        int[] range = BytesUtil.triviallyCopyableRange(c);
+        int start = range[0];
+        int end = range[1];
 
-    protected abstract int $start();
+        List<Field> copied = new ArrayList<>();
+        for (Class<?> c2 = c; c2 != null && c2 != Object.class; c2 = c2.getSuperclass()) {
+            for (Field field : c2.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+                long offset = unsafeObjectFieldOffset(field);
+                FieldGroup group = field.getAnnotation(FieldGroup.class);
+                boolean inRange = start <= offset && offset < end;
+                if (group != null && "header".equals(group.value())) {
+                    if (inRange)
+                        throw notTriviallyCopyable(c, "header field " + field.getName() + " is copied");
+                } else if (field.getType().isPrimitive()) {
+                    if (inRange)
+                        copied.add(field);
+                    else if (!Modifier.isTransient(field.getModifiers()))
+                        throw notTriviallyCopyable(c, "field " + field.getName() + " is not copied");
+                } else if (inRange) {
+                    throw notTriviallyCopyable(c, "reference field " + field.getName() + " is between primitive fields");
+                } else if (!Modifier.isTransient(field.getModifiers())
+                        && !BytesStore.class.isAssignableFrom(field.getType())) {
+                    // a BytesStore field is assumed to be for a @FieldGroup which is copied
+                    throw notTriviallyCopyable(c, "field " + field.getName() + " is not primitive");
+                }
+            }
+        }
+        copied.sort(Comparator.comparingLong(f -> unsafeObjectFieldOffset(f)));
+
+        int[] counts = new int[9];
+        long position = start;
+        int lastSize = Integer.MAX_VALUE;
+        for (Field field : copied) {
+            int size = sizeOf(field.getType());
+            if (unsafeObjectFieldOffset(field) != position)
+                throw notTriviallyCopyable(c, "there is a gap before field " + field.getName());
+            if (size > lastSize)
+                throw notTriviallyCopyable(c, "field " + field.getName() + " is after a smaller field");
+            counts[size]++;
+            position += size;
+            lastSize = size;
+        }
+        if (position != end)
+            throw notTriviallyCopyable(c, "there is a gap at the end of the fields copied");
+        if (counts[8] != description >>> 24
+                || counts[4] != ((description >>> 16) & 0xFF)
+                || counts[2] != ((description >>> 8) & 0x7F)
+                || counts[1] != (description & 0xFF))
+            throw notTriviallyCopyable(c, "the description " + Integer.toHexString(description) + " doesn't match the fields copied " + copied);
+        return new int[]{description, start, end - start};
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class)
+            return 8;
+        if (type == int.class || type == float.class)
+            return 4;
+        if (type == short.class || type == char.class)
+            return 2;
+        return 1;
+    }
 
-    protected abstract int $length();
+    private static IllegalArgumentException notTriviallyCopyable(Class<?> c, String reason) {
+        return new IllegalArgumentException(c.getName() + " is not trivially copyable, " + reason);
+    }
 
     @Override
     public void readMarshallable(BytesIn<?> bytes) throws IORuntimeException, BufferUnderflowException, IllegalStateException {
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.UnsafeMemory;
+import org.jetbrains.annotations.Nullable;
+
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * A ring of Wires, each holding one document, which passes documents from one producer thread to one consumer
+ * thread without locking.
+ */
+final class SpscWireQueue {
+    private static final long HEAD_OFFSET;
+    private static final long TAIL_OFFSET;
+
+    static {
+        try {
+            HEAD_OFFSET = UnsafeMemory.unsafeObjectFieldOffset(SpscWireQueue.class.getDeclaredField("head"));
+            TAIL_OFFSET = UnsafeMemory.unsafeObjectFieldOffset(SpscWireQueue.class.getDeclaredField("tail"));
+        } catch (Exception ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private final Wire[] wires;
+    private final int mask;
+    // the next document to consume, only written by the consumer
+    private volatile long head;
+    // the next document to produce, only written by the producer
+    private volatile long tail;
+
+    SpscWireQueue(WireType wireType, int capacity) {
+        int size = Maths.nextPower2(capacity, 2);
+        wires = new Wire[size];
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap(256));
+            wire.bytes().singleThreadedCheckDisabled(true);
+            wires[i] = wire;
+        }
+    }
+
+    /**
+     * @return an empty Wire to write one document to, or null if the queue is full.
+     */
+    @Nullable
+    Wire acquireProducer() {
+        long t = tail;
+        if (t - head > mask)
+            return null;
+        Wire wire = wires[(int) t & mask];
+        wire.clear();
+        return wire;
+    }
+
+    /**
+     * Make the document written available to the consumer.
+     */
+    void releaseProducer() {
+        MEMORY.writeOrderedLong(this, TAIL_OFFSET, tail + 1);
+    }
+
+    /**
+     * @return the Wire holding the next document, or null if the queue is empty.
+     */
+    @Nullable
+    Wire acquireConsumer() {
+        long h = head;
+        if (h == tail)
+            return null;
+        return wires[(int) h & mask];
+    }
+
+    /**
+     * Make the Wire of the document read available to the producer.
+     */
+    void releaseConsumer() {
+        MEMORY.writeOrderedLong(this, HEAD_OFFSET, head + 1);
+    }
+
+    /**
+     * @return the number of documents produced but not yet consumed.
+     */
+    long size() {
+        return tail - head;
+    }
+
+    void releaseAll() {
+        for (Wire wire : wires)
+            wire.bytes().releaseLast();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the elements of a JSON array, or the documents of a YAML stream, one at a time from a channel read in
+ * fixed size windows, so the memory used is bounded by the largest element rather than the size of the input.
+ * <p>
+ * Each element is read into the same instance if {@link #reuse(boolean)} is enabled.
+ * <pre>
+ * try (StreamingWireReader&lt;Trade&gt; reader = StreamingWireReader.jsonArray(Trade.class, path).reuse(true)) {
+ *     reader.stream().forEach(trade -&gt; ...);
+ * }
+ * </pre>
+ */
+public class StreamingWireReader<T> implements Iterator<T>, Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 64 << 10;
+
+    private final Class<T> type;
+    private final ReadableByteChannel channel;
+    private final boolean jsonArray;
+    private final ByteBuffer window;
+    private final Bytes<byte[]> bytes;
+    private final Wire wire;
+    private boolean reuse;
+    private T using;
+    private boolean endOfInput;
+    private boolean started;
+    private boolean finished;
+    // the end of the next element relative to the read position, or -1 if not found yet
+    private long elementEnd = -1;
+
+    StreamingWireReader(@NotNull WireType wireType, @NotNull Class<T> type, @NotNull ReadableByteChannel channel, boolean jsonArray, int windowSize) {
+        this.type = type;
+        this.channel = channel;
+        this.jsonArray = jsonArray;
+        this.window = ByteBuffer.allocate(windowSize);
+        this.bytes = Bytes.allocateElasticOnHeap(windowSize);
+        this.wire = wireType.apply(bytes);
+    }
+
+    /**
+     * Read each element of a JSON array of <code>type</code>
+     */
+    @NotNull
+    public static <T> StreamingWireReader<T> jsonArray(@NotNull Class<T> type, @NotNull ReadableByteChannel channel) {
+        return new StreamingWireReader<>(WireType.JSON, type, channel, true, DEFAULT_WINDOW_SIZE);
+    }
+
+    @NotNull
+    public static <T> StreamingWireReader<T> jsonArray(@NotNull Class<T> type, @NotNull Path path) throws IOException {
+        return jsonArray(type, FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Read each document, separated by <code>---</code>, of a YAML stream of <code>type</code>
+     */
+    @NotNull
+    public static <T> StreamingWireReader<T> yamlDocuments(@NotNull Class<T> type, @NotNull ReadableByteChannel channel) {
+        return new StreamingWireReader<>(WireType.YAML, type, channel, false, DEFAULT_WINDOW_SIZE);
+    }
+
+    @NotNull
+    public static <T> StreamingWireReader<T> yamlDocuments(@NotNull Class<T> type, @NotNull Path path) throws IOException {
+        return yamlDocuments(type, FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public boolean reuse() {
+        return reuse;
+    }
+
+    /**
+     * If true, each element is read into the instance returned for the previous element.
+     */
+    public StreamingWireReader<T> reuse(boolean reuse) {
+        this.reuse = reuse;
+        return this;
+    }
+
+    /**
+     * @return the number of bytes buffered, at least the size of the element being read.
+     */
+    public long bufferCapacity() {
+        return bytes.realCapacity();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (elementEnd < 0)
+            elementEnd = jsonArray ? findArrayElement() : findDocument();
+        return elementEnd >= 0;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        long start = bytes.readPosition();
+        long end = start + elementEnd;
+        long limit = bytes.readLimit();
+        elementEnd = -1;
+        T t;
+        try {
+            bytes.readLimit(end);
+            t = wire.getValueIn().object(reuse ? using : null, type);
+        } finally {
+            bytes.readLimit(limit);
+            bytes.readPosition(end);
+        }
+        if (reuse)
+            using = t;
+        return t;
+    }
+
+    @NotNull
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        } finally {
+            if (bytes.refCount() > 0)
+                bytes.releaseLast();
+        }
+    }
+
+    /**
+     * Read another window from the channel, dropping the bytes already read.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() {
+        if (endOfInput)
+            return false;
+        if (bytes.readPosition() > 0)
+            bytes.compact();
+        try {
+            int read;
+            do {
+                window.clear();
+                read = channel.read(window);
+            } while (read == 0);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            bytes.write(window.array(), 0, read);
+            return true;
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the next byte which isn't whitespace, filling as needed, or -1 at the end of the input
+     */
+    private int peekNonWhiteSpace() {
+        while (true) {
+            while (bytes.readRemaining() > 0) {
+                int ch = bytes.peekUnsignedByte();
+                if (!Character.isWhitespace(ch))
+                    return ch;
+                bytes.readSkip(1);
+            }
+            if (!fill())
+                return -1;
+        }
+    }
+
+    private long findArrayElement() {
+        if (finished)
+            return -1;
+        int ch = peekNonWhiteSpace();
+        if (!started) {
+            if (ch != '[')
+                throw new IORuntimeException("Expected a JSON array but got " + (ch < 0 ? "the end of input" : "'" + (char) ch + "'"));
+            bytes.readSkip(1);
+            started = true;
+            ch = peekNonWhiteSpace();
+        } else if (ch == ',') {
+            bytes.readSkip(1);
+            ch = peekNonWhiteSpace();
+        }
+        if (ch == ']' || ch < 0) {
+            finished = true;
+            if (ch < 0)
+                throw new IORuntimeException("Unexpected end of JSON array");
+            return -1;
+        }
+
+        // find the comma or bracket which ends this element
+        int depth = 0;
+        boolean inString = false;
+        for (long offset = 0; ; offset++) {
+            if (offset >= bytes.readRemaining() && !fill())
+                throw new IORuntimeException("Unexpected end of JSON array");
+            int b = bytes.peekUnsignedByte(bytes.readPosition() + offset);
+            if (inString) {
+                if (b == '\\')
+                    offset++;
+                else if (b == '"')
+                    inString = false;
+                continue;
+            }
+            switch (b) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0)
+                        return offset;
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0)
+                        return offset;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private long findDocument() {
+        while (true) {
+            if (peekNonWhiteSpace() < 0)
+                return -1;
+            if (!startsWithSeparator(0))
+                break;
+            // skip the separator line of an empty document
+            skipLine();
+        }
+
+        // find the next separator at the start of a line
+        for (long offset = 0; ; offset++) {
+            if (offset >= bytes.readRemaining() && !fill())
+                return offset;
+            if (bytes.peekUnsignedByte(bytes.readPosition() + offset) == '\n' && startsWithSeparator(offset + 1))
+                return offset + 1;
+        }
+    }
+
+    private boolean startsWithSeparator(long offset) {
+        while (bytes.readRemaining() < offset + 3 && fill()) {
+            // read enough to check for a separator
+        }
+        if (bytes.readRemaining() < offset + 3)
+            return false;
+        long pos = bytes.readPosition() + offset;
+        int ch = bytes.peekUnsignedByte(pos);
+        return (ch == '-' || ch == '.')
+                && bytes.peekUnsignedByte(pos + 1) == ch
+                && bytes.peekUnsignedByte(pos + 2) == ch;
+    }
+
+    private void skipLine() {
+        while (true) {
+            while (bytes.readRemaining() > 0) {
+                if (bytes.readUnsignedByte() == '\n')
+                    return;
+            }
+            if (!fill())
+                return;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+
+/**
+ * Decodes 8-bit and UTF-8 text eight bytes at a time, reading a long and testing all eight bytes at once
+ * (SIMD within a register) so runs of ASCII are copied without testing each byte.
+ */
+public enum SwarDecoder {
+    ; // none
+
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long BACKSLASHES = '\\' * ONES;
+
+    /**
+     * @return the high bit of each byte of <code>word</code> which is zero, and maybe of a 0x01 byte above a zero byte,
+     * so only use this to test whether there are any.
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * @return the number of bytes from <code>offset</code>, up to <code>length</code>, before the first byte which isn't ASCII.
+     */
+    public static int asciiLength(@NotNull BytesStore<?, ?> bs, long offset, int length) {
+        int i = 0;
+        for (; i + 8 <= length; i += 8)
+            if ((bs.readLong(offset + i) & HIGH_BITS) != 0)
+                break;
+        for (; i < length; i++)
+            if (bs.readByte(offset + i) < 0)
+                return i;
+        return length;
+    }
+
+    /**
+     * @return the number of bytes from <code>offset</code>, up to <code>length</code>, before the first quote,
+     * backslash, NUL or non-ASCII byte i.e. the quoted text which can be copied as is.
+     */
+    public static int plainLength(@NotNull BytesStore<?, ?> bs, long offset, int length, char quote) {
+        long quotes = (quote & 0xFF) * ONES;
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            long word = bs.readLong(offset + i);
+            if (((word & HIGH_BITS) | zeroBytes(word) | zeroBytes(word ^ quotes) | zeroBytes(word ^ BACKSLASHES)) != 0)
+                break;
+        }
+        for (; i < length; i++) {
+            int b = bs.readByte(offset + i);
+            if (b <= 0 || b == quote || b == '\\')
+                return i;
+        }
+        return length;
+    }
+
+    /**
+     * Append <code>length</code> bytes from <code>offset</code> as ISO-8859-1 characters.
+     */
+    public static void append8bit(@NotNull BytesStore<?, ?> bs, long offset, int length, @NotNull StringBuilder sb) {
+        sb.ensureCapacity(sb.length() + length);
+        int i = 0;
+        if (LITTLE_ENDIAN) {
+            for (; i + 8 <= length; i += 8)
+                appendWord(bs.readLong(offset + i), sb);
+        }
+        for (; i < length; i++)
+            sb.append((char) bs.readUnsignedByte(offset + i));
+    }
+
+    /**
+     * Append <code>length</code> bytes from <code>offset</code> decoded as UTF-8, copying runs of ASCII eight bytes at a time.
+     *
+     * @throws IllegalArgumentException if the bytes are not valid UTF-8
+     */
+    public static void appendUtf8(@NotNull BytesStore<?, ?> bs, long offset, int length, @NotNull StringBuilder sb) {
+        sb.ensureCapacity(sb.length() + length);
+        int i = 0;
+        while (i < length) {
+            if (LITTLE_ENDIAN && i + 8 <= length) {
+                long word = bs.readLong(offset + i);
+                if ((word & HIGH_BITS) == 0) {
+                    appendWord(word, sb);
+                    i += 8;
+                    continue;
+                }
+            }
+            int b = bs.readUnsignedByte(offset + i);
+            if (b < 0x80) {
+                sb.append((char) b);
+                i++;
+
+            } else if ((b & 0xE0) == 0xC0 && i + 2 <= length) {
+                int b2 = continuation(bs, offset, i + 1);
+                sb.append((char) (((b & 0x1F) << 6) | b2));
+                i += 2;
+
+            } else if ((b & 0xF0) == 0xE0 && i + 3 <= length) {
+                int b2 = continuation(bs, offset, i + 1);
+                int b3 = continuation(bs, offset, i + 2);
+                sb.append((char) (((b & 0x0F) << 12) | (b2 << 6) | b3));
+                i += 3;
+
+            } else if ((b & 0xF8) == 0xF0 && i + 4 <= length) {
+                int b2 = continuation(bs, offset, i + 1);
+                int b3 = continuation(bs, offset, i + 2);
+                int b4 = continuation(bs, offset, i + 3);
+                sb.appendCodePoint(((b & 0x07) << 18) | (b2 << 12) | (b3 << 6) | b4);
+                i += 4;
+
+            } else {
+                throw new IllegalArgumentException("Invalid UTF-8 byte 0x" + Integer.toHexString(b) + " at " + (offset + i));
+            }
+        }
+    }
+
+    private static int continuation(@NotNull BytesStore<?, ?> bs, long offset, int i) {
+        int b = bs.readUnsignedByte(offset + i);
+        if ((b & 0xC0) != 0x80)
+            throw new IllegalArgumentException("Invalid UTF-8 continuation byte 0x" + Integer.toHexString(b) + " at " + (offset + i));
+        return b & 0x3F;
+    }
+
+    private static void appendWord(long word, @NotNull StringBuilder sb) {
+        sb.append((char) (word & 0xFF))
+                .append((char) ((word >>> 8) & 0xFF))
+                .append((char) ((word >>> 16) & 0xFF))
+                .append((char) ((word >>> 24) & 0xFF))
+                .append((char) ((word >>> 32) & 0xFF))
+                .append((char) ((word >>> 40) & 0xFF))
+                .append((char) ((word >>> 48) & 0xFF))
+                .append((char) (word >>> 56));
+    }
+}
@@ -410,7 +410,7 @@ public class TextWire extends YamlWireOut<TextWire> {
             if (ch == '"') {
                 bytes.readSkip(1);
 
-                parseUntil(sb, getEscapingQuotes());
+                parseQuoted(sb, '"', getEscapingQuotes());
 
                 consumePadding();
                 ch = readCode();
@@ -420,7 +420,7 @@ public class TextWire extends YamlWireOut<TextWire> {
             } else if (ch == '\'') {
                 bytes.readSkip(1);
 
-                parseUntil(sb, getEscapingSingleQuotes());
+                parseQuoted(sb, '\'', getEscapingSingleQuotes());
 
                 consumePadding();
                 ch = readCode();
@@ -479,7 +479,7 @@ public class TextWire extends YamlWireOut<TextWire> {
                 bytes.readSkip(1);
 
                 final StopCharTester escapingQuotes = ch == '"' ? getEscapingQuotes() : getEscapingSingleQuotes();
-                parseUntil(sb, escapingQuotes);
+                parseQuoted(sb, (char) ch, escapingQuotes);
 
                 consumePadding(1);
                 ch = readCode();
@@ -736,6 +736,63 @@ public class TextWire extends YamlWireOut<TextWire> {
         return valueIn;
     }
 
+    @Override
+    public boolean hintReadInputOrder() {
+        return READ_INPUT_ORDER;
+    }
+
+    @Override
+    public int readFieldIndex(@NotNull FieldNameLookup lookup, @NotNull StringBuilder name) {
+        consumePadding();
+        int index = lookupIdentifierField(lookup, false);
+        if (index != FieldNameLookup.NO_NAME)
+            return index;
+        read(name);
+        return lookup.indexOf(name);
+    }
+
+    @Override
+    public int readEventIndex(@NotNull FieldNameLookup lookup) {
+        consumePadding();
+        int index = lookupIdentifierField(lookup, true);
+        return index < 0 ? FieldNameLookup.NOT_FOUND : index;
+    }
+
+    /**
+     * Look up a plain or double-quoted identifier followed by a : directly from the bytes.
+     *
+     * @param onlyIfFound if true, the name is only read when it is found
+     * @return the index of the name, {@link FieldNameLookup#NOT_FOUND} or {@link FieldNameLookup#NO_NAME} if nothing
+     * was read as the next field isn't an identifier.
+     */
+    private int lookupIdentifierField(@NotNull FieldNameLookup lookup, boolean onlyIfFound) {
+        long start = bytes.readPosition();
+        long limit = bytes.readLimit();
+        boolean quoted = start < limit && bytes.peekUnsignedByte(start) == '"';
+        long nameStart = quoted ? start + 1 : start;
+        long pos = nameStart;
+        while (pos < limit && isIdentifierByte(bytes.peekUnsignedByte(pos)))
+            pos++;
+        long nameEnd = pos;
+        if (quoted && pos < limit && bytes.peekUnsignedByte(pos) == '"') {
+            pos++;
+            while (pos < limit && bytes.peekUnsignedByte(pos) == ' ')
+                pos++;
+        } else if (quoted) {
+            pos = limit;
+        }
+        if (nameEnd == nameStart || pos >= limit || bytes.peekUnsignedByte(pos) != ':')
+            return FieldNameLookup.NO_NAME;
+        int index = lookup.indexOf(bytes, nameStart, (int) (nameEnd - nameStart));
+        if (index >= 0 || !onlyIfFound)
+            bytes.readPosition(pos + 1);
+        return index;
+    }
+
+    private static boolean isIdentifierByte(int ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_' || ch == '$';
+    }
+
     @NotNull
     @Override
     public ValueIn getValueIn() {
@@ -811,6 +868,28 @@ public class TextWire extends YamlWireOut<TextWire> {
             bytes.parseUtf8(sb, testers);
     }
 
+    /**
+     * Parse text up to the closing quote. Text without escapes or non-ASCII characters is copied eight bytes at a time.
+     */
+    <ACS extends Appendable & CharSequence> void parseQuoted(@NotNull ACS a, char quote, @NotNull StopCharTester tester) {
+        if (a instanceof StringBuilder) {
+            long position = bytes.readPosition();
+            int remaining = (int) Math.min(bytes.readRemaining(), Integer.MAX_VALUE);
+            int plain = SwarDecoder.plainLength(bytes, position, remaining, quote);
+            if (plain < remaining && bytes.readUnsignedByte(position + plain) == quote) {
+                StringBuilder sb = (StringBuilder) a;
+                sb.setLength(0);
+                SwarDecoder.append8bit(bytes, position, plain, sb);
+                bytes.readSkip(plain + 1L);
+                return;
+            }
+        }
+        if (use8bit)
+            bytes.parse8bit(a, tester);
+        else
+            bytes.parseUtf8(a, tester);
+    }
+
     public void parseUntil(@NotNull StringBuilder sb, @NotNull StopCharsTester testers) {
         sb.setLength(0);
         if (use8bit) {
@@ -1031,11 +1110,11 @@ public class TextWire extends YamlWireOut<TextWire> {
 
                 }
                 case '"':
-                    readText(a, getEscapingQuotes());
+                    readText(a, '"', getEscapingQuotes());
                     break;
 
                 case '\'':
-                    readText(a, getEscapingSingleQuotes());
+                    readText(a, '\'', getEscapingSingleQuotes());
                     break;
 
                 case '!': {
@@ -1115,12 +1194,9 @@ public class TextWire extends YamlWireOut<TextWire> {
             } while (!bytes.isEmpty() && c != '}');
         }
 
-        private <ACS extends Appendable & CharSequence> void readText(@NotNull ACS a, @NotNull StopCharTester quotes) {
+        private <ACS extends Appendable & CharSequence> void readText(@NotNull ACS a, char quote, @NotNull StopCharTester quotes) {
             bytes.readSkip(1);
-            if (use8bit)
-                bytes.parse8bit(a, quotes);
-            else
-                bytes.parseUtf8(a, quotes);
+            parseQuoted(a, quote, quotes);
             unescape(a);
             consumePadding(1);
         }
@@ -2209,12 +2285,44 @@ public class TextWire extends YamlWireOut<TextWire> {
                     Jvm.warn().on(getClass(), "Unable to read " + valueIn.object() + " as a double.");
                     return 0;
             }
+            final double d = parseDecimal();
+            if (d == d)
+                return d;
             final double v = bytes.parseDouble();
 
             checkRewindDouble();
             return v;
         }
 
+        /**
+         * Parse a plain decimal followed by a separator without creating a String, as bytes.parseDouble() would.
+         *
+         * @return the value, or NaN if it needs to be parsed by bytes.parseDouble()
+         */
+        private double parseDecimal() {
+            long start = bytes.readPosition();
+            long limit = bytes.readLimit();
+            long end = start;
+            for (; end < limit; end++) {
+                int ch = bytes.peekUnsignedByte(end);
+                if (!(ch >= '0' && ch <= '9') && ch != '.' && ch != '-' && ch != '+' && ch != 'e' && ch != 'E')
+                    break;
+            }
+            if (end < limit) {
+                int stop = bytes.peekUnsignedByte(end);
+                if (stop > ' ' && stop != ',' && !END_CHARS.get(stop))
+                    return Double.NaN;
+            }
+            final double d = DoubleText.parseDouble(bytes, start, end);
+            if (d == d) {
+                // consume the separator as bytes.parseDouble() does
+                bytes.readPosition(Math.min(end + 1, limit));
+                if (end < limit)
+                    checkRewindDouble();
+            }
+            return d;
+        }
+
         void skipType() {
             long peek = bytes.peekUnsignedByte();
             if (peek == '!') {
@@ -142,6 +142,17 @@ public interface ValueIn {
     @NotNull
     WireIn skipValue();
 
+    /**
+     * Skips the rest of the sequence being read, e.g. once a message is to be ignored. Formats which know where
+     * the sequence ends jump straight there without reading the values.
+     *
+     * @param remaining the number of values left in the sequence
+     */
+    default void skipRestOfSequence(int remaining) {
+        for (int i = 0; i < remaining; i++)
+            skipValue();
+    }
+
     @NotNull <T> WireIn bool(T t, @NotNull ObjBooleanConsumer<T> tFlag);
 
     @NotNull <T> WireIn int8(@NotNull T t, @NotNull ObjByteConsumer<T> tb);
@@ -293,6 +304,24 @@ public interface ValueIn {
         });
     }
 
+    default int array(float[] array) {
+        return sequenceWithLength(array, (in, a) -> {
+            int i = 0;
+            while (in.hasNextSequenceItem() && i < a.length)
+                a[i++] = in.float32();
+            return i;
+        });
+    }
+
+    default int array(char[] array) {
+        return sequenceWithLength(array, (in, a) -> {
+            int i = 0;
+            while (in.hasNextSequenceItem() && i < a.length)
+                a[i++] = (char) in.uint16();
+            return i;
+        });
+    }
+
     default int array(boolean[] array) {
         return sequenceWithLength(array, (in, a) -> {
             int i = 0;
@@ -358,6 +387,44 @@ public interface ValueIn {
         return list;
     }
 
+    /**
+     * Reads a batch written by {@link ValueOut#columns(Class, List)}, reusing the objects in <code>using</code>.
+     *
+     * @return <code>using</code> with one object per row
+     */
+    @NotNull
+    default <T> List<T> columns(@NotNull Class<T> tClass, @NotNull List<T> using) {
+        WireMarshaller<T> marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        marshallable(w -> marshaller.readColumns(tClass, using, w));
+        return using;
+    }
+
+    /**
+     * Reads one integer or boolean column of a batch written by {@link ValueOut#columns(Class, List)}, skipping the others.
+     *
+     * @return the column, or <code>null</code> if it is not present
+     */
+    @Nullable
+    default long[] longColumn(@NotNull Class<?> tClass, @NotNull String column) {
+        WireMarshaller<?> marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        long[][] longs = {null};
+        marshallable(w -> longs[0] = Columns.readLongs(marshaller, column, w));
+        return longs[0];
+    }
+
+    /**
+     * Reads one numeric column of a batch written by {@link ValueOut#columns(Class, List)}, skipping the others.
+     *
+     * @return the column, or <code>null</code> if it is not present
+     */
+    @Nullable
+    default double[] doubleColumn(@NotNull Class<?> tClass, @NotNull String column) {
+        WireMarshaller<?> marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        double[][] doubles = {null};
+        marshallable(w -> doubles[0] = Columns.readDoubles(marshaller, column, w));
+        return doubles[0];
+    }
+
     @NotNull
     default <O, T extends ReadMarshallable> WireIn set(@NotNull O o, Function<O, T> tSupplier) {
         return collection(o, tSupplier);
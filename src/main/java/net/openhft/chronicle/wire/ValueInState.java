@@ -26,10 +26,14 @@ class ValueInState {
     private int unexpectedSize;
     @NotNull
     private long[] unexpected = EMPTY_ARRAY;
+    // fields jumped over using an index, which haven't been added as unexpected
+    private long skippedStart;
+    private long skippedEnd;
 
     public void reset() {
         savedPosition = 0;
         unexpectedSize = 0;
+        skippedStart = skippedEnd = 0;
     }
 
     public void addUnexpected(long position) {
@@ -58,6 +62,23 @@ class ValueInState {
         return unexpected[index];
     }
 
+    public void skipped(long start, long end) {
+        skippedStart = start;
+        skippedEnd = end;
+    }
+
+    public long skippedStart() {
+        return skippedStart;
+    }
+
+    public long skippedEnd() {
+        return skippedEnd;
+    }
+
+    public boolean hasSkipped() {
+        return skippedEnd > skippedStart;
+    }
+
     public void removeUnexpected(int i) {
         int length = unexpectedSize - i - 1;
         if (length > 0)
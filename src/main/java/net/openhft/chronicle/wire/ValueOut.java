@@ -317,6 +317,19 @@ public interface ValueOut {
 
     @NotNull <T, K> WireOut sequence(T t, K kls, TriConsumer<T, K, ValueOut> writer);
 
+    /**
+     * Writes a batch of objects of the same class as one column per field, rather than repeating the field names
+     * for each object. Numeric columns are packed arrays, Strings are dictionary encoded
+     * and booleans and enums are run length encoded.
+     *
+     * @see ValueIn#columns(Class, List)
+     */
+    @NotNull
+    default <T> WireOut columns(@NotNull Class<T> tClass, @NotNull List<? extends T> ts) {
+        WireMarshaller<T> marshaller = WireMarshaller.WIRE_MARSHALLER_CL.get(tClass);
+        return marshallable(w -> marshaller.writeColumns(ts, w));
+    }
+
     default <T> WireOut sequenceWithLength(T t, int length, ObjectIntObjectConsumer<T, ValueOut> writer) {
         boolean b = swapLeaf(true);
         WireOut sequence = sequence(t, length, writer::accept);
@@ -356,6 +369,20 @@ public interface ValueOut {
         });
     }
 
+    default WireOut array(float[] array, int length) {
+        return sequenceWithLength(array, length, (a, len, out) -> {
+            for (int i = 0; i < len; i++)
+                out.float32(a[i]);
+        });
+    }
+
+    default WireOut array(char[] array, int length) {
+        return sequenceWithLength(array, length, (a, len, out) -> {
+            for (int i = 0; i < len; i++)
+                out.uint16checked(a[i]);
+        });
+    }
+
     default WireOut array(boolean[] array, int length) {
         return sequenceWithLength(array, length, (a, len, out) -> {
             for (int i = 0; i < len; i++)
@@ -19,7 +19,6 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.MethodId;
-import net.openhft.chronicle.bytes.MethodReader;
 import net.openhft.chronicle.bytes.MethodReaderInterceptorReturns;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
@@ -42,7 +41,7 @@ import java.util.function.Supplier;
 import static net.openhft.chronicle.wire.VanillaWireParser.SKIP_READABLE_BYTES;
 
 @SuppressWarnings("rawtypes")
-public class VanillaMethodReader implements MethodReader {
+public class VanillaMethodReader implements BatchMethodReader {
 
     // beware enabling DEBUG_ENABLED as logMessage will not work unless Wire marshalling used - https://github.com/ChronicleEnterprise/Chronicle-Services/issues/240
     public static final boolean DEBUG_ENABLED = Jvm.isDebugEnabled(VanillaMethodReader.class) && Jvm.getBoolean("wire.mr.debug");
@@ -230,11 +229,11 @@ public class VanillaMethodReader implements MethodReader {
         @NotNull Set<String> methodsNamesHandled = new HashSet<>();
         MethodFilterOnFirstArg methodFilterOnFirstArg = null;
         for (@NotNull Object o : objects) {
-            if (o instanceof MethodFilterOnFirstArg) {
+            if (o instanceof MethodFilterOnFirstArg || o instanceof MethodFilterOnFirstArgValues) {
                 if (methodFilterOnFirstArg != null)
                     Jvm.warn().on(getClass(), "Multiple filters on first arg not supported, only the first one is applied.");
                 else
-                    methodFilterOnFirstArg = (MethodFilterOnFirstArg) o;
+                    methodFilterOnFirstArg = FirstArgValues.filterFor(o);
             }
             Class<?> oClass = o.getClass();
             Object[] context = {null};
@@ -264,6 +263,8 @@ public class VanillaMethodReader implements MethodReader {
                 continue;
             if ("ignoreMethodBasedOnFirstArg".equals(m.getName()))
                 continue;
+            if (declaringClass == MethodFilterOnFirstArgValues.class)
+                continue;
             if (!methodsSignaturesHandled.add(signature(m)))
                 continue;
 
@@ -443,16 +444,13 @@ public class VanillaMethodReader implements MethodReader {
         @NotNull Object[] args = new Object[parameterTypes.length];
         @NotNull BiConsumer<Object[], ValueIn> sequenceReader = (a, v) -> {
             int i = 0;
-            boolean ignored = false;
             for (@NotNull Class clazz : parameterTypes) {
-                if (ignored) {
-                    v.skipValue();
-                } else {
-                    a[i] = v.object(checkRecycle(a[i]), clazz);
-                }
+                a[i] = v.object(checkRecycle(a[i]), clazz);
                 if (i == 0 && methodFilterOnFirstArg.ignoreMethodBasedOnFirstArg(m.getName(), a[0])) {
                     a[0] = IGNORED;
-                    ignored = true;
+                    // don't read any of the other arguments
+                    v.skipRestOfSequence(parameterTypes.length - 1);
+                    break;
                 }
                 i++;
             }
@@ -507,6 +505,16 @@ public class VanillaMethodReader implements MethodReader {
         return readOne0();
     }
 
+    @Override
+    public int readMany(int max) throws InvocationTargetRuntimeException {
+        throwExceptionIfClosed();
+
+        int count = 0;
+        while (count < max && !closed && readOne0())
+            count++;
+        return count;
+    }
+
     private boolean readOne0() {
         try (DocumentContext context = in.readingDocument()) {
             if (!context.isPresent()) {
@@ -28,6 +28,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 
 public class VanillaMethodReaderBuilder implements MethodReaderBuilder {
     public static final String DISABLE_READER_PROXY_CODEGEN = "disableReaderProxyCodegen";
@@ -123,7 +124,7 @@ public class VanillaMethodReaderBuilder implements MethodReaderBuilder {
 
         try {
             try {
-                final Class<?> generatedClass = Class.forName(fullClassName);
+                final Class<?> generatedClass = Class.forName(fullClassName, true, impls[0].getClass().getClassLoader());
 
                 return instanceForGeneratedClass(generatedClass, impls);
             } catch (ClassNotFoundException e) {
@@ -159,6 +160,46 @@ public class VanillaMethodReaderBuilder implements MethodReaderBuilder {
         return this;
     }
 
+    /**
+     * Build a reader which peeks the key of each message and passes it to one of a number of partitions, each with
+     * its own thread and handler, so the messages for each key are handled in order. See {@link PartitionedMethodReader}
+     * <p>
+     * The reader of each partition is built with the settings of this builder. Metadata isn't passed to the
+     * partitions, so a {@link #metaDataHandler(Object...)} can't be used.
+     *
+     * @param partitions   the number of threads
+     * @param partitionKey of each message
+     * @param handlers     the handler for each partition
+     */
+    @NotNull
+    public PartitionedMethodReader buildPartitioned(int partitions, @NotNull PartitionKey partitionKey, @NotNull IntFunction<Object> handlers) {
+        WireType partitionWireType = wireType != null ? wireType
+                : in instanceof Wire ? WireType.valueOf((Wire) in) : null;
+        if (partitionWireType == null)
+            throw new IllegalArgumentException("A wireType is needed to partition " + in.getClass());
+        if (metaDataHandler != null)
+            throw new UnsupportedOperationException("Metadata isn't passed to the partitions, so a metaDataHandler can't be used");
+        if (this.defaultParselet == null)
+            this.defaultParselet = createDefaultParselet(warnMissing);
+
+        return new PartitionedMethodReader(in, partitionWireType, partitions, partitionKey, handlers,
+                (partitionIn, handler) -> partitionBuilder(partitionIn, partitionWireType).build(handler));
+    }
+
+    /**
+     * @return a builder for the reader of a partition, with the same settings as this one.
+     */
+    @NotNull
+    private VanillaMethodReaderBuilder partitionBuilder(MarshallableIn partitionIn, WireType partitionWireType) {
+        VanillaMethodReaderBuilder builder = new VanillaMethodReaderBuilder(partitionIn);
+        builder.warnMissing = warnMissing;
+        builder.ignoreDefaults = ignoreDefaults;
+        builder.defaultParselet = defaultParselet;
+        builder.methodReaderInterceptorReturns = methodReaderInterceptorReturns;
+        builder.wireType = partitionWireType;
+        return builder;
+    }
+
     @NotNull
     public MethodReader build(Object... impls) {
         if (this.defaultParselet == null)
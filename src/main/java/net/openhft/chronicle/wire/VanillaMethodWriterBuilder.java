@@ -203,7 +203,7 @@ public class VanillaMethodWriterBuilder<T> implements Builder<T>, MethodWriterBu
         String fullClassName = packageName + "." + getClassName();
         try {
             try {
-                return (T) newInstance(Class.forName(fullClassName));
+                return (T) newInstance(Class.forName(fullClassName, true, classLoader));
             } catch (ClassNotFoundException e) {
                 Class clazz = classCache.computeIfAbsent(fullClassName, this::newClass);
                 if (clazz != null && clazz != COMPILE_FAILED) {
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+
+/**
+ * LEB128 variable length integers, with zig-zag encoding so small negative numbers are also short.
+ * Each byte holds 7 bits, lowest first, with the top bit set if more bytes follow.
+ * <p>
+ * Sequences of longs are written as the difference to the previous value so sequence numbers
+ * and timestamps which increase slowly are one or two bytes each.
+ */
+public enum VarInts {
+    ; // none
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    public static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    public static long unZigZag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /**
+     * @return the number of bytes to write an unsigned varint, between 1 and 10
+     */
+    public static int length(long n) {
+        return 1 + (63 - Long.numberOfLeadingZeros(n | 1)) / 7;
+    }
+
+    public static void writeVarInt(@NotNull Bytes<?> bytes, long n) {
+        while ((n & ~0x7FL) != 0) {
+            bytes.writeByte((byte) (n | 0x80));
+            n >>>= 7;
+        }
+        bytes.writeByte((byte) n);
+    }
+
+    public static long readVarInt(@NotNull Bytes<?> bytes) {
+        long pos = bytes.readPosition();
+        long n = bytes.readByte(pos++);
+        if (n < 0) {
+            n &= 0x7F;
+            long b;
+            int shift = 7;
+            do {
+                b = bytes.readByte(pos++);
+                n |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+        }
+        bytes.readPosition(pos);
+        return n;
+    }
+
+    /**
+     * Skip <code>count</code> varints from <code>pos</code>
+     *
+     * @return the position after them
+     */
+    public static long skip(@NotNull Bytes<?> bytes, long pos, long count) {
+        for (long i = 0; i < count; i++) {
+            while (bytes.readByte(pos++) < 0) {
+                // more bytes
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Write the difference between each of the first <code>length</code> values and the one before.
+     */
+    public static void writeDeltas(@NotNull Bytes<?> bytes, @NotNull long[] values, int length) {
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            long value = values[i];
+            writeVarInt(bytes, zigZag(value - previous));
+            previous = value;
+        }
+    }
+
+    /**
+     * Read <code>length</code> values written by {@link #writeDeltas(Bytes, long[], int)}.
+     * Runs of eight one byte deltas are decoded from a single read.
+     */
+    public static void readDeltas(@NotNull Bytes<?> bytes, @NotNull long[] values, int length) {
+        long pos = bytes.readPosition();
+        long limit = bytes.readLimit();
+        long previous = 0;
+        int i = 0;
+        while (i < length) {
+            if (LITTLE_ENDIAN && i + 8 <= length && pos + 8 <= limit) {
+                long word = bytes.readLong(pos);
+                if ((word & HIGH_BITS) == 0) {
+                    for (int j = 0; j < 8; j++) {
+                        previous += unZigZag((word >>> (j << 3)) & 0x7F);
+                        values[i++] = previous;
+                    }
+                    pos += 8;
+                    continue;
+                }
+            }
+            long n = bytes.readByte(pos++);
+            if (n < 0) {
+                n &= 0x7F;
+                long b;
+                int shift = 7;
+                do {
+                    b = bytes.readByte(pos++);
+                    n |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            previous += unZigZag(n);
+            values[i++] = previous;
+        }
+        bytes.readPosition(pos);
+    }
+}
@@ -93,6 +93,19 @@ public interface WireIn extends WireCommon, MarshallableIn {
     @NotNull
     ValueIn read(@NotNull StringBuilder name);
 
+    /**
+     * Read the next field name and look it up, without decoding it into characters where the wire supports it.
+     * The value is then available from {@link #getValueIn()}
+     *
+     * @param lookup of the expected field names
+     * @param name   may be used to decode the name when the wire doesn't support looking it up directly.
+     * @return the index of the field, {@link FieldNameLookup#NOT_FOUND} or {@link FieldNameLookup#NO_NAME}
+     */
+    default int readFieldIndex(@NotNull FieldNameLookup lookup, @NotNull StringBuilder name) {
+        read(name);
+        return lookup.indexOf(name);
+    }
+
     /**
      * Read a field which might be an object of any type.
      * <p>
@@ -103,6 +116,20 @@ public interface WireIn extends WireCommon, MarshallableIn {
      */
     @Nullable <K> K readEvent(Class<K> expectedClass);
 
+    /**
+     * Read the next event name and look it up, without decoding it into characters where the wire supports it.
+     * The value is then available from {@link #getValueIn()}
+     * <p>
+     * If the name isn't one of the names in <code>lookup</code>, or can't be looked up this way, nothing is read
+     * and the event should be read with {@link #readEvent(Class)}
+     *
+     * @param lookup of the expected event names
+     * @return the index of the event, or {@link FieldNameLookup#NOT_FOUND} if nothing was read.
+     */
+    default int readEventIndex(@NotNull FieldNameLookup lookup) {
+        return FieldNameLookup.NOT_FOUND;
+    }
+
     /**
      * Obtain the value in for advanced use (typically after a call to readEvent above)
      */
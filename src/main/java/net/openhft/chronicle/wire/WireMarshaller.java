@@ -47,9 +47,16 @@ public class WireMarshaller<T> {
     private static final FieldAccess[] NO_FIELDS = {};
     private static final StringBuilderPool RSBP = new StringBuilderPool();
     private static final StringBuilderPool WSBP = new StringBuilderPool();
+    // generate a specialised marshaller per class, see GenerateWireMarshaller
+    static final boolean GENERATE_MARSHALLERS = Jvm.getBoolean("wire.generate.marshallers");
     @NotNull
     final FieldAccess[] fields;
     final TreeMap<CharSequence, FieldAccess> fieldMap = new TreeMap<>(WireMarshaller::compare);
+    // null if the field names can't be looked up without decoding them.
+    @Nullable
+    final FieldNameLookup fieldLookup;
+    // a hash of the field names in order, see BinaryWire.shapeHints
+    final long shapeFingerprint;
     private final boolean isLeaf;
     @Nullable
     private final T defaultValue;
@@ -72,10 +79,44 @@ public class WireMarshaller<T> {
         for (FieldAccess field : fields) {
             fieldMap.put(field.key.name(), field);
         }
+        this.fieldLookup = FieldNameLookup.of(Stream.of(fields).map(f -> f.field.getName()).toArray(String[]::new));
+        this.shapeFingerprint = shapeFingerprint(fields);
+    }
+
+    static long shapeFingerprint(FieldAccess[] fields) {
+        long h = 0xCBF29CE484222325L;
+        for (FieldAccess field : fields) {
+            String name = field.field.getName();
+            for (int i = 0; i < name.length(); i++)
+                h = (h ^ name.charAt(i)) * 0x100000001B3L;
+            h = (h ^ ',') * 0x100000001B3L;
+        }
+        // 0 means no fingerprint
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Writes a fingerprint of the field names if the wire supports it, see {@link BinaryWire#shapeHints(boolean)}
+     */
+    protected void writeShapeHint(WireOut out) {
+        if (out instanceof BinaryWire && fields.length > 0)
+            ((BinaryWire) out).writeShapeHint(shapeFingerprint);
     }
 
     @NotNull
     public static <T> WireMarshaller<T> of(@NotNull Class<T> tClass) {
+        return of(tClass, GENERATE_MARSHALLERS);
+    }
+
+    /**
+     * @param tClass   to marshall
+     * @param generate if true, generate a class which reads and writes each field directly rather than using reflection.
+     *                 A class generated at build time by {@link GenerateWireSourcesMain} is used either way.
+     *                 Falls back to the reflective marshaller if the class cannot be found or generated.
+     * @return the WireMarshaller for this class
+     */
+    @NotNull
+    public static <T> WireMarshaller<T> of(@NotNull Class<T> tClass, boolean generate) {
         if (tClass.isInterface() || (tClass.isEnum() && !DynamicEnum.class.isAssignableFrom(tClass)))
             return new WireMarshaller<>(tClass, NO_FIELDS, true);
 
@@ -94,9 +135,12 @@ public class WireMarshaller<T> {
                 .filter(WireMarshaller::leafable)
                 .collect(Collectors.toList());
         boolean isLeaf = collect.isEmpty();
-        return overridesUnexpectedFields(tClass)
-                ? new WireMarshallerForUnexpectedFields<>(tClass, fields, isLeaf)
-                : new WireMarshaller<>(tClass, fields, isLeaf);
+        if (overridesUnexpectedFields(tClass))
+            return new WireMarshallerForUnexpectedFields<>(tClass, fields, isLeaf);
+        WireMarshaller<T> generated = GenerateWireMarshaller.generatedFor(tClass, fields, isLeaf, generate);
+        if (generated != null)
+            return generated;
+        return new WireMarshaller<>(tClass, fields, isLeaf);
     }
 
     protected static boolean leafable(FieldAccess c) {
@@ -108,7 +152,7 @@ public class WireMarshaller<T> {
         return WriteMarshallable.class.isAssignableFrom(type);
     }
 
-    private static <T> boolean overridesUnexpectedFields(Class<T> tClass) {
+    static <T> boolean overridesUnexpectedFields(Class<T> tClass) {
         try {
             Method method = tClass.getMethod("unexpectedField", UNEXPECTED_FIELDS_PARAMETER_TYPES);
             return method.getDeclaringClass() != ReadMarshallable.class;
@@ -261,6 +305,7 @@ public class WireMarshaller<T> {
     public void writeMarshallable(T t, @NotNull WireOut out) {
         HexDumpBytesDescription bytes = out.bytesComment();
         bytes.adjustHexDumpIndentation(+1);
+        writeShapeHint(out);
         try {
             for (@NotNull FieldAccess field : fields)
                 field.write(t, out);
@@ -290,7 +335,75 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * Writes a batch of objects as one column per field rather than one object after another, see {@link Columns}
+     *
+     * @see #readColumns(Class, List, WireIn)
+     */
+    public void writeColumns(@NotNull List<? extends T> ts, @NotNull WireOut out) {
+        Columns.write(this, ts, out);
+    }
+
+    /**
+     * Reads a batch written by {@link #writeColumns(List, WireOut)}, reusing the objects in <code>ts</code>
+     * and adding or removing objects so it has one per row.
+     */
+    public void readColumns(@NotNull Class<T> tClass, @NotNull List<T> ts, @NotNull WireIn in) {
+        Columns.read(this, tClass, ts, in);
+    }
+
+    /**
+     * Writes a bitmap of the fields which differ from <code>previous</code> followed by only their values, without field names.
+     * There is one int64 bitmap for every 64 fields, lowest bit first, each followed by the values for those fields.
+     *
+     * @param copy copy the fields which differ to <code>previous</code>
+     * @see #readDelta(Object, WireIn)
+     */
+    public void writeDelta(T t, @NotNull WireOut out, T previous, boolean copy) {
+        try {
+            ValueOut valueOut = out.getValueOut();
+            for (int word = 0; word < fields.length; word += 64) {
+                long bitmap = 0;
+                for (int i = word, end = Math.min(fields.length, word + 64); i < end; i++)
+                    if (!fields[i].isEqual(t, previous))
+                        bitmap |= 1L << (i - word);
+                valueOut.int64(bitmap);
+                for (long bits = bitmap; bits != 0; bits &= bits - 1) {
+                    FieldAccess field = fields[word + Long.numberOfTrailingZeros(bits)];
+                    field.getValue(t, valueOut, previous);
+                    if (copy)
+                        field.copy(t, previous);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads the fields written by {@link #writeDelta(Object, WireOut, Object, boolean)} onto <code>t</code>
+     * leaving the fields which didn't change as they are.
+     */
+    public void readDelta(T t, @NotNull WireIn in) {
+        try {
+            ValueIn valueIn = in.getValueIn();
+            for (int word = 0; word < fields.length; word += 64) {
+                for (long bits = valueIn.int64(); bits != 0; bits &= bits - 1)
+                    fields[word + Long.numberOfTrailingZeros(bits)].readValue(t, defaultValue, valueIn, true);
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public void readMarshallable(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
+        if (in instanceof BinaryWire) {
+            long fingerprint = ((BinaryWire) in).readShapeHint();
+            if (fingerprint != 0 && fingerprint == shapeFingerprint) {
+                readMarshallableSameShape(t, (BinaryWire) in, defaults, overwrite);
+                return;
+            }
+        }
         if (in.hintReadInputOrder())
             readMarshallableInputOrder(t, in, defaults, overwrite);
         else
@@ -309,6 +422,10 @@ public class WireMarshaller<T> {
     }
 
     public void readMarshallableInputOrder(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
+        if (fieldLookup != null) {
+            readMarshallableByFieldIndex(t, in, defaults, overwrite);
+            return;
+        }
         try {
             StringBuilder sb = SBP.acquireStringBuilder();
             for (int i = 0; i < fields.length; i++) {
@@ -341,6 +458,56 @@ public class WireMarshaller<T> {
         }
     }
 
+    /**
+     * The fields were written with the same names in the same order, so skip the names and read the values.
+     */
+    private void readMarshallableSameShape(T t, @NotNull BinaryWire in, T defaults, boolean overwrite) {
+        try {
+            for (@NotNull FieldAccess field : fields) {
+                in.skipFieldName();
+                field.readValue(t, defaults, in.getValueIn(), overwrite);
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads fields in the order they appear, looking up each name with the {@link #fieldLookup}
+     * so the name is matched from its bytes where the wire supports it, whether the fields are in order or not.
+     */
+    private void readMarshallableByFieldIndex(T t, @NotNull WireIn in, T defaults, boolean overwrite) {
+        try {
+            StringBuilder sb = SBP.acquireStringBuilder();
+            for (int i = 0; i < fields.length; i++) {
+                if (!in.hasMore()) {
+                    for (; i < fields.length; i++)
+                        fields[i].copy(defaults, t);
+                    return;
+                }
+                int index = in.readFieldIndex(fieldLookup, sb);
+                // are the fields all present and in order?
+                if (index == i || index == FieldNameLookup.NO_NAME) {
+                    fields[i].readValue(t, defaults, in.getValueIn(), overwrite);
+                    continue;
+                }
+                for (int j = i; j < fields.length; j++)
+                    fields[j].copy(defaults, t);
+                while (true) {
+                    if (index < 0)
+                        in.getValueIn().skipValue();
+                    else
+                        fields[index].readValue(t, defaults, in.getValueIn(), overwrite);
+                    if (!in.hasMore())
+                        return;
+                    index = in.readFieldIndex(fieldLookup, sb);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public boolean matchesFieldName(StringBuilder sb, FieldAccess field) {
         return sb.length() == 0 || StringUtils.isEqual(field.field.getName(), sb);
     }
@@ -1034,7 +1201,7 @@ public class WireMarshaller<T> {
             boolean leaf = write.swapLeaf(true);
             if (arr == null)
                 write.nu11();
-            else
+            else if (!(write instanceof BinaryWire.FixedBinaryValueOut && ((BinaryWire.FixedBinaryValueOut) write).packedArray(arr)))
                 write.sequence(arr, (array, out) -> {
                     for (int i = 0, len = Array.getLength(array); i < len; i++)
                         out.object(objectType, Array.get(array, i));
@@ -1050,6 +1217,14 @@ public class WireMarshaller<T> {
                     field.set(o, null);
                 return;
             }
+            if (read instanceof BinaryWire.BinaryValueIn) {
+                Object packed = ((BinaryWire.BinaryValueIn) read).packedArray(componentType, arr);
+                if (packed != null) {
+                    if (packed != arr)
+                        field.set(o, packed);
+                    return;
+                }
+            }
             @NotNull List list = new ArrayList();
             read.sequence(list, (l, in) -> {
                 while (in.hasNextSequenceItem())
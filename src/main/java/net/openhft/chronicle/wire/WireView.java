@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A flyweight which reads the fields of a message in place rather than deserializing it.
+ * <p>
+ * A view is generated for an interface of getters e.g. <code>long id()</code> or <code>String getName()</code>
+ * which are matched by name to the fields of the message. A getter returning a <code>CharSequence</code> returns
+ * a StringBuilder reused by the view, which is only valid until the next bind.
+ * Fields are located on first access and missing fields return 0, false or null.
+ * <p>
+ * Views are not thread safe and only BinaryWire and RawWire messages are supported.
+ * Messages written with a {@link BinaryWire#dictionary(boolean)} are viewed with {@link #bind(DocumentContext)}
+ * of a reader with a dictionary, so its ids are resolved.
+ * <pre>
+ * OrderView view = WireView.of(OrderView.class, WireType.BINARY);
+ * try (DocumentContext dc = tailer.readingDocument()) {
+ *     ((WireView) view).bind(dc);
+ *     if (view.qty() &gt; limit) ...
+ * }
+ * </pre>
+ */
+public interface WireView {
+    /**
+     * Create a view of messages written with a self describing BinaryWire.
+     *
+     * @param viewInterface with a getter for each field of interest
+     * @param wireType      the messages were written with
+     */
+    @NotNull
+    static <V> V of(@NotNull Class<V> viewInterface, @NotNull WireType wireType) {
+        return of(viewInterface, wireType, null);
+    }
+
+    /**
+     * Create a view of messages written with the fields of <code>writtenAs</code> in order.
+     * This is required for RawWire and field-less BinaryWire as the messages don't have field names.
+     *
+     * @param viewInterface with a getter for each field of interest
+     * @param wireType      the messages were written with
+     * @param writtenAs     the class of the messages, or null if the messages have field names
+     * @throws IllegalArgumentException if the messages can't be viewed
+     */
+    @NotNull
+    static <V> V of(@NotNull Class<V> viewInterface, @NotNull WireType wireType, @Nullable Class<?> writtenAs) {
+        return GenerateWireView.newView(viewInterface, wireType, writtenAs);
+    }
+
+    /**
+     * View the message between <code>start</code> and <code>end</code>. The bytes are not copied and must not
+     * change while the view is used. The read position and limit of the bytes are not changed.
+     */
+    @NotNull
+    WireView bind(@NotNull Bytes<?> bytes, long start, long end);
+
+    /**
+     * View the remaining bytes.
+     */
+    @NotNull
+    default WireView bind(@NotNull Bytes<?> bytes) {
+        return bind(bytes, bytes.readPosition(), bytes.readLimit());
+    }
+
+    /**
+     * View the document being read.
+     */
+    @NotNull
+    default WireView bind(@NotNull DocumentContext dc) {
+        Wire wire = dc.wire();
+        if (wire == null)
+            throw new IllegalStateException("No document to view");
+        return bind(wire.bytes());
+    }
+}
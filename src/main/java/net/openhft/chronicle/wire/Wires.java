@@ -36,6 +36,7 @@ import net.openhft.chronicle.core.util.ObjectUtils;
 import net.openhft.chronicle.core.util.ReadResolvable;
 import net.openhft.chronicle.wire.internal.StringConsumerMarshallableOut;
 import net.openhft.compiler.CachedCompiler;
+import net.openhft.compiler.CompilerUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +49,10 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.text.ParseException;
@@ -55,6 +60,7 @@ import java.text.SimpleDateFormat;
 import java.time.*;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static net.openhft.chronicle.core.util.ReadResolvable.readResolve;
@@ -108,6 +114,12 @@ public enum Wires {
     static volatile boolean warnedUntypedBytesOnce = false;
     static ThreadLocal<StringBuilder> sb = ThreadLocal.withInitial(StringBuilder::new);
     private static CachedCompiler CACHED_COMPILER = null;
+    // when set, the source of every generated class is also written here, see GenerateWireSourcesMain
+    static volatile File generatedSourceDir = null;
+    // when set, classes compiled at runtime are saved here and reused by later JVMs with the same source
+    static final String CLASS_CACHE_DIR = System.getProperty("wire.class.cache.dir");
+    private static final AtomicLong CLASS_CACHE_HITS = new AtomicLong();
+    private static final AtomicLong CLASS_CACHE_MISSES = new AtomicLong();
 
     static {
         Jvm.addToClassPath(Wires.class);
@@ -448,6 +460,13 @@ public enum Wires {
         if (Enum.class.isAssignableFrom(marshallable.getClass()))
             return marshallable;
 
+        FieldCopier copier = FieldCopier.of(marshallable.getClass(), marshallable.getClass());
+        if (copier != null) {
+            @NotNull T t = (T) ObjectUtils.newInstance(marshallable.getClass());
+            copier.copyFields(marshallable, t);
+            return t;
+        }
+
         Wire wire = acquireBinaryWire();
         @NotNull T t = (T) ObjectUtils.newInstance(marshallable.getClass());
         boolean useSelfDescribing = t.usesSelfDescribingMessage() || !(t instanceof BytesMarshallable);
@@ -463,6 +482,9 @@ public enum Wires {
 
     @NotNull
     public static <T> T copyTo(Object source, @NotNull T target) {
+        // copy field by field if both classes support it, mapping fields by name.
+        if (FieldCopier.copy(source, target))
+            return target;
         Wire wire = acquireBinaryWire();
         wire.getValueOut().object(source);
         wire.getValueIn().typePrefix(); // drop the type prefix.
@@ -748,6 +770,9 @@ public enum Wires {
     }
 
     static synchronized Class loadFromJava(ClassLoader classLoader, String className, String code) throws ClassNotFoundException {
+        writeGeneratedSource(className, code);
+        if (CLASS_CACHE_DIR != null)
+            return loadFromClassCache(new File(CLASS_CACHE_DIR), classLoader, className, code);
         if (CACHED_COMPILER == null) {
             final String target = OS.getTarget();
             CACHED_COMPILER =
@@ -764,6 +789,112 @@ public enum Wires {
         }
     }
 
+    /**
+     * @return the number of generated classes loaded from the <code>wire.class.cache.dir</code> without compiling them.
+     */
+    public static long classCacheHits() {
+        return CLASS_CACHE_HITS.get();
+    }
+
+    /**
+     * @return the number of generated classes which had to be compiled and were added to the <code>wire.class.cache.dir</code>.
+     */
+    public static long classCacheMisses() {
+        return CLASS_CACHE_MISSES.get();
+    }
+
+    /**
+     * Loads the classes compiled for this source and class loader by a previous run if present,
+     * otherwise compiles them into a new entry in the cache directory.
+     * Each entry is a directory named after a hash of the source, class name, class loader type and Java version.
+     */
+    static Class loadFromClassCache(File cacheDir, ClassLoader classLoader, String className, String code) throws ClassNotFoundException {
+        File entry = new File(cacheDir, classCacheKey(classLoader, className, code));
+        if (entry.isDirectory()) {
+            try {
+                defineClasses(classLoader, entry, entry);
+                CLASS_CACHE_HITS.incrementAndGet();
+                return Class.forName(className, true, classLoader);
+            } catch (Throwable t) {
+                Jvm.warn().on(Wires.class, "Unable to load " + className + " from " + entry + ", recompiling", t);
+                IOTools.deleteDirWithFiles(entry.getPath());
+            }
+        }
+        CLASS_CACHE_MISSES.incrementAndGet();
+        // compile into a temporary directory and rename it so other processes never see a partial entry.
+        File tmp = new File(cacheDir, entry.getName() + ".tmp" + OS.getProcessId());
+        CachedCompiler compiler = new CachedCompiler(null, tmp);
+        try {
+            Class aClass = compiler.loadFromJava(classLoader, className, code);
+            if (!tmp.renameTo(entry))
+                IOTools.deleteDirWithFiles(tmp.getPath());
+            return aClass;
+        } finally {
+            Closeable.closeQuietly(compiler);
+        }
+    }
+
+    static String classCacheKey(ClassLoader classLoader, String className, String code) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update((classLoader.getClass().getName() + '\n'
+                    + System.getProperty("java.specification.version") + '\n'
+                    + className + '\n'
+                    + code).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(className.length() + 33);
+            sb.append(className).append('-');
+            byte[] digest = md.digest();
+            for (int i = 0; i < 16; i++)
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                        .append(Character.forDigit(digest[i] & 0xF, 16));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void defineClasses(ClassLoader classLoader, File root, File dir) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null)
+            throw new FileNotFoundException(dir.getPath());
+        for (File file : files) {
+            if (file.isDirectory()) {
+                defineClasses(classLoader, root, file);
+            } else if (file.getName().endsWith(".class")) {
+                String path = root.toPath().relativize(file.toPath()).toString();
+                String name = path.substring(0, path.length() - ".class".length()).replace(File.separatorChar, '.');
+                if (loadedClass(classLoader, name) == null)
+                    CompilerUtils.defineClass(classLoader, name, Files.readAllBytes(file.toPath()));
+            }
+        }
+    }
+
+    @Nullable
+    private static Class<?> loadedClass(ClassLoader classLoader, String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the source of a generated class to the {@link #generatedSourceDir} if set,
+     * so it can be compiled at build time and found on the class path instead of compiling it at runtime.
+     */
+    static void writeGeneratedSource(String className, String code) {
+        File dir = generatedSourceDir;
+        if (dir == null)
+            return;
+        File file = new File(dir, className.replace('.', '/') + ".java");
+        file.getParentFile().mkdirs();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(code);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
     enum SerializeEnum implements Function<Class, SerializationStrategy> {
         INSTANCE;
 
@@ -22,6 +22,7 @@ import net.openhft.chronicle.bytes.BytesIn;
 import net.openhft.chronicle.core.pool.StringBuilderPool;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
@@ -39,6 +40,28 @@ public class YamlTokeniser {
             YamlToken.MAPPING_END,
             YamlToken.DIRECTIVES_END);
     static final StringBuilderPool SBP = new StringBuilderPool();
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long SPACES = ' ' * ONES;
+    // '[' and '{', ']' and '}' differ only in bit 5
+    private static final long BIT5 = 0x20 * ONES;
+    // character classes, a bit for each scan the character ends.
+    private static final byte[] CHAR_CLASS = new byte[256];
+    private static final int WORDS_END = 1;
+    private static final int WORD_END = 2;
+
+    static {
+        for (char ch : ":,[]{}#\n\r".toCharArray())
+            CHAR_CLASS[ch] |= WORDS_END;
+        // ! is valid in a type TAG
+        // [] isn't standard but needed for array types in Java.
+        for (char ch : ",{}:?'\"#".toCharArray())
+            CHAR_CLASS[ch] |= WORD_END;
+        for (int ch = 0; ch <= ' '; ch++)
+            CHAR_CLASS[ch] |= WORD_END;
+    }
+
     protected final List<YTContext> contexts = new ArrayList<>();
     private final BytesIn<?> in;
     private final List<YTContext> freeContexts = new ArrayList<>();
@@ -62,7 +85,10 @@ public class YamlTokeniser {
         return contexts.size();
     }
 
-    void reset() {
+    /**
+     * Start again from the current read position, e.g. to tokenise the same input again.
+     */
+    public void reset() {
         contexts.clear();
         freeContexts.clear();
         if (temp != null)
@@ -373,13 +399,16 @@ public class YamlTokeniser {
     }
 
     private void readIndent() {
+        skipSpacesInBulk();
         while (true) {
             int ch = in.peekUnsignedByte();
             if (ch < 0 || ch > ' ')
                 break;
             in.readSkip(1);
-            if (ch == '\r' || ch == '\n')
+            if (ch == '\r' || ch == '\n') {
                 lineStart = in.readPosition();
+                skipSpacesInBulk();
+            }
         }
     }
 
@@ -474,9 +503,7 @@ public class YamlTokeniser {
         boolean isQuote = in.peekUnsignedByte() == '<';
         int ch = in.readUnsignedByte();
         do {
-            // ! is valid in a type TAG
-            // [] isn't standard but needed for array types in Java.
-            if (ch <= ' ' || (!isQuote && ",{}:?'\"#".indexOf(ch) >= 0)) {
+            if (ch <= ' ' || (!isQuote && (CHAR_CLASS[ch] & WORD_END) != 0)) {
                 unreadLast();
                 break;
             }
@@ -492,8 +519,18 @@ public class YamlTokeniser {
 
     private void readWords() {
         blockStart = in.readPosition();
+        long bulkFrom = blockStart;
         while (in.readRemaining() > 0) {
+            if (in.readPosition() >= bulkFrom)
+                bulkFrom = skipWordsInBulk() + 8;
+            if (in.readRemaining() <= 0)
+                break;
             int ch = in.readUnsignedByte();
+            if ((CHAR_CLASS[ch] & WORDS_END) == 0) {
+                if (ch > ' ')
+                    blockEnd = in.readPosition();
+                continue;
+            }
             switch (ch) {
                 case ':':
                     if (in.peekUnsignedByte() > ' ')
@@ -528,9 +565,82 @@ public class YamlTokeniser {
                     unreadLast();
                     return;
             }
-            if (ch > ' ')
-                blockEnd = in.readPosition();
+            blockEnd = in.readPosition();
+        }
+    }
+
+    /**
+     * Skip eight bytes at a time while none of them end the words, noting the last which isn't whitespace.
+     *
+     * @return the position of the eight bytes which might end the words.
+     */
+    private long skipWordsInBulk() {
+        long pos = in.readPosition();
+        if (!LITTLE_ENDIAN)
+            return pos;
+        for (long limit = in.readLimit(); pos + 8 <= limit; pos += 8) {
+            long word = in.readLong(pos);
+            long brackets = word | BIT5;
+            if ((zeroBytes(word ^ (':' * ONES))
+                    | zeroBytes(word ^ (',' * ONES))
+                    | zeroBytes(brackets ^ ('{' * ONES))
+                    | zeroBytes(brackets ^ ('}' * ONES))
+                    | zeroBytes(word ^ ('#' * ONES))
+                    | zeroBytes(word ^ ('\n' * ONES))
+                    | zeroBytes(word ^ ('\r' * ONES))) != 0)
+                break;
+            long visible = visibleBytes(word);
+            if (visible != 0)
+                blockEnd = pos + ((63 - Long.numberOfLeadingZeros(visible)) >>> 3) + 1;
+        }
+        in.readPosition(pos);
+        return pos;
+    }
+
+    /**
+     * Skip eight bytes at a time while none of them is <code>a</code> or <code>b</code>.
+     *
+     * @return the position of the eight bytes which might include either.
+     */
+    private long skipInBulk(int a, int b, boolean visibleEnd) {
+        long pos = in.readPosition();
+        if (!LITTLE_ENDIAN)
+            return pos;
+        long as = a * ONES;
+        long bs = b * ONES;
+        for (long limit = in.readLimit(); pos + 8 <= limit; pos += 8) {
+            long word = in.readLong(pos);
+            if ((zeroBytes(word ^ as) | zeroBytes(word ^ bs)) != 0)
+                break;
+            if (visibleEnd) {
+                long visible = visibleBytes(word);
+                if (visible != 0)
+                    blockEnd = pos + ((63 - Long.numberOfLeadingZeros(visible)) >>> 3) + 1;
+            }
         }
+        in.readPosition(pos);
+        return pos;
+    }
+
+    private void skipSpacesInBulk() {
+        if (!LITTLE_ENDIAN)
+            return;
+        while (in.readRemaining() >= 8 && in.readLong(in.readPosition()) == SPACES)
+            in.readSkip(8);
+    }
+
+    /**
+     * @return non-zero if any byte is zero, only use this to test whether there are any.
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * @return the high bit of each byte which is above a space.
+     */
+    private static long visibleBytes(long word) {
+        return (((word & ~HIGH_BITS) + 0x5F * ONES) | word) & HIGH_BITS;
     }
 
     private void contextPop() {
@@ -568,7 +678,12 @@ public class YamlTokeniser {
     private void readDoublyQuoted() {
         blockQuote = '"';
         blockStart = in.readPosition();
+        long bulkFrom = blockStart;
         while (in.readRemaining() > 0) {
+            if (in.readPosition() >= bulkFrom)
+                bulkFrom = skipInBulk('"', '\\', false) + 8;
+            if (in.readRemaining() <= 0)
+                break;
             int ch = in.readUnsignedByte();
             if (ch == '\\') {
                 ch = in.readUnsignedByte();
@@ -585,7 +700,12 @@ public class YamlTokeniser {
     private void readSinglyQuoted() {
         blockQuote = '\'';
         blockStart = in.readPosition();
+        long bulkFrom = blockStart;
         while (in.readRemaining() > 0) {
+            if (in.readPosition() >= bulkFrom)
+                bulkFrom = skipInBulk('\'', '\'', false) + 8;
+            if (in.readRemaining() <= 0)
+                break;
             int ch = in.readUnsignedByte();
             if (ch == blockQuote) {
                 // ignore double single quotes.
@@ -616,6 +736,7 @@ public class YamlTokeniser {
     private void readComment() {
         consumeSpaces();
         blockStart = blockEnd = in.readPosition();
+        skipInBulk('\n', '\r', true);
         while (true) {
             int ch = in.readUnsignedByte();
             if (ch < 0)
@@ -630,6 +751,7 @@ public class YamlTokeniser {
     }
 
     private void consumeSpaces() {
+        skipSpacesInBulk();
         while (true) {
             int ch = in.peekUnsignedByte();
             if (ch == ' ' || ch == '\t') {
@@ -641,12 +763,15 @@ public class YamlTokeniser {
     }
 
     private void consumeWhitespace() {
+        skipSpacesInBulk();
         while (true) {
             int ch = in.peekUnsignedByte();
             if (ch >= 0 && ch <= ' ') {
                 in.readSkip(1);
-                if (ch == '\n' || ch == '\r')
+                if (ch == '\n' || ch == '\r') {
                     lineStart = in.readPosition();
+                    skipSpacesInBulk();
+                }
             } else {
                 return;
             }
@@ -714,6 +839,9 @@ public class YamlTokeniser {
         }
         if (blockStart == blockEnd || NO_TEXT.contains(last))
             return -0.0; // no data
+        double d = DoubleText.parseDouble(in, blockStart, blockEnd);
+        if (d == d)
+            return d;
         long pos = in.readPosition();
         try {
             in.readPosition(blockStart);
@@ -25,6 +25,7 @@ import net.openhft.chronicle.bytes.ref.TextBooleanReference;
 import net.openhft.chronicle.bytes.ref.TextIntReference;
 import net.openhft.chronicle.bytes.ref.TextLongArrayReference;
 import net.openhft.chronicle.bytes.ref.TextLongReference;
+import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.io.IOTools;
@@ -74,9 +75,12 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
         WireInternal.INTERNER.valueCount();
     }
 
+    // write doubles as the shortest decimal which reads back as the same value.
+    private static final boolean SHORTEST_DOUBLES = Jvm.getBoolean("wire.text.shortestDoubles");
     protected final YamlValueOut valueOut = createValueOut();
     protected final StringBuilder sb = new StringBuilder();
     private boolean addTimeStamps = false;
+    private boolean shortestDoubles = SHORTEST_DOUBLES;
     private boolean trimFirstCurly = true;
 
     protected YamlWireOut(@NotNull Bytes bytes, boolean use8bit) {
@@ -92,6 +96,19 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
         return (T) this;
     }
 
+    public boolean shortestDoubles() {
+        return shortestDoubles;
+    }
+
+    /**
+     * If true, doubles are written as the fewest digits which read back as the same value, directly into the bytes,
+     * as plain digits from 0.001 up to 1e15 and with an exponent otherwise e.g. <code>1000000.0</code> rather than <code>1E6</code>
+     */
+    public T shortestDoubles(boolean shortestDoubles) {
+        this.shortestDoubles = shortestDoubles;
+        return (T) this;
+    }
+
     @NotNull
     protected YamlValueOut createValueOut() {
         return new YamlValueOut();
@@ -821,6 +838,10 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
                 writeSavedEventName();
             }
             prependSeparator();
+            if (shortestDoubles && DoubleText.appendShortest(bytes, d)) {
+                elementSeparator();
+                return wireOut();
+            }
             double ad = Math.abs(d);
             if (ad >= 1e-7 && ad < 1e15) {
                 if ((int) (ad / 1e6) * 1e6 == ad) {
@@ -25,6 +25,7 @@ import net.openhft.chronicle.core.io.ClosedIORuntimeException;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.threads.Pauser;
 import net.openhft.chronicle.threads.PauserMode;
+import net.openhft.chronicle.wire.BatchMethodReader;
 import net.openhft.chronicle.wire.DocumentContext;
 import net.openhft.chronicle.wire.MarshallableIn;
 import net.openhft.chronicle.wire.MarshallableOut;
@@ -38,6 +39,9 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 public interface ChronicleChannel extends Closeable, MarshallableOut, MarshallableIn {
+    // the most messages an event handler reads before checking whether it or the channel has been closed.
+    int EVENT_HANDLER_BATCH_SIZE = Integer.getInteger("wire.channel.eventHandlerBatchSize", 64);
+
     static ChronicleChannel newChannel(SocketRegistry socketRegistry, ChronicleChannelCfg channelCfg, ChannelHeader headerOut) {
         TCPChronicleChannel simpleConnection = new TCPChronicleChannel(channelCfg, headerOut, socketRegistry);
         final ChannelHeader marshallable = simpleConnection.headerIn();
@@ -119,7 +123,7 @@ public interface ChronicleChannel extends Closeable, MarshallableOut, Marshallab
                         break;
                     }
 
-                    if (reader.readOne())
+                    if (BatchMethodReader.readMany(reader, EVENT_HANDLER_BATCH_SIZE) > 0)
                         pauser.reset();
                     else
                         pauser.pause();
@@ -20,8 +20,10 @@ package net.openhft.chronicle.wire.domestic.extractor;
 
 import net.openhft.chronicle.core.annotation.NonNegative;
 import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.internal.extractor.DocumentExtractorUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleFunction;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleToLongFunction;
@@ -139,4 +141,29 @@ public interface ToDoubleDocumentExtractor {
 
     // peek
 
+    /**
+     * Creates and returns a new ToDoubleDocumentExtractor which reduces one numeric column of a batch
+     * written with {@link net.openhft.chronicle.wire.ValueOut#columns(Class, java.util.List) ValueOut.columns},
+     * e.g. {@code Math::max} or {@code Double::sum}, without decoding the other columns.
+     * <p>
+     * {@link Double#NaN} is returned if there is no such event or the batch is empty.
+     *
+     * @param eventName   of the batch
+     * @param elementType of the objects in the batch
+     * @param column      the name of the field
+     * @param reducer     to combine the values
+     * @return a new ToDoubleDocumentExtractor
+     * @throws NullPointerException if any of the provided parameters are {@code null}
+     */
+    static ToDoubleDocumentExtractor reducingColumn(@NotNull final String eventName,
+                                                    @NotNull final Class<?> elementType,
+                                                    @NotNull final String column,
+                                                    @NotNull final DoubleBinaryOperator reducer) {
+        requireNonNull(eventName);
+        requireNonNull(elementType);
+        requireNonNull(column);
+        requireNonNull(reducer);
+        return DocumentExtractorUtil.ofDoubleColumn(eventName, elementType, column, reducer);
+    }
+
 }
\ No newline at end of file
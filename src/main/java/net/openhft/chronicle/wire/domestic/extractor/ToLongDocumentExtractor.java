@@ -20,8 +20,10 @@ package net.openhft.chronicle.wire.domestic.extractor;
 
 import net.openhft.chronicle.core.annotation.NonNegative;
 import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.internal.extractor.DocumentExtractorUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.LongBinaryOperator;
 import java.util.function.LongFunction;
 import java.util.function.LongPredicate;
 import java.util.function.LongToDoubleFunction;
@@ -143,4 +145,29 @@ public interface ToLongDocumentExtractor {
         return (wire, index) -> index;
     }
 
+    /**
+     * Creates and returns a new ToLongDocumentExtractor which reduces one integer or boolean column of a batch
+     * written with {@link net.openhft.chronicle.wire.ValueOut#columns(Class, java.util.List) ValueOut.columns},
+     * e.g. {@code Math::max} or {@code Long::sum}, without decoding the other columns.
+     * <p>
+     * {@link Long#MIN_VALUE} is returned if there is no such event or the batch is empty.
+     *
+     * @param eventName   of the batch
+     * @param elementType of the objects in the batch
+     * @param column      the name of the field
+     * @param reducer     to combine the values
+     * @return a new ToLongDocumentExtractor
+     * @throws NullPointerException if any of the provided parameters are {@code null}
+     */
+    static ToLongDocumentExtractor reducingColumn(@NotNull final String eventName,
+                                                  @NotNull final Class<?> elementType,
+                                                  @NotNull final String column,
+                                                  @NotNull final LongBinaryOperator reducer) {
+        requireNonNull(eventName);
+        requireNonNull(elementType);
+        requireNonNull(column);
+        requireNonNull(reducer);
+        return DocumentExtractorUtil.ofLongColumn(eventName, elementType, column, reducer);
+    }
+
 }
\ No newline at end of file
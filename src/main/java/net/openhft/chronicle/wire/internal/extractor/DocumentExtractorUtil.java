@@ -20,13 +20,19 @@ package net.openhft.chronicle.wire.internal.extractor;
 
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.wire.ValueIn;
+import net.openhft.chronicle.wire.Wire;
 import net.openhft.chronicle.wire.domestic.extractor.DocumentExtractor;
+import net.openhft.chronicle.wire.domestic.extractor.ToDoubleDocumentExtractor;
+import net.openhft.chronicle.wire.domestic.extractor.ToLongDocumentExtractor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Proxy;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Supplier;
 
 import static net.openhft.chronicle.core.util.ObjectUtils.requireNonNull;
@@ -77,6 +83,80 @@ public final class DocumentExtractorUtil {
     }
 
 
+    public static ToLongDocumentExtractor ofLongColumn(@NotNull final String expectedEventName,
+                                                       @NotNull final Class<?> elementType,
+                                                       @NotNull final String column,
+                                                       @NotNull final LongBinaryOperator reducer) {
+        final StringBuilder eventName = new StringBuilder();
+        return (wire, index) -> {
+            final long[] values;
+            wire.startEvent();
+            try {
+                final ValueIn valueIn = findEvent(wire, expectedEventName, eventName);
+                values = valueIn == null ? null : valueIn.longColumn(elementType, column);
+            } finally {
+                wire.endEvent();
+            }
+            if (values == null || values.length == 0) {
+                return Long.MIN_VALUE;
+            }
+            long result = values[0];
+            for (int i = 1; i < values.length; i++) {
+                result = reducer.applyAsLong(result, values[i]);
+            }
+            return result;
+        };
+    }
+
+    public static ToDoubleDocumentExtractor ofDoubleColumn(@NotNull final String expectedEventName,
+                                                           @NotNull final Class<?> elementType,
+                                                           @NotNull final String column,
+                                                           @NotNull final DoubleBinaryOperator reducer) {
+        final StringBuilder eventName = new StringBuilder();
+        return (wire, index) -> {
+            final double[] values;
+            wire.startEvent();
+            try {
+                final ValueIn valueIn = findEvent(wire, expectedEventName, eventName);
+                values = valueIn == null ? null : valueIn.doubleColumn(elementType, column);
+            } finally {
+                wire.endEvent();
+            }
+            if (values == null || values.length == 0) {
+                return Double.NaN;
+            }
+            double result = values[0];
+            for (int i = 1; i < values.length; i++) {
+                result = reducer.applyAsDouble(result, values[i]);
+            }
+            return result;
+        };
+    }
+
+    @Nullable
+    private static ValueIn findEvent(@NotNull final Wire wire,
+                                     @NotNull final String expectedEventName,
+                                     @NotNull final StringBuilder eventName) {
+        final Bytes<?> bytes = wire.bytes();
+        while (bytes.readRemaining() > 0) {
+            if (wire.isEndEvent()) {
+                break;
+            }
+            final long start = bytes.readPosition();
+
+            wire.readEventName(eventName);
+            if (StringUtils.isEqual(expectedEventName, eventName)) {
+                return wire.getValueIn();
+            }
+            wire.getValueIn().skipValue();
+            wire.consumePadding();
+            if (bytes.readPosition() == start) {
+                break;
+            }
+        }
+        return null;
+    }
+
     public static <I, M>
     MethodNameAndMessageType<M> methodOf(@NotNull final Class<I> type,
                                          @NotNull final BiConsumer<? super I, ? super M> methodReference) {
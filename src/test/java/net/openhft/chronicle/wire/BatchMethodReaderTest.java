@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.openhft.chronicle.wire.VanillaMethodReaderBuilder.DISABLE_READER_PROXY_CODEGEN;
+import static org.junit.Assert.*;
+
+public class BatchMethodReaderTest extends WireTestCommon {
+
+    private static Wire writeTicks(WireType wireType) {
+        Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+        Ticks ticks = wire.methodWriter(Ticks.class);
+        for (int i = 0; i < 5; i++)
+            ticks.tick(i);
+        try (DocumentContext dc = wire.writingDocument(true)) {
+            dc.wire().write("meta").text("data");
+        }
+        ticks.tick(5);
+        return wire;
+    }
+
+    private static void readInBatches(MethodReader reader, List<Long> ticks) {
+        BatchMethodReader batchReader = (BatchMethodReader) reader;
+        assertEquals(3, batchReader.readMany(3));
+        assertEquals("[0, 1, 2]", ticks.toString());
+        // the metadata message is counted
+        assertEquals(4, batchReader.drain());
+        assertEquals("[0, 1, 2, 3, 4, 5]", ticks.toString());
+        assertEquals(0, batchReader.drain());
+    }
+
+    @Test
+    public void generated() {
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.BINARY}) {
+            Wire wire = writeTicks(wireType);
+            List<Long> ticks = new ArrayList<>();
+            MethodReader reader = wire.methodReader((Ticks) ticks::add);
+            assertTrue(reader instanceof AbstractGeneratedMethodReader);
+            readInBatches(reader, ticks);
+        }
+    }
+
+    @Test
+    public void vanilla() {
+        System.setProperty(DISABLE_READER_PROXY_CODEGEN, "true");
+        try {
+            Wire wire = writeTicks(WireType.BINARY);
+            List<Long> ticks = new ArrayList<>();
+            MethodReader reader = wire.methodReader((Ticks) ticks::add);
+            assertTrue(reader instanceof VanillaMethodReader);
+            readInBatches(reader, ticks);
+        } finally {
+            System.clearProperty(DISABLE_READER_PROXY_CODEGEN);
+        }
+    }
+
+    @Test
+    public void drainAnyReader() {
+        Wire wire = writeTicks(WireType.BINARY);
+        List<Long> ticks = new ArrayList<>();
+        MethodReader reader = wire.methodReader((Ticks) ticks::add);
+        assertEquals(6, BatchMethodReader.drain(reader));
+        assertEquals(6, ticks.size());
+    }
+
+    @Test
+    public void readManyAnyReader() {
+        Wire wire = writeTicks(WireType.BINARY);
+        List<Long> ticks = new ArrayList<>();
+        MethodReader reader = wire.methodReader((Ticks) ticks::add);
+        assertEquals(4, BatchMethodReader.readMany(reader, 4));
+        assertEquals(2, BatchMethodReader.readMany(reader, 4));
+        assertEquals(0, BatchMethodReader.readMany(reader, 4));
+        assertEquals(6, ticks.size());
+    }
+
+    interface Ticks {
+        void tick(long tick);
+    }
+}
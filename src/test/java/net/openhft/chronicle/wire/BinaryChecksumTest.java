@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+
+import static org.junit.Assert.*;
+
+public class BinaryChecksumTest extends WireTestCommon {
+
+    // writes documents of one value, returning the position of the last byte of each value
+    private static long[] writeDocuments(BinaryWire wire, int count) {
+        long[] ends = new long[count];
+        for (int i = 0; i < count; i++) {
+            try (DocumentContext dc = wire.writingDocument()) {
+                dc.wire().write("value").int64(1000 + i);
+            }
+            ends[i] = wire.bytes().writePosition() - BinaryChecksum.TRAILER_SIZE - 1;
+        }
+        return ends;
+    }
+
+    @Test
+    public void crc32c() {
+        byte[] check = "123456789".getBytes(StandardCharsets.ISO_8859_1);
+        for (Checksum checksum : new Checksum[]{BinaryChecksum.newCrc32c(), new BinaryChecksum.Crc32c()}) {
+            checksum.update(check, 0, check.length);
+            assertEquals(0xE3069283L, checksum.getValue());
+        }
+    }
+
+    @Test
+    public void roundTrip() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).checksums(true);
+        writeDocuments(wire, 3);
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        writeDocuments(plain, 3);
+
+        // the checksum is padding to any reader
+        assertEquals(Wires.fromSizePrefixedBlobs(plain), Wires.fromSizePrefixedBlobs(wire));
+
+        for (int i = 0; i < 3; i++) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                assertTrue(dc.isPresent());
+                assertEquals(1000 + i, dc.wire().read("value").int64());
+                assertFalse(dc.wire().hasMore());
+            }
+        }
+        assertEquals(0, wire.checksumFailures());
+    }
+
+    @Test
+    public void detectCorruption() {
+        expectException("Checksum failed");
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).checksums(true);
+        long[] ends = writeDocuments(wire, 3);
+        Bytes<?> bytes = wire.bytes();
+        bytes.writeByte(ends[1], (byte) (bytes.readByte(ends[1]) ^ 1));
+
+        for (int i = 0; i < 3; i++) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                assertEquals(i == 1, ((BinaryReadDocumentContext) dc).checksumFailed());
+            }
+        }
+        assertEquals(1, wire.checksumFailures());
+    }
+
+    @Test
+    public void verifyEveryNth() {
+        expectException("Checksum failed");
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).checksums(true).verifyChecksumEvery(4);
+        long[] ends = writeDocuments(wire, 10);
+        Bytes<?> bytes = wire.bytes();
+        for (long end : ends)
+            bytes.writeByte(end, (byte) (bytes.readByte(end) ^ 1));
+
+        for (int i = 0; i < 10; i++) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                assertTrue(dc.isPresent());
+            }
+        }
+        // documents 0, 4 and 8 are verified
+        assertEquals(3, wire.checksumFailures());
+    }
+
+    @Test
+    public void withFieldIndex() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true).checksums(true);
+        try (DocumentContext dc = wire.writingDocument()) {
+            for (int i = 0; i < 20; i++)
+                dc.wire().write("f" + i).int64(i);
+        }
+        // with and without checking the checksum
+        BinaryWire unchecked = new BinaryWire(wire.bytes().copy());
+        for (BinaryWire w : new BinaryWire[]{wire, unchecked}) {
+            try (DocumentContext dc = w.readingDocument()) {
+                Bytes<?> bytes = dc.wire().bytes();
+                assertTrue(BinaryFieldIndex.find(bytes, BinaryFieldIndex.hash("f15"), "f15".hashCode()) > bytes.readPosition());
+                assertEquals(15, dc.wire().read("f15").int64());
+                assertEquals(3, dc.wire().read("f3").int64());
+            }
+        }
+        assertEquals(0, wire.checksumFailures());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryFieldIndexTest extends WireTestCommon {
+
+    private static void writeWide(BinaryWire wire, int fields) {
+        try (DocumentContext dc = wire.writingDocument()) {
+            for (int i = 0; i < fields; i++) {
+                if (i == 10)
+                    // a nested field of the same name isn't indexed
+                    dc.wire().write("nested").marshallable(w -> w.write("f45").int64(-1));
+                dc.wire().write("f" + i).int64(i);
+            }
+        }
+    }
+
+    @Test
+    public void jumpToField() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true);
+        writeWide(wire, 50);
+
+        try (DocumentContext dc = wire.readingDocument()) {
+            Bytes<?> bytes = dc.wire().bytes();
+            assertTrue(BinaryFieldIndex.find(bytes, BinaryFieldIndex.hash("f45"), "f45".hashCode()) > bytes.readPosition());
+            assertEquals(-1, BinaryFieldIndex.find(bytes, BinaryFieldIndex.hash("f99"), "f99".hashCode()));
+
+            assertEquals(45, dc.wire().read("f45").int64());
+            assertEquals(46, dc.wire().read("f46").int64());
+            assertEquals(3, dc.wire().read("f3").int64());
+            long[] nested = {0};
+            dc.wire().read("nested").marshallable(w -> nested[0] = w.read("f45").int64());
+            assertEquals(-1, nested[0]);
+            assertEquals(49, dc.wire().read("f49").int64());
+        }
+    }
+
+    @Test
+    public void sameValuesWithoutIndex() {
+        BinaryWire indexed = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true);
+        writeWide(indexed, 20);
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        writeWide(plain, 20);
+        assertTrue(indexed.bytes().readRemaining() > plain.bytes().readRemaining());
+
+        // the index is padding to any reader
+        assertEquals(Wires.fromSizePrefixedBlobs(plain), Wires.fromSizePrefixedBlobs(indexed));
+
+        for (BinaryWire wire : new BinaryWire[]{indexed, plain}) {
+            try (DocumentContext dc = wire.readingDocument()) {
+                assertEquals(17, dc.wire().read("f17").int64());
+                assertEquals(2, dc.wire().read("f2").int64());
+            }
+        }
+    }
+
+    @Test
+    public void lastFieldThenEarlierField() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true);
+        writeWide(wire, 20);
+        try (DocumentContext dc = wire.readingDocument()) {
+            // the index is after the last field
+            assertEquals(19, dc.wire().read("f19").int64());
+            assertEquals(2, dc.wire().read("f2").int64());
+            assertEquals(3, dc.wire().read("f3").int64());
+        }
+    }
+
+    @Test
+    public void fieldsJumpedOverCanBeReadLater() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true);
+        writeWide(wire, 20);
+        try (DocumentContext dc = wire.readingDocument()) {
+            assertEquals(15, dc.wire().read("f15").int64());
+            assertEquals(4, dc.wire().read("f4").int64());
+            assertEquals(5, dc.wire().read("f5").int64());
+            assertEquals(16, dc.wire().read("f16").int64());
+            assertEquals(12, dc.wire().read("f12").int64());
+            assertEquals(0, dc.wire().read("f0").int64());
+            assertEquals(-1, dc.wire().read("missing").int64(-1));
+            assertEquals(19, dc.wire().read("f19").int64());
+        }
+    }
+
+    @Test
+    public void smallDocumentsAreNotIndexed() {
+        BinaryWire indexed = new BinaryWire(Bytes.allocateElasticOnHeap()).fieldIndex(true);
+        writeWide(indexed, 5);
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        writeWide(plain, 5);
+        assertEquals(plain.bytes().toHexString(), indexed.bytes().toHexString());
+    }
+}
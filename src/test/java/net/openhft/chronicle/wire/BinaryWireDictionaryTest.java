@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BinaryWireDictionaryTest extends WireTestCommon {
+
+    @Test
+    public void repeatedStringsAreReferenced() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        BinaryWire writer = BinaryWire.binaryOnly(bytes).dictionary(true);
+        long[] sizes = new long[3];
+        for (int i = 0; i < 3; i++) {
+            long start = bytes.writePosition();
+            writer.write("instrument").text("EURUSD")
+                    .write("venue").text("LSE")
+                    .write("id").int32(i);
+            sizes[i] = bytes.writePosition() - start;
+        }
+        // four references of two bytes, then the id field and value
+        assertEquals(4 * 2 + 3 + 1, sizes[1]);
+        assertEquals(sizes[1], sizes[2]);
+        assertTrue(sizes[1] < sizes[0]);
+
+        // readers don't need a dictionary for field names and text
+        BinaryWire reader = BinaryWire.binaryOnly(bytes);
+        StringBuilder sb = new StringBuilder();
+        String first = null;
+        for (int i = 0; i < 3; i++) {
+            String instrument = reader.read("instrument").text();
+            assertEquals("EURUSD", instrument);
+            if (first == null)
+                first = instrument;
+            assertSame(first, instrument);
+            reader.read("venue").textTo(sb);
+            assertEquals("LSE", sb.toString());
+            assertEquals(i, reader.read("id").int32());
+        }
+    }
+
+    @Test
+    public void typedMarshallables() {
+        BinaryWire writer = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        BinaryWire plain = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap());
+        Quote quote = new Quote("EURUSD", "EBS", 1.1, 1.2);
+        for (BinaryWire wire : new BinaryWire[]{writer, plain})
+            for (int i = 0; i < 3; i++)
+                wire.write("quote").object(quote);
+        assertTrue(writer.bytes().readRemaining() < plain.bytes().readRemaining());
+
+        BinaryWire reader = BinaryWire.binaryOnly(writer.bytes()).dictionary(true);
+        for (int i = 0; i < 3; i++)
+            assertEquals(quote, reader.read("quote").object());
+    }
+
+    @Test
+    public void skippedFieldsAreStillRecorded() {
+        BinaryWire wire = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        for (int i = 0; i < 2; i++)
+            wire.write("skipped").text("unread")
+                    .write("read").text("unread");
+        assertEquals("unread", wire.read("read").text());
+        assertEquals("unread", wire.read("read").text());
+    }
+
+    @Test
+    public void convertsToText() {
+        BinaryWire dictionary = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        BinaryWire plain = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap());
+        for (BinaryWire wire : new BinaryWire[]{dictionary, plain})
+            for (int i = 0; i < 2; i++)
+                wire.write("quote").marshallable(new Quote("GBPUSD", "EBS", i, i + 1));
+
+        Wire text1 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        plain.copyTo(text1);
+        Wire text2 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        dictionary.copyTo(text2);
+        assertEquals(text1.toString(), text2.toString());
+    }
+
+    @Test
+    public void clearDictionary() {
+        BinaryWire wire = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        wire.write("symbol").text("EURUSD");
+        long size = wire.bytes().writePosition();
+        wire.clearDictionary();
+        wire.write("symbol").text("EURUSD");
+        assertEquals(size * 2, wire.bytes().writePosition());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void idOutOfRange() {
+        BinaryWire wire = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap());
+        wire.write("symbol");
+        wire.bytes().writeUnsignedByte(BinaryWireCode.ANCHOR)
+                .writeStopBit(Integer.MAX_VALUE);
+        wire.getValueOut().text("EURUSD");
+        wire.read("symbol").text();
+    }
+
+    @Test
+    public void anchorsInARolledBackDocumentAreForgotten() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        BinaryWire writer = BinaryWire.binaryOnly(bytes).dictionary(true);
+        long start = bytes.writePosition();
+        try (DocumentContext dc = writer.writingDocument()) {
+            dc.wire().write("symbol").text("EURUSD");
+            dc.rollbackOnClose();
+        }
+        // as an appender which discards a rolled back document would
+        bytes.writePosition(start);
+
+        try (DocumentContext dc = writer.writingDocument()) {
+            dc.wire().write("symbol").text("EURUSD");
+        }
+        BinaryWire reader = BinaryWire.binaryOnly(bytes).dictionary(true);
+        try (DocumentContext dc = reader.readingDocument()) {
+            assertEquals("EURUSD", dc.wire().read("symbol").text());
+        }
+    }
+
+    @Test
+    public void skippedNestedMarshallables() {
+        for (boolean skipValue : new boolean[]{true, false}) {
+            BinaryWire wire = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+            // the symbol field name and text are anchored in the quote
+            wire.write("quote").marshallable(new Quote("EURUSD", "EBS", 1.1, 1.2))
+                    .write("symbol").text("EURUSD");
+            if (skipValue)
+                wire.read("quote").skipValue();
+            assertEquals("EURUSD", wire.read("symbol").text());
+        }
+    }
+
+    @Test
+    public void unreadDocumentTail() {
+        BinaryWire writer = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        try (DocumentContext dc = writer.writingDocument()) {
+            dc.wire().write("id").int32(1)
+                    .write("quote").marshallable(new Quote("EURUSD", "EBS", 1.1, 1.2));
+        }
+        try (DocumentContext dc = writer.writingDocument()) {
+            dc.wire().write("symbol").text("EURUSD");
+        }
+
+        BinaryWire reader = BinaryWire.binaryOnly(writer.bytes()).dictionary(true);
+        try (DocumentContext dc = reader.readingDocument()) {
+            assertEquals(1, dc.wire().read("id").int32());
+        }
+        try (DocumentContext dc = reader.readingDocument()) {
+            assertEquals("EURUSD", dc.wire().read("symbol").text());
+        }
+    }
+
+    @Test
+    public void methodReaderSkipsUnknownEvents() {
+        BinaryWire writer = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        try (DocumentContext dc = writer.writingDocument()) {
+            dc.wire().write("quote").marshallable(new Quote("EURUSD", "EBS", 1.1, 1.2));
+        }
+        writer.methodWriter(Symbols.class).symbol("EURUSD");
+
+        BinaryWire reader = BinaryWire.binaryOnly(writer.bytes()).dictionary(true);
+        List<String> symbols = new ArrayList<>();
+        MethodReader methodReader = reader.methodReader((Symbols) symbols::add);
+        assertTrue(methodReader.readOne());
+        assertTrue(methodReader.readOne());
+        assertEquals(Collections.singletonList("EURUSD"), symbols);
+    }
+
+    @Test
+    public void rawBytesAreNotReadAsAnchors() {
+        BinaryWire writer = BinaryWire.binaryOnly(Bytes.allocateElasticOnHeap()).dictionary(true);
+        writer.write("symbol").text("EURUSD");
+        // bytes which start as the anchor of another string for the same id, but aren't wire values
+        writer.write("raw").bytesMarshallable(b -> {
+            b.writeUnsignedByte(BinaryWireCode.ANCHOR);
+            b.writeStopBit(1);
+            b.writeUnsignedByte(BinaryWireCode.STRING_0 + 6);
+            b.append8bit("GBPUSD");
+            b.writeUnsignedByte(BinaryWireCode.EVENT_OBJECT);
+        });
+        writer.write("symbol").text("EURUSD");
+
+        BinaryWire reader = BinaryWire.binaryOnly(writer.bytes()).dictionary(true);
+        assertEquals("EURUSD", reader.read("symbol").text());
+        reader.read("raw").skipValue();
+        assertEquals("EURUSD", reader.read("symbol").text());
+    }
+
+    public interface Symbols {
+        void symbol(String symbol);
+    }
+
+    static class Quote extends SelfDescribingMarshallable {
+        String symbol;
+        String venue;
+        double bid;
+        double ask;
+
+        Quote(String symbol, String venue, double bid, double ask) {
+            this.symbol = symbol;
+            this.venue = venue;
+            this.bid = bid;
+            this.ask = ask;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryWirePackedArraysTest extends WireTestCommon {
+
+    @Test
+    public void roundTrip() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).packedArrays(true);
+        double[] doubles = new double[100];
+        for (int i = 0; i < doubles.length; i++)
+            doubles[i] = i * 1.5;
+        wire.write("doubles").array(doubles, doubles.length);
+        // code, field name, stop bit length and the elements
+        assertEquals(1 + "doubles".length() + 1 + 1 + 100 * 8, wire.bytes().readRemaining());
+
+        wire.write("ints").array(new int[]{1, -2, 3}, 3)
+                .write("longs").array(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE}, 2)
+                .write("floats").array(new float[]{1.5f, 2.5f}, 2)
+                .write("chars").array(new char[]{'a', '\uFFFF'}, 2)
+                .write("end").int32(1);
+
+        double[] doubles2 = new double[100];
+        assertEquals(100, wire.read("doubles").array(doubles2));
+        assertArrayEquals(doubles, doubles2, 0.0);
+
+        // a shorter array reads as many as fit and skips the rest
+        int[] ints = new int[2];
+        assertEquals(2, wire.read("ints").array(ints));
+        assertArrayEquals(new int[]{1, -2}, ints);
+
+        long[] longs = new long[4];
+        assertEquals(2, wire.read("longs").array(longs));
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0, 0, 0}, longs);
+
+        float[] floats = new float[2];
+        assertEquals(2, wire.read("floats").array(floats));
+        assertArrayEquals(new float[]{1.5f, 2.5f}, floats, 0.0f);
+
+        char[] chars = new char[2];
+        assertEquals(2, wire.read("chars").array(chars));
+        assertArrayEquals(new char[]{'a', '\uFFFF'}, chars);
+
+        assertEquals(1, wire.read("end").int32());
+    }
+
+    @Test
+    public void sameAsUnpackedWhenConverted() {
+        BinaryWire packed = new BinaryWire(Bytes.allocateElasticOnHeap()).packedArrays(true);
+        BinaryWire unpacked = new BinaryWire(Bytes.allocateElasticOnHeap());
+        for (BinaryWire wire : new BinaryWire[]{packed, unpacked}) {
+            wire.write("ints").array(new int[]{1, 2, 3}, 3)
+                    .write("doubles").array(new double[]{0.5, 1.25}, 2)
+                    .write("end").text("end");
+        }
+        assertTrue(packed.bytes().readRemaining() < unpacked.bytes().readRemaining());
+
+        Wire text1 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        unpacked.copyTo(text1);
+        Wire text2 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        packed.copyTo(text2);
+        assertEquals(text1.toString(), text2.toString());
+    }
+
+    @Test
+    public void skipped() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).packedArrays(true);
+        wire.write("ints").array(new int[]{1, 2, 3}, 3)
+                .write("floats").array(new float[]{1, 2}, 2)
+                .write("end").text("end");
+        assertEquals("end", wire.read("end").text());
+    }
+
+    @Test
+    public void dtoFields() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).packedArrays(true);
+        PackedDto dto = new PackedDto();
+        dto.ladder = new double[]{1.0, 1.1, 1.2};
+        dto.qty = new int[]{10, 20, 30};
+        dto.names = new String[]{"a", "b"};
+        wire.write("dto").marshallable(dto);
+
+        PackedDto dto2 = new PackedDto();
+        double[] ladder = new double[3];
+        dto2.ladder = ladder;
+        wire.read("dto").marshallable(dto2);
+        assertEquals(dto, dto2);
+        assertSame(ladder, dto2.ladder);
+    }
+
+    static class PackedDto extends SelfDescribingMarshallable {
+        double[] ladder;
+        int[] qty;
+        String[] names;
+        long[] none;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryWireShapeHintTest extends WireTestCommon {
+
+    static ShapeOuter newOuter() {
+        ShapeOuter outer = new ShapeOuter();
+        outer.name = "outer";
+        outer.inner = new ShapeInner();
+        outer.inner.id = 42;
+        outer.inner.price = 1.25;
+        outer.inner.text = "inner";
+        return outer;
+    }
+
+    @Test
+    public void roundTripWithHints() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).shapeHints(true);
+        ShapeOuter outer = newOuter();
+        wire.write("outer").marshallable(outer);
+
+        BinaryWire noHints = new BinaryWire(Bytes.allocateElasticOnHeap());
+        noHints.write("outer").marshallable(outer);
+        // a HINT and a fingerprint for each of outer and inner
+        assertEquals(noHints.bytes().readRemaining() + 2 * 9, wire.bytes().readRemaining());
+
+        ShapeOuter outer2 = new ShapeOuter();
+        wire.read("outer").marshallable(outer2);
+        assertEquals(outer, outer2);
+    }
+
+    @Test
+    public void differentShapeIgnoresTheHint() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).shapeHints(true);
+        ShapeInner inner = newOuter().inner;
+        wire.write("inner").marshallable(inner);
+
+        // same names in a different order
+        ShapeInnerReordered reordered = new ShapeInnerReordered();
+        wire.read("inner").marshallable(reordered);
+        assertEquals(inner.id, reordered.id);
+        assertEquals(inner.price, reordered.price, 0.0);
+        assertEquals(inner.text, reordered.text);
+    }
+
+    @Test
+    public void hintsAreDroppedWhenConvertedToText() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).shapeHints(true);
+        wire.write("outer").marshallable(newOuter());
+
+        BinaryWire noHints = new BinaryWire(Bytes.allocateElasticOnHeap());
+        noHints.write("outer").marshallable(newOuter());
+
+        Wire text1 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        noHints.copyTo(text1);
+        Wire text2 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        wire.copyTo(text2);
+        assertEquals(text1.toString(), text2.toString());
+    }
+
+    static class ShapeOuter extends SelfDescribingMarshallable {
+        String name;
+        ShapeInner inner;
+    }
+
+    static class ShapeInner extends SelfDescribingMarshallable {
+        long id;
+        double price;
+        String text;
+    }
+
+    static class ShapeInnerReordered extends SelfDescribingMarshallable {
+        String text;
+        double price;
+        long id;
+    }
+}
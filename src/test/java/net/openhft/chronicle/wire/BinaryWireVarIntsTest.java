@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryWireVarIntsTest extends WireTestCommon {
+    static final long[] VALUES = {
+            0, 1, -1, 127, 128, -129, 65535, 65536, 100_000, -100_000, 1 << 20,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, 0xFFFFFFFFL, 1L << 40, 1_000_000_000_123L,
+            Long.MIN_VALUE, Long.MAX_VALUE};
+
+    @Test
+    public void zigZag() {
+        for (long value : VALUES)
+            assertEquals(value, VarInts.unZigZag(VarInts.zigZag(value)));
+        assertEquals(1, VarInts.zigZag(-1));
+        assertEquals(2, VarInts.zigZag(1));
+        assertEquals(1, VarInts.length(0));
+        assertEquals(1, VarInts.length(127));
+        assertEquals(2, VarInts.length(128));
+        assertEquals(10, VarInts.length(-1));
+    }
+
+    @Test
+    public void neverLongerThanFixedWidth() {
+        BinaryWire varInts = new BinaryWire(Bytes.allocateElasticOnHeap()).varInts(true);
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        for (long value : VALUES) {
+            varInts.bytes().clear();
+            plain.bytes().clear();
+            varInts.getValueOut().int64(value);
+            plain.getValueOut().int64(value);
+            assertTrue(value + " " + varInts.bytes().readRemaining(),
+                    varInts.bytes().readRemaining() <= plain.bytes().readRemaining());
+            assertEquals(value, varInts.getValueIn().int64());
+        }
+
+        varInts.bytes().clear();
+        varInts.getValueOut().int64(100_000);
+        assertEquals(BinaryWireCode.VARINT, varInts.bytes().peekUnsignedByte());
+        assertEquals(4, varInts.bytes().readRemaining());
+
+        varInts.bytes().clear();
+        varInts.getValueOut().int64(1_000_000_000_123L);
+        assertEquals(7, varInts.bytes().readRemaining());
+    }
+
+    @Test
+    public void sequences() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).varInts(true);
+        long[] times = new long[100];
+        for (int i = 0; i < times.length; i++)
+            times[i] = 1_700_000_000_000L + i * 3 - (i % 7);
+        wire.write("times").array(times, times.length)
+                .write("end").int32(100_000);
+        // field, code, length, the first time and one byte for each difference after, then the end field and a VARINT
+        assertEquals((1 + 5) + 1 + 1 + 6 + 99 + (1 + 3) + 4, wire.bytes().readRemaining());
+
+        long[] times2 = new long[100];
+        assertEquals(100, wire.read("times").array(times2));
+        assertArrayEquals(times, times2);
+        assertEquals(100_000, wire.read("end").int32());
+    }
+
+    @Test
+    public void shortArraysAndSkipping() {
+        BinaryWire wire = new BinaryWire(Bytes.allocateElasticOnHeap()).varInts(true);
+        for (int i = 0; i < 2; i++)
+            wire.write("longs").array(new long[]{Long.MIN_VALUE, -1, 0, Long.MAX_VALUE}, 4)
+                    .write("end").text("end");
+
+        long[] longs = new long[2];
+        assertEquals(2, wire.read("longs").array(longs));
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1}, longs);
+        assertEquals("end", wire.read("end").text());
+
+        // skips the array
+        assertEquals("end", wire.read("end").text());
+    }
+
+    @Test
+    public void sameAsFixedWidthWhenConverted() {
+        BinaryWire varInts = new BinaryWire(Bytes.allocateElasticOnHeap()).varInts(true);
+        BinaryWire plain = new BinaryWire(Bytes.allocateElasticOnHeap());
+        VarIntDto dto = new VarIntDto();
+        dto.sequence = 1_000_000_000_123L;
+        dto.count = -100_000;
+        dto.history = new long[]{5, 10, 20, 19};
+        for (BinaryWire wire : new BinaryWire[]{varInts, plain})
+            wire.write("dto").marshallable(dto);
+        assertTrue(varInts.bytes().readRemaining() < plain.bytes().readRemaining());
+
+        VarIntDto dto2 = new VarIntDto();
+        long pos = varInts.bytes().readPosition();
+        varInts.read("dto").marshallable(dto2);
+        assertEquals(dto, dto2);
+        varInts.bytes().readPosition(pos);
+
+        Wire text1 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        plain.copyTo(text1);
+        Wire text2 = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        varInts.copyTo(text2);
+        assertEquals(text1.toString(), text2.toString());
+    }
+
+    static class VarIntDto extends SelfDescribingMarshallable {
+        long sequence;
+        int count;
+        long[] history;
+    }
+}
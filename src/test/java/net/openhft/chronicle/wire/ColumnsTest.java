@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.domestic.extractor.ToDoubleDocumentExtractor;
+import net.openhft.chronicle.wire.domestic.extractor.ToLongDocumentExtractor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ColumnsTest extends WireTestCommon {
+
+    static List<Trade> trades(int count) {
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Trade trade = new Trade();
+            trade.id = 1_000_000 + i;
+            trade.qty = (short) (100 * (i % 7));
+            trade.price = 1.25 + i / 64.0;
+            trade.flag = i % 10 == 0 ? 'Y' : 'N';
+            trade.symbol = i % 3 == 0 ? "EURUSD" : i % 3 == 1 ? "GBPUSD" : null;
+            trade.side = i < count / 2 ? Side.BUY : Side.SELL;
+            trade.aggressor = i >= 5 && i < 8;
+            trade.note = i == 2 ? new Note("late") : null;
+            trades.add(trade);
+        }
+        return trades;
+    }
+
+    @Test
+    public void roundTripBinary() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        List<Trade> trades = trades(100);
+        wire.write("trades").columns(Trade.class, trades);
+        long columnar = wire.bytes().readRemaining();
+
+        List<Trade> trades2 = new ArrayList<>();
+        trades2.add(new Trade());
+        trades2.add(null);
+        wire.read("trades").columns(Trade.class, trades2);
+        assertEquals(trades, trades2);
+
+        wire.clear();
+        wire.write("trades").sequence(trades);
+        assertTrue(columnar + " vs " + wire.bytes().readRemaining(),
+                columnar * 2 < wire.bytes().readRemaining());
+    }
+
+    @Test
+    public void roundTripText() {
+        Wire wire = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        List<Trade> trades = trades(4);
+        wire.write("trades").columns(Trade.class, trades);
+        String text = wire.toString();
+        assertTrue(text, text.contains("dict: [ EURUSD, GBPUSD ]"));
+        assertTrue(text, text.contains("runs: [ 0, 2, 1, 2 ]"));
+        assertEquals(trades, wire.read("trades").columns(Trade.class, new ArrayList<>()));
+    }
+
+    @Test
+    public void fewerRowsThanBefore() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        List<Trade> trades = trades(3);
+        wire.write("trades").columns(Trade.class, trades);
+
+        List<Trade> trades2 = trades(10);
+        wire.read("trades").columns(Trade.class, trades2);
+        assertEquals(trades, trades2);
+    }
+
+    @Test
+    public void extractSingleColumn() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        List<Trade> trades = trades(20);
+        wire.write("trades").columns(Trade.class, trades);
+
+        long start = wire.bytes().readPosition();
+        long totalQty = ToLongDocumentExtractor.reducingColumn("trades", Trade.class, "qty", Long::sum)
+                .extractAsLong(wire, 0);
+        assertEquals(trades.stream().mapToLong(t -> t.qty).sum(), totalQty);
+
+        wire.bytes().readPosition(start);
+        double maxPrice = ToDoubleDocumentExtractor.reducingColumn("trades", Trade.class, "price", Math::max)
+                .extractAsDouble(wire, 0);
+        assertEquals(1.25 + 19 / 64.0, maxPrice, 0.0);
+
+        wire.bytes().readPosition(start);
+        long aggressors = ToLongDocumentExtractor.reducingColumn("trades", Trade.class, "aggressor", Long::sum)
+                .extractAsLong(wire, 0);
+        assertEquals(3, aggressors);
+
+        wire.bytes().readPosition(start);
+        assertEquals(Long.MIN_VALUE,
+                ToLongDocumentExtractor.reducingColumn("orders", Trade.class, "qty", Long::sum)
+                        .extractAsLong(wire, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notANumber() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        wire.write("trades").columns(Trade.class, trades(2));
+        wire.read("trades").longColumn(Trade.class, "symbol");
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    static class Note extends SelfDescribingMarshallable {
+        String text;
+
+        Note(String text) {
+            this.text = text;
+        }
+    }
+
+    static class Trade extends SelfDescribingMarshallable {
+        long id;
+        short qty;
+        double price;
+        char flag;
+        String symbol;
+        Side side;
+        boolean aggressor;
+        Note note;
+    }
+}
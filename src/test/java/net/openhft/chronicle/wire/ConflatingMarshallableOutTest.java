@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConflatingMarshallableOutTest extends WireTestCommon {
+
+    private static List<String> readAll(Wire wire) {
+        List<String> calls = new ArrayList<>();
+        MethodReader reader = wire.methodReader(new Prices() {
+            @Override
+            public void price(String symbol, double price) {
+                calls.add("price " + symbol + " " + price);
+            }
+
+            @Override
+            public void top(long id, double bid, double ask) {
+                calls.add("top " + id + " " + bid + "/" + ask);
+            }
+
+            @Override
+            public void status(String text) {
+                calls.add("status " + text);
+            }
+        });
+        while (reader.readOne()) {
+            // read all
+        }
+        return calls;
+    }
+
+    @Test
+    public void latestValuePerKey() {
+        for (WireType wireType : new WireType[]{WireType.BINARY, WireType.TEXT}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            try (ConflatingMarshallableOut conflater = new ConflatingMarshallableOut(wire, wireType, Prices.class)) {
+                Prices prices = conflater.methodWriter(Prices.class);
+                prices.price("EURUSD", 1.1);
+                prices.price("GBPUSD", 1.2);
+                prices.status("open");
+                prices.top(1, 1, 2);
+                prices.price("EURUSD", 1.3);
+                prices.top(1, 1.5, 2.5);
+                prices.top(2, 3, 4);
+
+                // nothing is written until flushed
+                assertEquals(0, wire.bytes().readRemaining());
+                assertEquals(5, conflater.pending());
+                assertEquals(5, conflater.flush());
+                assertEquals(0, conflater.flush());
+                assertEquals(wireType.toString(),
+                        "[price EURUSD 1.3, price GBPUSD 1.2, status open, top 1 1.5/2.5, top 2 3.0/4.0]",
+                        readAll(wire).toString());
+
+                // only the keys updated since the last flush
+                prices.price("EURUSD", 1.4);
+                prices.price("EURUSD", 1.5);
+                assertTrue(conflater.onPoll(null));
+                assertFalse(conflater.onPoll(null));
+                assertEquals(wireType.toString(), "[price EURUSD 1.5]", readAll(wire).toString());
+            }
+        }
+    }
+
+    @Test
+    public void callsWithoutAKeyStayAfterEarlierUpdates() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        try (ConflatingMarshallableOut conflater = new ConflatingMarshallableOut(wire, WireType.BINARY, Prices.class)) {
+            Prices prices = conflater.methodWriter(Prices.class);
+            prices.price("EURUSD", 1.1);
+            prices.status("reset");
+            // conflated with the update before the reset, so written before it
+            prices.price("EURUSD", 1.2);
+            prices.price("GBPUSD", 1.3);
+            assertEquals(3, conflater.flush());
+            assertEquals("[price EURUSD 1.2, status reset, price GBPUSD 1.3]", readAll(wire).toString());
+        }
+    }
+
+    @Test
+    public void manyKeys() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        try (ConflatingMarshallableOut conflater = new ConflatingMarshallableOut(wire, WireType.BINARY, Prices.class)) {
+            Prices prices = conflater.methodWriter(Prices.class);
+            for (int i = 0; i < 10_000; i++)
+                prices.top(i % 1000, i, i + 1);
+            assertEquals(1000, conflater.flush());
+
+            List<String> calls = readAll(wire);
+            assertEquals(1000, calls.size());
+            assertEquals("top 0 9000.0/9001.0", calls.get(0));
+            assertEquals("top 999 9999.0/10000.0", calls.get(999));
+        }
+    }
+
+    @Test
+    public void keyAfterOtherArguments() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        try (ConflatingMarshallableOut conflater = new ConflatingMarshallableOut(wire, WireType.BINARY, Trades.class)) {
+            Trades trades = conflater.methodWriter(Trades.class);
+            // the arguments before the key are encoded in different lengths
+            trades.trade(1, "EURUSD");
+            trades.trade(123456.789, "EURUSD");
+            trades.trade(-2, "GBPUSD");
+            trades.trade(1e12, "EURUSD");
+            assertEquals(2, conflater.flush());
+
+            List<String> calls = new ArrayList<>();
+            MethodReader reader = wire.methodReader((Trades) (quantity, symbol) -> calls.add(symbol + " " + quantity));
+            while (reader.readOne()) {
+                // read all
+            }
+            assertEquals("[EURUSD 1.0E12, GBPUSD -2.0]", calls.toString());
+        }
+    }
+
+    interface Trades {
+        void trade(double quantity, @ConflationKey String symbol);
+    }
+
+    interface Prices {
+        void price(@ConflationKey String symbol, double price);
+
+        void top(@ConflationKey long id, double bid, double ask);
+
+        void status(String text);
+    }
+}
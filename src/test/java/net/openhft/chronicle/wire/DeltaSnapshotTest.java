@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DeltaSnapshotTest extends WireTestCommon {
+
+    @Test
+    public void onlyChangedFieldsAreWritten() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        DeltaSnapshotWriter<Book> writer = new DeltaSnapshotWriter<>(Book.class, 4);
+        List<Book> written = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        Book book = new Book();
+        book.symbol = "EURUSD";
+        book.venue = "EBS";
+        book.top.price = 1.1;
+        book.top.qty = 1_000_000;
+        for (int i = 0; i < 8; i++) {
+            book.bid = 1.1 + i * 1e-5;
+            if (i == 2)
+                book.top.qty = 2_000_000;
+            long start = wire.bytes().writePosition();
+            writer.write(wire, book);
+            sizes.add(wire.bytes().writePosition() - start);
+            written.add(Wires.deepCopy(book));
+        }
+        // keyframes at 0 and 4
+        assertTrue(sizes.get(1) < sizes.get(0) / 2);
+        assertEquals(sizes.get(0), sizes.get(4));
+        // a change to a nested field is written
+        assertTrue(sizes.get(2) > sizes.get(1));
+
+        Book snapshot = new Book();
+        DeltaSnapshotReader<Book> reader = new DeltaSnapshotReader<>(snapshot);
+        for (Book expected : written) {
+            assertSame(snapshot, reader.read(wire));
+            assertEquals(expected, snapshot);
+        }
+    }
+
+    @Test
+    public void joinAtKeyframe() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        DeltaSnapshotWriter<Book> writer = new DeltaSnapshotWriter<>(Book.class, 3);
+        Book book = new Book();
+        book.symbol = "GBPUSD";
+        long joinAt = 0;
+        for (int i = 0; i < 6; i++) {
+            book.ask = i;
+            if (i == 1)
+                joinAt = wire.bytes().writePosition();
+            writer.write(wire, book);
+        }
+        wire.bytes().readPosition(joinAt);
+
+        DeltaSnapshotReader<Book> reader = new DeltaSnapshotReader<>(new Book());
+        assertNull(reader.read(wire));
+        assertNull(reader.read(wire));
+        assertFalse(reader.hasKeyframe());
+        // the keyframe at 3
+        assertEquals(3, reader.read(wire).ask, 0.0);
+        assertEquals(4, reader.read(wire).ask, 0.0);
+        Book last = reader.read(wire);
+        assertEquals(book, last);
+    }
+
+    @Test
+    public void forcedKeyframe() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        DeltaSnapshotWriter<Book> writer = new DeltaSnapshotWriter<>(Book.class, 100);
+        Book book = new Book();
+        long[] sizes = new long[3];
+        for (int i = 0; i < sizes.length; i++) {
+            if (i == 2)
+                writer.keyframe();
+            long start = wire.bytes().writePosition();
+            writer.write(wire, book);
+            sizes[i] = wire.bytes().writePosition() - start;
+        }
+        assertTrue(sizes[1] < sizes[0]);
+        assertEquals(sizes[0], sizes[2]);
+    }
+
+    static class Level extends SelfDescribingMarshallable {
+        double price;
+        long qty;
+    }
+
+    static class Book extends SelfDescribingMarshallable {
+        String symbol;
+        String venue;
+        double bid;
+        double ask;
+        Level top = new Level();
+    }
+}
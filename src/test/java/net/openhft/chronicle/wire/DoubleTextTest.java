@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DoubleTextTest extends WireTestCommon {
+
+    private static double parse(String text) {
+        Bytes<?> bytes = Bytes.from(text);
+        return DoubleText.parseDouble(bytes, bytes.readPosition(), bytes.readLimit());
+    }
+
+    private static String shortest(double d) {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        return DoubleText.appendShortest(bytes, d) ? bytes.toString() : null;
+    }
+
+    @Test
+    public void shortest() {
+        assertEquals("1.0", shortest(1.0));
+        assertEquals("0.1", shortest(0.1));
+        assertEquals("-1234.5", shortest(-1234.5));
+        assertEquals("0.001", shortest(0.001));
+        assertEquals("100.0", shortest(100));
+        assertEquals("0.30000000000001", shortest(0.30000000000001));
+        assertEquals("1.0E20", shortest(1e20));
+        assertEquals("1.5E-8", shortest(1.5e-8));
+        assertEquals("999000000000000.0", shortest(9.99e14));
+        // needs 17 digits
+        assertNull(shortest(0.1 + 0.2));
+        assertNull(shortest(0.0));
+        assertNull(shortest(Double.NaN));
+    }
+
+    @Test
+    public void parse() {
+        assertEquals(1234.5, parse("1234.5"), 0);
+        assertEquals(-0.001, parse("-0.001"), 0);
+        assertEquals(1e20, parse("1E20"), 0);
+        assertEquals(1.5e-8, parse("+1.5e-8"), 0);
+        assertEquals(0.30000000000000004, parse("0.30000000000000004"), 0);
+        assertEquals(9.9999999999999999e22, parse("9.9999999999999999e22"), 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(parse("-0.0")));
+        assertEquals(Double.MAX_VALUE, parse("1.7976931348623157E308"), 0);
+        // not exact or not a decimal, left to another parser
+        assertTrue(Double.isNaN(parse("")));
+        assertTrue(Double.isNaN(parse("1e")));
+        assertTrue(Double.isNaN(parse("1_000")));
+        assertTrue(Double.isNaN(parse("NaN")));
+        assertTrue(Double.isNaN(parse("12345678901234567890.5")));
+    }
+
+    @Test
+    public void roundTripRandom() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            double d = i % 2 == 0
+                    ? Double.longBitsToDouble(random.nextLong())
+                    : Math.round(random.nextDouble() * 1e9) / 1e4;
+            if (Double.isNaN(d) || Double.isInfinite(d))
+                continue;
+            String text = Double.toString(d);
+            double parsed = parse(text);
+            if (!Double.isNaN(parsed))
+                assertEquals(text, Double.doubleToLongBits(d), Double.doubleToLongBits(parsed));
+            String shortest = shortest(d);
+            if (shortest != null)
+                assertEquals(shortest, d, Double.parseDouble(shortest), 0);
+        }
+    }
+
+    @Test
+    public void textWire() {
+        double[] values = {1234.5, 0.1, -2.5e-8, 1e20, 0.1 + 0.2, 1e6, 101.25};
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.YAML_ONLY, WireType.JSON}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            ((YamlWireOut<?>) wire).shortestDoubles(true);
+            for (double value : values)
+                wire.write("v").float64(value);
+            for (double value : values)
+                assertEquals(wireType + " " + wire, value, wire.read("v").float64(), 0);
+        }
+    }
+}
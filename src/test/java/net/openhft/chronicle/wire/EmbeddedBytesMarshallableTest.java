@@ -168,6 +168,30 @@ public class EmbeddedBytesMarshallableTest extends WireTestCommon {
         bytes.releaseLast();
     }
 
+    @Test
+    public void derivedLayout() {
+        EBM3 e3 = new EBM3();
+        EBM4 e4 = new EBM4();
+        assertEquals(e3.$description(), e4.$description());
+        assertEquals(e3.$start(), e4.$start());
+        assertEquals(e3.$length(), e4.$length());
+
+        e4.l1 = 81;
+        e4.i2 = 42;
+        e4.s0 = 20;
+        e4.b2 = 12;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        e4.writeMarshallable(bytes);
+        e3.readMarshallable(bytes);
+        assertEquals(e4.toString().replace("EBM4", "EBM3"), e3.toString());
+        bytes.releaseLast();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notTriviallyCopyable() {
+        new EBM5();
+    }
+
     @Test(expected = DecoratedBufferUnderflowException.class)
     public void noData() {
         Bytes<?> bytes = Bytes.allocateElasticOnHeap(64);
@@ -340,4 +364,16 @@ public class EmbeddedBytesMarshallableTest extends WireTestCommon {
             return LENGTH;
         }
     }
+
+    static class EBM4 extends SelfDescribingTriviallyCopyable {
+        long l0, l1, l2;
+        int i0, i1, i2;
+        short s0, s1, s2;
+        byte b0, b1, b2;
+    }
+
+    static class EBM5 extends SelfDescribingTriviallyCopyable {
+        long l0;
+        String text;
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class FieldCopierTest extends WireTestCommon {
+
+    static CopyState newState() {
+        CopyState state = new CopyState();
+        state.seq = 128;
+        state.flag = true;
+        state.ch = 'X';
+        state.price = 99.5;
+        state.name = "state";
+        state.sb.append("builder");
+        state.levels.add(new CopyLevel(1.0, 100));
+        state.levels.add(new CopyLevel(2.0, 200));
+        state.bySymbol.put("EURUSD", new CopyLevel(1.1, 10));
+        state.ids = new long[]{1, 2, 3};
+        state.side = CopySide.BUY;
+        state.top = new CopyLevel(3.0, 300);
+        return state;
+    }
+
+    @Test
+    public void deepCopyIsDirectAndIndependent() {
+        assertNotNull(FieldCopier.of(CopyState.class, CopyState.class));
+
+        CopyState state = newState();
+        CopyState copy = state.deepCopy();
+        assertEquals(state, copy);
+        assertNotSame(state.top, copy.top);
+        assertNotSame(state.levels, copy.levels);
+        assertNotSame(state.levels.get(0), copy.levels.get(0));
+        assertNotSame(state.ids, copy.ids);
+        assertSame(state.name, copy.name);
+
+        copy.levels.get(0).qty = -1;
+        copy.sb.append("!");
+        assertEquals(100, state.levels.get(0).qty);
+        assertEquals("builder", state.sb.toString());
+    }
+
+    @Test
+    public void copyToReusesNestedInstances() {
+        CopyState state = newState();
+        CopyState target = new CopyState();
+        CopyLevel top = new CopyLevel(0, 0);
+        target.top = top;
+        List<CopyLevel> levels = target.levels;
+
+        state.copyTo(target);
+        assertEquals(state, target);
+        assertSame(top, target.top);
+        assertSame(levels, target.levels);
+    }
+
+    @Test
+    public void sameAsViaWire() {
+        CopyState state = newState();
+        state.name = null;
+        state.top = null;
+        state.ids = null;
+
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        state.writeMarshallable(wire);
+        CopyState viaWire = new CopyState();
+        viaWire.readMarshallable(wire);
+        assertEquals(viaWire, state.deepCopy());
+    }
+
+    @Test
+    public void projectMapsByName() {
+        assertNotNull(FieldCopier.of(CopyState.class, CopySummary.class));
+
+        CopyState state = newState();
+        CopySummary summary = Wires.project(CopySummary.class, state);
+        assertEquals(state.seq, summary.seq);
+        assertEquals(state.name, summary.name);
+        assertEquals(state.top, summary.top);
+        assertNotSame(state.top, summary.top);
+        assertEquals("none", summary.missing);
+    }
+
+    @Test
+    public void projectToleratingUnexpectedFieldsUsesTheWire() {
+        assertNull(FieldCopier.of(CopyState.class, CopyUnexpected.class));
+        // no fields the target would be told about
+        assertNotNull(FieldCopier.of(CopySummary.class, CopyUnexpected.class));
+
+        CopyState state = newState();
+        CopyUnexpected unexpected = Wires.project(CopyUnexpected.class, state);
+        assertEquals(state.seq, unexpected.seq);
+        assertEquals(state.name, unexpected.name);
+        assertEquals("[flag, ch, price, sb, levels, bySymbol, ids, side]", unexpected.unexpected.toString());
+    }
+
+    @Test
+    public void customMarshallingUsesTheWire() {
+        assertNull(FieldCopier.of(CopyCustom.class, CopyCustom.class));
+        CopyCustom custom = new CopyCustom();
+        custom.value = 12;
+        CopyCustom copy = custom.deepCopy();
+        assertEquals(13, copy.value);
+    }
+
+    enum CopySide {
+        BUY, SELL
+    }
+
+    static class CopyLevel extends SelfDescribingMarshallable {
+        double price;
+        long qty;
+
+        CopyLevel(double price, long qty) {
+            this.price = price;
+            this.qty = qty;
+        }
+    }
+
+    static class CopyState extends SelfDescribingMarshallable {
+        long seq;
+        boolean flag;
+        char ch;
+        double price;
+        String name;
+        final StringBuilder sb = new StringBuilder();
+        final List<CopyLevel> levels = new ArrayList<>();
+        final Map<String, CopyLevel> bySymbol = new LinkedHashMap<>();
+        long[] ids;
+        CopySide side;
+        CopyLevel top;
+    }
+
+    static class CopySummary extends SelfDescribingMarshallable {
+        long seq;
+        String name;
+        CopyLevel top;
+        String missing = "none";
+    }
+
+    static class CopyUnexpected extends SelfDescribingMarshallable {
+        long seq;
+        String name;
+        CopyLevel top;
+        String missing;
+        transient List<String> unexpected = new ArrayList<>();
+
+        @Override
+        public void unexpectedField(Object event, ValueIn valueIn) {
+            unexpected.add(event.toString());
+            valueIn.skipValue();
+        }
+    }
+
+    static class CopyCustom extends SelfDescribingMarshallable {
+        int value;
+
+        @Override
+        public void writeMarshallable(@NotNull WireOut wire) {
+            wire.write("value").int32(value + 1);
+        }
+
+        @Override
+        public void readMarshallable(@NotNull WireIn wire) {
+            value = wire.read("value").int32();
+        }
+    }
+}
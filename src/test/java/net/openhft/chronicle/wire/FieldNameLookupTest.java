@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FieldNameLookupTest extends WireTestCommon {
+
+    @Test
+    public void lookup() {
+        String[] names = {"id", "name", "price", "quantity", "side", "timestampNS", "a", "b", "c", "d"};
+        FieldNameLookup lookup = FieldNameLookup.of(names);
+        assertNotNull(lookup);
+        assertEquals(names.length, lookup.size());
+
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i, lookup.indexOf(names[i]));
+            bytes.clear();
+            bytes.append("xx").append(names[i]);
+            assertEquals(i, lookup.indexOf(bytes, 2, names[i].length()));
+        }
+        assertEquals(FieldNameLookup.NOT_FOUND, lookup.indexOf("unknown"));
+        assertEquals(FieldNameLookup.NOT_FOUND, lookup.indexOf("ids"));
+        assertEquals(FieldNameLookup.NO_NAME, lookup.indexOf(""));
+    }
+
+    @Test
+    public void notAscii() {
+        assertNull(FieldNameLookup.of("café"));
+        assertNull(FieldNameLookup.of("same", "same"));
+    }
+
+    @Test
+    public void outOfOrderBinary() {
+        doOutOfOrder(WireType.BINARY);
+    }
+
+    @Test
+    public void outOfOrderText() {
+        doOutOfOrder(WireType.TEXT);
+    }
+
+    private void doOutOfOrder(WireType wireType) {
+        Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+        wire.write("price").float64(1.5)
+                .write("extra").text("ignored")
+                .write("id").int64(1234)
+                .write("name").text("hello");
+
+        WireMarshaller<FNLDto> marshaller = WireMarshaller.of(FNLDto.class);
+        FNLDto dto = new FNLDto();
+        dto.side = 'S';
+        marshaller.readMarshallableInputOrder(dto, wire, marshaller.defaultValue(), true);
+        assertEquals(1234, dto.id);
+        assertEquals("hello", dto.name);
+        assertEquals(1.5, dto.price, 0.0);
+        assertEquals(0, dto.side);
+    }
+
+    static class FNLDto extends SelfDescribingMarshallable {
+        long id;
+        String name;
+        double price;
+        char side;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GenerateWireMarshallerTest extends WireTestCommon {
+
+    static GWMDto newDto() {
+        GWMDto dto = new GWMDto();
+        dto.flag = true;
+        dto.b = -1;
+        dto.s = 12345;
+        dto.i = 1 << 20;
+        dto.l = Long.MAX_VALUE / 3;
+        dto.f = 1.5f;
+        dto.d = 0.1;
+        dto.text = "Hello World";
+        dto.ts = 1573995402108971L;
+        dto.list.add("one");
+        dto.list.add("two");
+        dto.nested = new MyTypes().i(3).text("nested");
+        return dto;
+    }
+
+    @Test
+    public void generatesAClass() {
+        WireMarshaller<GWMDto> generated = WireMarshaller.of(GWMDto.class, true);
+        assertNotSame(WireMarshaller.class, generated.getClass());
+        assertTrue(generated.getClass().getName().contains("GWMDtoMarshaller"));
+
+        WireMarshaller<GWMDto> reflective = WireMarshaller.of(GWMDto.class, false);
+        assertSame(WireMarshaller.class, reflective.getClass());
+    }
+
+    @Test
+    public void sameOutputBinary() {
+        doSameOutput(WireType.BINARY);
+    }
+
+    @Test
+    public void sameOutputText() {
+        doSameOutput(WireType.TEXT);
+    }
+
+    @Test
+    public void sameOutputYaml() {
+        doSameOutput(WireType.YAML_ONLY);
+    }
+
+    private void doSameOutput(WireType wireType) {
+        WireMarshaller<GWMDto> generated = WireMarshaller.of(GWMDto.class, true);
+        WireMarshaller<GWMDto> reflective = WireMarshaller.of(GWMDto.class, false);
+        GWMDto dto = newDto();
+
+        Bytes<?> bytes1 = Bytes.allocateElasticOnHeap();
+        Bytes<?> bytes2 = Bytes.allocateElasticOnHeap();
+        reflective.writeMarshallable(dto, wireType.apply(bytes1));
+        generated.writeMarshallable(dto, wireType.apply(bytes2));
+        assertEquals(bytes1.toHexString(), bytes2.toHexString());
+
+        GWMDto dto2 = new GWMDto();
+        generated.readMarshallable(dto2, wireType.apply(bytes2), reflective.defaultValue(), true);
+        assertEquals(dto, dto2);
+    }
+
+    @Test
+    public void missingFieldsTakeDefaults() {
+        WireMarshaller<GWMDto> generated = WireMarshaller.of(GWMDto.class, true);
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        wire.write("l").int64(128)
+                .write("text").text("only");
+
+        GWMDto dto = newDto();
+        generated.readMarshallableDTOOrder(dto, wire, generated.defaultValue(), true);
+        GWMDto expected = new GWMDto();
+        expected.l = 128;
+        expected.text = "only";
+        assertEquals(expected, dto);
+    }
+
+    static class GWMDto extends SelfDescribingMarshallable {
+        boolean flag;
+        byte b;
+        short s;
+        int i;
+        long l;
+        float f;
+        double d;
+        String text;
+        @LongConversion(MicroTimestampLongConverter.class)
+        long ts;
+        List<String> list = new ArrayList<>();
+        MyTypes nested;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.IOTools;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class GenerateWireSourcesMainTest extends WireTestCommon {
+
+    @Test
+    public void writesSources() throws ClassNotFoundException {
+        File dir = new File(OS.getTarget(), "GenerateWireSourcesMainTest-" + System.nanoTime());
+        try {
+            new GenerateWireSourcesMain().generate(dir, Arrays.asList(
+                    GWSListener.class.getName(),
+                    GWSHandler.class.getName(),
+                    GWSDto.class.getName()));
+
+            List<String> names = sources(dir);
+            assertTrue(names.toString(), names.stream().anyMatch(n -> n.contains("GWSListener") && n.endsWith("MethodWriter.java")));
+            assertTrue(names.toString(), names.stream().anyMatch(n -> n.contains("GWSHandler") && n.endsWith("MethodReader.java")));
+            assertTrue(names.toString(), names.stream().anyMatch(n -> n.contains("GWSDtoMarshaller")));
+        } finally {
+            IOTools.deleteDirWithFiles(dir.getPath());
+        }
+    }
+
+    @Test
+    public void runtimeCompiledIsNotPrecompiled() {
+        WireMarshaller<GWSDto2> generated = WireMarshaller.of(GWSDto2.class, true);
+        assertNotSame(WireMarshaller.class, generated.getClass());
+        assertSame(WireMarshaller.class, WireMarshaller.of(GWSDto2.class, false).getClass());
+    }
+
+    private static List<String> sources(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null)
+            return Arrays.asList();
+        return Stream.of(files)
+                .flatMap(f -> f.isDirectory() ? sources(f).stream() : Stream.of(f.getName()))
+                .collect(Collectors.toList());
+    }
+
+    interface GWSListener {
+        void say(String text);
+    }
+
+    static class GWSHandler implements GWSListener {
+        @Override
+        public void say(String text) {
+        }
+    }
+
+    static class GWSDto extends SelfDescribingMarshallable {
+        int id;
+        String name;
+    }
+
+    static class GWSDto2 extends SelfDescribingMarshallable {
+        long id;
+    }
+}
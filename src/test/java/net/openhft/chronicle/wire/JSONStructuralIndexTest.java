@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JSONStructuralIndexTest extends WireTestCommon {
+    static final String[] DOCUMENTS = {
+            "{\"map\":{\"CLASS\":0.1}}",
+            "[1,2,3]",
+            "{\"price\":1234.5, \"qty\":100, \"notes\":\"filled, at {venue}: [XLON]\", \"flags\":[ ], \"none\":null}",
+            "[320,{\"as\":[[\"32905.50000\",\"1.60291699\",\"1625822573.857656\"],[\"32905.60000\",\"0.10415889\",\"1625822573.194909\"]],\"bs\":[[\"32893.60000\",\"0.15042948\",\"1625822574.220475\"]]},\"book-10\"]",
+            "\"event\":{\"@Order\":{\"id\":\"A1\",\"qty\":5}}",
+            "{\"text\":\"escaped \\\"quotes\\\", and a backslash \\\\\",\"next\":-12}",
+    };
+
+    @Test
+    public void positions() {
+        String json = "{\"a,b\":[1,\"c\\\"]\"],\"d\":{}}";
+        Bytes<?> bytes = Bytes.from(json);
+        JSONStructuralIndex index = new JSONStructuralIndex().build(bytes, 0, bytes.readRemaining());
+        assertTrue(index.complete());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < index.count(); i++)
+            sb.append(json.charAt((int) index.position(i)));
+        assertEquals("{\"\":[,\"\"],\"\":{}}", sb.toString());
+    }
+
+    @Test
+    public void closing() {
+        String json = "{\"a\":[1,{\"b\":\"]}\"}],\"c\":2}";
+        Bytes<?> bytes = Bytes.from(json);
+        JSONStructuralIndex index = new JSONStructuralIndex().build(bytes, 0, bytes.readRemaining());
+        assertEquals(json.length() - 1, index.position(index.closing(index.at(0))));
+        assertEquals(json.indexOf("],"), index.position(index.closing(index.at(json.indexOf('[')))));
+        assertEquals(json.indexOf("\"}]"), index.position(index.closing(index.at(json.indexOf("\"]")))));
+        assertEquals(-1, index.closing(index.at(json.indexOf(','))));
+    }
+
+    @Test
+    public void unterminated() {
+        Bytes<?> bytes = Bytes.from("{\"abcdefghijklmnop\":\"qrstuvwxyz\\\"}");
+        assertFalse(new JSONStructuralIndex().build(bytes, 0, bytes.readRemaining()).complete());
+    }
+
+    @Test
+    public void sameAsCopyOne() {
+        for (String json : DOCUMENTS) {
+            assertEquals(json, copy(json, false), copy(json, true));
+        }
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void missingComma() {
+        copy("{\"a\":1 \"b\":2}", true);
+    }
+
+    @Test
+    public void readsAsWithoutIndex() {
+        String json = "{\"qty\":100,\"unknown\":{\"a\":[1,\"]}\",{\"b\":\"}\"}],\"c\":{}}," +
+                "\"symbol\":\"caf\u00e9 \\\"A\\\" \\u00e9\",\"venue\":{\"name\":\"XLON\",\"fee\":-0.25} ," +
+                "\"price\":1234.5,\"side\":-1}";
+        Trade expected = new Trade();
+        expected.symbol = "caf\u00e9 \"A\" \u00e9";
+        expected.price = 1234.5;
+        expected.qty = 100;
+        expected.side = -1;
+        expected.venue = new Venue();
+        expected.venue.name = "XLON";
+        expected.venue.fee = -0.25;
+        assertEquals(expected, read(json, false));
+        assertEquals(expected, read(json, true));
+    }
+
+    @Test
+    public void readKeysOutOfOrder() {
+        String json = "\"skipped\":[{\"x\":\"[\"},[]],\"b\":\"two\",\"a\":1.5,\"c\":{\"d\":[3]}";
+        Object[] c = new Object[2];
+        for (int i = 0; i < 2; i++) {
+            JSONWire wire = new JSONWire(Bytes.from(json)).structuralIndex(i == 1);
+            assertEquals(1.5, wire.read("a").float64(), 0.0);
+            assertEquals("two", wire.read("b").text());
+            c[i] = wire.read("c").object();
+        }
+        assertNotNull(c[0]);
+        assertEquals(c[0], c[1]);
+    }
+
+    @Test
+    public void singleQuotesAreNotIndexed() {
+        Trade trade = read("{\"symbol\":'ABC',\"qty\":3}", true);
+        assertEquals("ABC", trade.symbol);
+        assertEquals(3, trade.qty);
+    }
+
+    @Test
+    public void clearedWireIsReindexed() {
+        JSONWire wire = new JSONWire(Bytes.allocateElasticOnHeap()).structuralIndex(true);
+        wire.bytes().append("{\"symbol\":\"ABC\",\"qty\":12}");
+        assertEquals("ABC", wire.getValueIn().object(Trade.class).symbol);
+        wire.clear();
+        wire.bytes().append("{\"qty\":3,\"symbol\":\"XYZW\"}");
+        Trade trade = wire.getValueIn().object(Trade.class);
+        assertEquals("XYZW", trade.symbol);
+        assertEquals(3, trade.qty);
+    }
+
+    private static Trade read(String json, boolean structuralIndex) {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.appendUtf8(json);
+        JSONWire wire = new JSONWire(bytes).structuralIndex(structuralIndex);
+        return wire.getValueIn().object(Trade.class);
+    }
+
+    private static String copy(String json, boolean structuralIndex) {
+        JSONWire wire = new JSONWire(Bytes.from(json)).structuralIndex(structuralIndex);
+        BinaryWire binary = new BinaryWire(Bytes.allocateElasticOnHeap());
+        wire.copyTo(binary);
+        return binary.bytes().toHexString();
+    }
+
+    static class Trade extends SelfDescribingMarshallable {
+        String symbol;
+        double price;
+        long qty;
+        int side;
+        Venue venue;
+    }
+
+    static class Venue extends SelfDescribingMarshallable {
+        String name;
+        double fee;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.openhft.chronicle.wire.VanillaMethodReaderBuilder.DISABLE_READER_PROXY_CODEGEN;
+import static org.junit.Assert.*;
+
+public class MethodFilterOnFirstArgValuesTest extends WireTestCommon {
+    static final AtomicInteger READS = new AtomicInteger();
+
+    private static void readAllowed(boolean generated) {
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.BINARY, WireType.YAML_ONLY}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            Quotes writer = wire.methodWriter(Quotes.class);
+            writer.quote("EURUSD", new Quote(1.1));
+            writer.quote("USDJPY", new Quote(150));
+            writer.trade(1, new Quote(1.2));
+            writer.trade(2, new Quote(1.3));
+            writer.quote("GBPUSD", new Quote(1.25));
+            writer.trade(0, new Quote(1.4));
+
+            READS.set(0);
+            FilteredQuotes quotes = new FilteredQuotes();
+            MethodReader reader = wire.methodReader(quotes);
+            assertEquals(generated, reader instanceof AbstractGeneratedMethodReader);
+            for (int i = 0; i < 6; i++)
+                assertTrue(reader.readOne());
+            assertFalse(reader.readOne());
+
+            assertEquals(wireType.toString(), "[quote EURUSD 1.1, trade 1 1.2, quote GBPUSD 1.25, trade 0 1.4]", quotes.calls.toString());
+            // the quotes of rejected messages were not read
+            assertEquals(wireType.toString(), 4, READS.get());
+            if (generated)
+                assertSame(FilteredQuotes.SYMBOLS.get(0), quotes.lastSymbol);
+        }
+    }
+
+    @Test
+    public void generated() {
+        readAllowed(true);
+    }
+
+    @Test
+    public void vanilla() {
+        System.setProperty(DISABLE_READER_PROXY_CODEGEN, "true");
+        try {
+            readAllowed(false);
+        } finally {
+            System.clearProperty(DISABLE_READER_PROXY_CODEGEN);
+        }
+    }
+
+    @Test
+    public void firstArgValues() {
+        assertNull(FirstArgValues.of(null));
+
+        FirstArgValues values = FirstArgValues.of(Arrays.asList(0L, -1, 1 << 20, "EURUSD", "", TimeUnit.DAYS));
+        assertTrue(values.contains(0));
+        assertTrue(values.contains(-1));
+        assertTrue(values.contains(1 << 20));
+        assertFalse(values.contains(1));
+        assertFalse(values.contains(Long.MIN_VALUE));
+
+        assertEquals("EURUSD", values.text(new StringBuilder("EURUSD")));
+        assertEquals("", values.text(new StringBuilder()));
+        assertNull(values.text(new StringBuilder("EURUSE")));
+        assertNull(values.text(null));
+        assertTrue(values.contains(TimeUnit.DAYS));
+        assertFalse(values.contains(TimeUnit.HOURS));
+        assertFalse(values.contains((Object) null));
+
+        // text which isn't ASCII can't be looked up from its bytes
+        FirstArgValues accents = FirstArgValues.of(Arrays.asList("café", "thé"));
+        assertEquals("thé", accents.text(new StringBuilder("thé")));
+        assertFalse(accents.contains(0));
+    }
+
+    interface Quotes {
+        void quote(String symbol, Quote quote);
+
+        void trade(long id, Quote quote);
+    }
+
+    static class Quote extends SelfDescribingMarshallable {
+        double price;
+
+        Quote(double price) {
+            this.price = price;
+        }
+
+        @Override
+        public void readMarshallable(@NotNull WireIn wire) {
+            READS.incrementAndGet();
+            super.readMarshallable(wire);
+        }
+    }
+
+    static class FilteredQuotes implements Quotes, MethodFilterOnFirstArgValues {
+        static final List<String> SYMBOLS = Arrays.asList("EURUSD", "GBPUSD");
+
+        final List<String> calls = new ArrayList<>();
+        String lastSymbol;
+
+        @Override
+        public Collection<?> allowedFirstArgs(String methodName) {
+            switch (methodName) {
+                case "quote":
+                    return SYMBOLS;
+                case "trade":
+                    return Arrays.asList(0L, 1L, 3L);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public void quote(String symbol, Quote quote) {
+            lastSymbol = symbol;
+            calls.add("quote " + symbol + " " + quote.price);
+        }
+
+        @Override
+        public void trade(long id, Quote quote) {
+            calls.add("trade " + id + " " + quote.price);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MethodReaderEventIndexTest extends WireTestCommon {
+
+    @Test
+    public void readEventIndex() {
+        FieldNameLookup lookup = FieldNameLookup.of("history", "price", "trade");
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.BINARY}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            wire.write("trade").text("t1");
+            wire.write("other").text("o1");
+
+            assertEquals(wireType.toString(), 2, wire.readEventIndex(lookup));
+            assertEquals("t1", wire.getValueIn().text());
+            // not found, so nothing is read
+            assertEquals(FieldNameLookup.NOT_FOUND, wire.readEventIndex(lookup));
+            assertEquals("other", wire.readEvent(String.class));
+            assertEquals("o1", wire.getValueIn().text());
+        }
+    }
+
+    @Test
+    public void dispatchByEventIndex() {
+        for (WireType wireType : new WireType[]{WireType.TEXT, WireType.JSON, WireType.BINARY, WireType.YAML_ONLY}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            Listener writer = wire.methodWriter(Listener.class);
+            writer.price(1.5);
+            writer.trade("t1");
+            try (DocumentContext dc = wire.writingDocument()) {
+                dc.wire().write("unknown").text("u1");
+            }
+            writer.price(2.5);
+
+            List<String> calls = new ArrayList<>();
+            MethodReader reader = new VanillaMethodReaderBuilder(wire)
+                    .defaultParselet((s, in) -> calls.add("default " + s + " " + in.text()))
+                    .build(new Listener() {
+                        @Override
+                        public void price(double price) {
+                            calls.add("price " + price);
+                        }
+
+                        @Override
+                        public void trade(String id) {
+                            calls.add("trade " + id);
+                        }
+                    });
+            assertFalse("check we are using generated code", reader instanceof VanillaMethodReader);
+            while (reader.readOne()) {
+                // read all
+            }
+            assertEquals(wireType.toString(), "[price 1.5, trade t1, default unknown u1, price 2.5]", calls.toString());
+        }
+    }
+
+    @Test
+    public void nonAsciiEventNames() {
+        Wire wire = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        wire.methodWriter(Accents.class).café("au lait");
+
+        List<String> calls = new ArrayList<>();
+        MethodReader reader = new VanillaMethodReaderBuilder(wire)
+                .build((Accents) calls::add);
+        assertTrue(reader.readOne());
+        assertEquals("[au lait]", calls.toString());
+    }
+
+    interface Listener {
+        void price(double price);
+
+        void trade(String id);
+    }
+
+    interface Accents {
+        void café(String s);
+    }
+}
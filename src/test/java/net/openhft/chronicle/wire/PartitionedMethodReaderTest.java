@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PartitionedMethodReaderTest extends WireTestCommon {
+
+    private static void awaitHandled(PartitionedMethodReader reader) {
+        long end = System.currentTimeMillis() + 10_000;
+        while (reader.pending() > 0) {
+            if (System.currentTimeMillis() > end)
+                fail("Timed out with " + reader.pending() + " pending");
+            Jvm.pause(1);
+        }
+    }
+
+    @Test
+    public void partitionByFirstArg() {
+        for (WireType wireType : new WireType[]{WireType.BINARY, WireType.TEXT}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            Books writer = wire.methodWriter(Books.class);
+            for (int seq = 0; seq < 200; seq++) {
+                writer.order(seq % 8, seq);
+                if (seq % 50 == 0)
+                    writer.reset(seq % 8);
+            }
+
+            Book[] books = new Book[4];
+            try (PartitionedMethodReader reader = wire.methodReaderBuilder()
+                    .buildPartitioned(4, (method, firstArg) -> firstArg.int64(), i -> books[i] = new Book())) {
+                assertEquals(4, reader.partitions());
+                assertEquals(204, reader.drain());
+                awaitHandled(reader);
+            }
+
+            for (int p = 0; p < books.length; p++) {
+                Book book = books[p];
+                // keys p and p + 4, with resets for keys 0, 2, 4 and 6
+                assertEquals(wireType + " " + p, p % 2 == 0 ? 52 : 50, book.events.size());
+                long last = -1;
+                for (String event : book.events) {
+                    String[] parts = event.split(" ");
+                    long key = Long.parseLong(parts[1]);
+                    assertEquals(event, p, key % 4);
+                    if (parts[0].equals("order")) {
+                        // in order for each partition
+                        long seq = Long.parseLong(parts[2]);
+                        assertTrue(event, seq > last);
+                        last = seq;
+                    }
+                }
+                // each partition has its own thread
+                assertTrue(book.thread.startsWith("partition-"));
+            }
+        }
+    }
+
+    @Test
+    public void partitionsUseTheSettingsOfTheBuilder() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        wire.methodWriter(Books.class).order(1, 1);
+        wire.methodWriter(Unknown.class).unknown(2);
+
+        List<String> unknown = Collections.synchronizedList(new ArrayList<>());
+        VanillaMethodReaderBuilder builder = wire.methodReaderBuilder();
+        builder.defaultParselet((s, v) -> unknown.add(s + " " + v.int64()));
+        Book[] books = new Book[2];
+        try (PartitionedMethodReader reader = builder
+                .buildPartitioned(2, (method, firstArg) -> firstArg.int64(), i -> books[i] = new Book())) {
+            assertEquals(2, reader.drain());
+            awaitHandled(reader);
+        }
+        assertEquals("[order 1 1]", books[1].events.toString());
+        assertEquals("[unknown 2]", unknown.toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void metaDataHandlerIsNotSupported() {
+        Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        VanillaMethodReaderBuilder builder = wire.methodReaderBuilder();
+        builder.metaDataHandler(new Book());
+        builder.buildPartitioned(2, (method, firstArg) -> firstArg.int64(), i -> new Book());
+    }
+
+    interface Unknown {
+        void unknown(long id);
+    }
+
+    interface Books {
+        void order(long book, long seq);
+
+        void reset(long book);
+    }
+
+    static class Book implements Books {
+        final List<String> events = new ArrayList<>();
+        volatile String thread;
+
+        @Override
+        public void order(long book, long seq) {
+            thread = Thread.currentThread().getName();
+            events.add("order " + book + " " + seq);
+        }
+
+        @Override
+        public void reset(long book) {
+            events.add("reset " + book);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class StreamingWireReaderTest extends WireTestCommon {
+
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String jsonArray(int count) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                sb.append(",\n");
+            sb.append("  {\"symbol\":\"S").append(i).append("\",\"note\":\"a, [tricky] {note} \\\"").append(i).append("\\\"\",\"qty\":").append(i).append("}");
+        }
+        return sb.append("\n]\n").toString();
+    }
+
+    @Test
+    public void jsonArrayInSmallWindows() {
+        String json = jsonArray(1000);
+        try (StreamingWireReader<Row> reader = new StreamingWireReader<>(WireType.JSON, Row.class, channel(json), true, 64)) {
+            int count = 0;
+            while (reader.hasNext()) {
+                Row row = reader.next();
+                assertEquals("S" + count, row.symbol);
+                assertEquals("a, [tricky] {note} \"" + count + "\"", row.note);
+                assertEquals(count, row.qty);
+                count++;
+            }
+            assertEquals(1000, count);
+            // bounded by the size of an element, not the input
+            assertTrue(reader.bufferCapacity() < json.length() / 10);
+        }
+    }
+
+    @Test
+    public void reuse() {
+        try (StreamingWireReader<Row> reader = StreamingWireReader.jsonArray(Row.class, channel(jsonArray(3))).reuse(true)) {
+            Row first = reader.next();
+            assertEquals("S0", first.symbol);
+            Row second = reader.next();
+            assertSame(first, second);
+            assertEquals("S1", second.symbol);
+        }
+    }
+
+    @Test
+    public void emptyArray() {
+        try (StreamingWireReader<Row> reader = StreamingWireReader.jsonArray(Row.class, channel(" [ ] "))) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test(expected = IORuntimeException.class)
+    public void truncatedArray() {
+        try (StreamingWireReader<Row> reader = StreamingWireReader.jsonArray(Row.class, channel("[{\"symbol\":\"S0\"},{\"sym"))) {
+            reader.next();
+            reader.next();
+        }
+    }
+
+    @Test
+    public void yamlDocuments() {
+        String yaml = "--- \n" +
+                "symbol: EU\n" +
+                "qty: 1\n" +
+                "---\n" +
+                "symbol: UY\n" +
+                "note: \"--- not a separator\"\n" +
+                "qty: 2\n" +
+                "---\n" +
+                "symbol: AU\n" +
+                "qty: 3\n" +
+                "...\n";
+        try (StreamingWireReader<Row> reader = new StreamingWireReader<>(WireType.YAML, Row.class, channel(yaml), false, 16)) {
+            List<String> symbols = reader.stream()
+                    .map(r -> r.symbol + ":" + r.qty)
+                    .collect(Collectors.toList());
+            assertEquals("[EU:1, UY:2, AU:3]", symbols.toString());
+        }
+    }
+
+    static class Row extends SelfDescribingMarshallable {
+        String symbol;
+        String note;
+        int qty;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class SwarDecoderTest extends WireTestCommon {
+    static final String[] TEXTS = {
+            "",
+            "EUR",
+            "EURUSD",
+            "EURUSD.SP",
+            "XLON",
+            "Partially filled at venue, remainder cancelled by the client",
+            "café",
+            "Zürich 8€ fee",
+            "emoji 😀 in the middle of a longer note",
+            "éabcdefghijklmnop",
+    };
+
+    @Test
+    public void appendUtf8() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        StringBuilder sb = new StringBuilder();
+        for (String text : TEXTS) {
+            bytes.clear();
+            // start at an odd offset so words are unaligned
+            bytes.writeByte((byte) 0);
+            bytes.write(text.getBytes(StandardCharsets.UTF_8));
+            int length = (int) bytes.readRemaining() - 1;
+            sb.setLength(0);
+            SwarDecoder.appendUtf8(bytes, 1, length, sb);
+            assertEquals(text, sb.toString());
+
+            int ascii = 0;
+            while (ascii < text.length() && text.charAt(ascii) < 0x80)
+                ascii++;
+            assertEquals(ascii, SwarDecoder.asciiLength(bytes, 1, length));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidUtf8() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.write(new byte[]{'a', 'b', (byte) 0xC3, 'c'});
+        SwarDecoder.appendUtf8(bytes, 0, 4, new StringBuilder());
+    }
+
+    @Test
+    public void append8bit() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        StringBuilder sb = new StringBuilder("prefix:");
+        String text = "0123456789abcdeféÿ!";
+        bytes.write(text.getBytes(StandardCharsets.ISO_8859_1));
+        SwarDecoder.append8bit(bytes, 0, text.length(), sb);
+        assertEquals("prefix:" + text, sb.toString());
+    }
+
+    @Test
+    public void plainLength() {
+        Bytes<?> bytes = Bytes.from("hello world, this is plain\" and then");
+        assertEquals(26, SwarDecoder.plainLength(bytes, 0, (int) bytes.readRemaining(), '"'));
+        assertEquals(36, SwarDecoder.plainLength(bytes, 0, (int) bytes.readRemaining(), '\''));
+        Bytes<?> escaped = Bytes.from("0123456789\\\"");
+        assertEquals(10, SwarDecoder.plainLength(escaped, 0, (int) escaped.readRemaining(), '"'));
+    }
+
+    @Test
+    public void binaryWireText() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        for (String text : TEXTS)
+            wire.write("text").text(text);
+        for (String text : TEXTS)
+            assertEquals(text, wire.read("text").text());
+    }
+
+    @Test
+    public void textWireQuoted() {
+        Wire wire = WireType.TEXT.apply(Bytes.from("" +
+                "a: \"quoted text longer than eight bytes\",\n" +
+                "b: 'single quoted text with é',\n" +
+                "c: \"escaped \\\"quote\\\" inside\"\n"));
+        assertEquals("quoted text longer than eight bytes", wire.read("a").text());
+        assertEquals("single quoted text with é", wire.read("b").text());
+        assertEquals("escaped \"quote\" inside", wire.read("c").text());
+    }
+}
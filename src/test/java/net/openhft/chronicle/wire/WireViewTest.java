@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WireViewTest extends WireTestCommon {
+
+    static ViewOrder newOrder(long id, String symbol) {
+        ViewOrder order = new ViewOrder();
+        order.id = id;
+        order.symbol = symbol;
+        order.side = 'B';
+        order.price = 1.25;
+        order.qty = 1000;
+        order.active = true;
+        return order;
+    }
+
+    @Test
+    public void binary() {
+        doBinary(new BinaryWire(Bytes.allocateElasticOnHeap()));
+    }
+
+    @Test
+    public void binaryWithShapeHints() {
+        doBinary(new BinaryWire(Bytes.allocateElasticOnHeap()).shapeHints(true));
+    }
+
+    private void doBinary(BinaryWire wire) {
+        OrderView view = WireView.of(OrderView.class, WireType.BINARY);
+        Bytes<?> bytes = wire.bytes();
+        for (int i = 0; i < 3; i++) {
+            bytes.clear();
+            newOrder(i, "SYM" + i).writeMarshallable(wire);
+            long readPosition = bytes.readPosition();
+
+            view.bind(bytes);
+            assertEquals(1000, view.qty());
+            assertEquals(i, view.id());
+            CharSequence symbol = view.symbol();
+            assertEquals("SYM" + i, symbol.toString());
+            assertSame(symbol, view.symbol());
+            assertEquals(1.25, view.getPrice(), 0.0);
+            assertEquals('B', view.side());
+            assertTrue(view.isActive());
+            assertEquals(0, view.missing());
+            assertEquals(readPosition, bytes.readPosition());
+        }
+    }
+
+    @Test
+    public void raw() {
+        Wire wire = WireType.RAW.apply(Bytes.allocateElasticOnHeap());
+        newOrder(12, "EURUSD").writeMarshallable(wire);
+
+        OrderView view = WireView.of(OrderView.class, WireType.RAW, ViewOrder.class);
+        view.bind(wire.bytes());
+        assertEquals(1000, view.qty());
+        assertEquals("EURUSD", view.symbol().toString());
+        assertEquals(12, view.id());
+        assertEquals('B', view.side());
+        assertTrue(view.isActive());
+        assertEquals(0, view.missing());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rawNeedsTheClassWritten() {
+        WireView.of(OrderView.class, WireType.RAW);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void onlyGetters() {
+        WireView.of(NotAView.class, WireType.BINARY);
+    }
+
+    interface OrderView extends WireView {
+        long id();
+
+        CharSequence symbol();
+
+        char side();
+
+        double getPrice();
+
+        int qty();
+
+        boolean isActive();
+
+        long missing();
+    }
+
+    interface NotAView {
+        void id(long id);
+    }
+
+    static class ViewOrder extends SelfDescribingMarshallable {
+        long id;
+        String symbol;
+        char side;
+        double price;
+        int qty;
+        boolean active;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.IOTools;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class WiresClassCacheTest extends WireTestCommon {
+    static final String CODE = "" +
+            "package net.openhft.chronicle.wire.cached;\n" +
+            "public class Cached implements java.util.function.Supplier<String> {\n" +
+            "    public String get() {\n" +
+            "        return new Object() {\n" +
+            "            public String toString() { return \"cached\"; }\n" +
+            "        }.toString();\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void compilesOnceThenLoadsFromTheCache() throws Exception {
+        File dir = new File(OS.getTarget(), "WiresClassCacheTest-" + System.nanoTime());
+        String className = "net.openhft.chronicle.wire.cached.Cached";
+        try {
+            long hits = Wires.classCacheHits();
+            long misses = Wires.classCacheMisses();
+
+            Class<?> first = Wires.loadFromClassCache(dir, new URLClassLoader(new URL[0]), className, CODE);
+            assertEquals("cached", ((Supplier<?>) first.getDeclaredConstructor().newInstance()).get());
+            assertEquals(misses + 1, Wires.classCacheMisses());
+            assertEquals(hits, Wires.classCacheHits());
+
+            // a new class loader, as a restarted JVM would have
+            Class<?> second = Wires.loadFromClassCache(dir, new URLClassLoader(new URL[0]), className, CODE);
+            assertNotSame(first, second);
+            assertEquals("cached", ((Supplier<?>) second.getDeclaredConstructor().newInstance()).get());
+            assertEquals(misses + 1, Wires.classCacheMisses());
+            assertEquals(hits + 1, Wires.classCacheHits());
+
+            // a different source is a different entry
+            Wires.loadFromClassCache(dir, new URLClassLoader(new URL[0]), className, CODE.replace("\"cached\"", "\"changed\""));
+            assertEquals(misses + 2, Wires.classCacheMisses());
+        } finally {
+            IOTools.deleteDirWithFiles(dir.getPath());
+        }
+    }
+}
@@ -1390,4 +1390,42 @@ public class YamlTokeniserTest extends WireTestCommon {
                 doTest(
                         "=" + "#\nb: AA\nc: {}\nd: \n  A: 1\n  B: 2\ne: end"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void longTokensAcrossWords() {
+        String yaml = "" +
+                "# a comment which spans several words   \n" +
+                "key: a fairly long plain value with spaces   # and a long trailing comment\n" +
+                "quoted: \"a long doubly quoted value with \\\"escapes\\\" inside\"\n" +
+                "single: 'a long singly quoted value with '' quotes inside'\n" +
+                "url: http://example.com/a/long/path/to/something\n" +
+                "list: [ first long element, second long element ]\n" +
+                "nested:\n" +
+                "                inner: a value after sixteen spaces\n";
+        YamlTokeniser yt = new YamlTokeniser(Bytes.from(yaml));
+        StringBuilder sb = new StringBuilder();
+        YamlToken token;
+        while ((token = yt.next(Integer.MIN_VALUE)) != YamlToken.STREAM_END) {
+            if (token == YamlToken.TEXT || token == YamlToken.COMMENT)
+                sb.append(token).append(' ').append(yt.text()).append('\n');
+        }
+        assertEquals("" +
+                        "COMMENT a comment which spans several words\n" +
+                        "TEXT key\n" +
+                        "TEXT a fairly long plain value with spaces\n" +
+                        "COMMENT and a long trailing comment\n" +
+                        "TEXT quoted\n" +
+                        "TEXT a long doubly quoted value with \\\"escapes\\\" inside\n" +
+                        "TEXT single\n" +
+                        "TEXT a long singly quoted value with '' quotes inside\n" +
+                        "TEXT url\n" +
+                        "TEXT http://example.com/a/long/path/to/something\n" +
+                        "TEXT list\n" +
+                        "TEXT first long element\n" +
+                        "TEXT second long element\n" +
+                        "TEXT nested\n" +
+                        "TEXT inner\n" +
+                        "TEXT a value after sixteen spaces\n",
+                sb.toString());
+    }
+}